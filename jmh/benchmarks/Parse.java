@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse‑Zeit unter JMH
+ * ====================
+ * Wie {@code java Benchmark parse}: Zufallsmaschinen mit states Zuständen,
+ * unär über den UnaryParser bzw. binär über BinaryFormat gelesen. Kodierung
+ * und Zugriff entstehen in {@link #setup} (über {@code Benchmark.parseRun},
+ * siehe {@link Steps}); gemessen wird nur das Lesen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class Parse {
+    @Param({"500", "2000"})
+    public int states;
+
+    @Param({"LECTURE", "TQUAD", "AUFGABE1"})
+    public String dialect;
+
+    @Param({"unary", "binary"})
+    public String format;
+
+    private LongSupplier parse;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        parse = (LongSupplier) Class.forName("Benchmark")
+                .getMethod("parseRun", int.class, String.class, boolean.class)
+                .invoke(null, states, dialect, format.equals("binary"));
+    }
+
+    @Benchmark
+    public long parse() {
+        return parse.getAsLong();
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Schrittdurchsatz unter JMH
+ * ==========================
+ * Dieselben Workloads wie {@code java Benchmark steps} (Tquad, Busy Beaver 5,
+ * Binärzähler) für jede Engine in den Konventionen aller drei Front‑Ends.
+ * Ein Aufruf ist ein kompletter Lauf bis HALT; die Schrittzahl geht als
+ * Rückgabewert an JMH (kein Wegoptimieren). Schritte/s = Schritte ÷ Zeit.
+ *
+ * JMH verlangt ein benanntes Paket, die Emulator‑Klassen liegen im
+ * unbenannten – der Lauf kommt daher einmal je Trial über
+ * {@code Benchmark.stepRun} (nur JDK‑Typen) und wird nicht mitgemessen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class Steps {
+    @Param({"tquad", "bb5", "counter"})
+    public String workload;
+
+    @Param({"LECTURE", "TQUAD", "AUFGABE1"})
+    public String dialect;
+
+    @Param({"interpreter", "macro", "compiled"})
+    public String engine;
+
+    private LongSupplier run;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        run = (LongSupplier) Class.forName("Benchmark")
+                .getMethod("stepRun", String.class, String.class, String.class)
+                .invoke(null, workload, dialect, engine);
+    }
+
+    @Benchmark
+    public long run() {
+        return run.getAsLong();
+    }
+}
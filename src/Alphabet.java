@@ -0,0 +1,51 @@
+import java.util.Arrays;
+
+/**
+ * Bandalphabet einer Maschine: Symbolindex ↔ Anzeigezeichen.
+ *
+ * Die Indizes sind genau die Spalten der {@link TransitionTable}
+ * (Kodierungslänge − 1). Eingabezeichen, die die Maschine nicht kennt,
+ * werden über {@link #with(char)} hinten angehängt – für sie existiert
+ * kein Übergang, die Maschine hält beim Lesen.
+ */
+public final class Alphabet {
+    private final char[] symbols;
+    private final int blank;
+
+    public Alphabet(char[] symbols, int blank) {
+        if (symbols.length == 0 || symbols.length > TransitionTable.MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Alphabetgröße " + symbols.length + " nicht unterstützt");
+        }
+        if (blank < 0 || blank >= symbols.length) {
+            throw new IllegalArgumentException("Blank‑Index " + blank + " außerhalb des Alphabets");
+        }
+        this.symbols = symbols.clone();
+        this.blank   = blank;
+    }
+
+    public int size()  { return symbols.length; }
+    public int blank() { return blank; }
+
+    /** Anzeigezeichen zu einem Index, '?' falls unbekannt. */
+    public char symbol(int index) {
+        return index >= 0 && index < symbols.length ? symbols[index] : '?';
+    }
+
+    /** Index eines Zeichens oder −1. */
+    public int indexOf(char c) {
+        for (int i = 0; i < symbols.length; i++) if (symbols[i] == c) return i;
+        return -1;
+    }
+
+    /** Neues Alphabet mit c als zusätzlichem (letztem) Symbol. */
+    public Alphabet with(char c) {
+        char[] next = Arrays.copyOf(symbols, symbols.length + 1);
+        next[symbols.length] = c;
+        return new Alphabet(next, blank);
+    }
+
+    /** Zeichen in Index‑Reihenfolge (Kopie). */
+    public char[] chars() { return symbols.clone(); }
+
+    @Override public String toString() { return new String(symbols); }
+}
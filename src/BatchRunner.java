@@ -0,0 +1,263 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Paralleler Batch‑Lauf: eine Maschine, viele Eingaben
+ * ====================================================
+ * Die (unveränderliche) {@link MachineDefinition} wird von allen Läufen
+ * geteilt; jede Eingabe bekommt ihre eigene {@link Configuration}. Die Läufe
+ * verteilen sich auf einen work‑stealing {@link ForkJoinPool}, die
+ * Ergebnisse werden trotzdem in Eingabereihenfolge ausgegeben, sobald sie
+ * vorliegen. Höchstens {@code 4 × Parallelität} Läufe sind gleichzeitig
+ * unterwegs, damit auch Millionen Eingaben mit konstantem Speicher laufen.
+ *
+ * Ein Schrittbudget pro Eingabe sorgt dafür, dass eine nicht haltende
+ * Eingabe nur ihr eigenes Ergebnis ({@link Outcome#LIMIT}) betrifft. Ebenso
+ * endet eine Eingabe, die sich nicht laden oder rechnen lässt (zu lang,
+ * Bandkapazität, …), nur mit einem eigenen Fehlerergebnis ("FEHLER: …").
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java BatchRunner <dialect> <TM_code|file> <inputs.txt | von..bis>
+ *                      [--unary|--binary] [--max-steps N] [--max-cells N]
+ *                      [--timeout s] [--threads N]
+ *                      [--engine interpreter|macro|compiled | --detect-cycles]
+ *
+ * ▸ inputs.txt – eine Eingabe pro Zeile (Zeichen des Maschinenalphabets)
+ * ▸ von..bis   – Zahlenbereich; jede Zahl n wird unär (1ⁿ, Standard bei
+ *                TQUAD) bzw. binär (Standard sonst) auf das Band geschrieben;
+ *                unär direkt über {@link TapeInput#unary}, ohne Zeichenkette
+ */
+public final class BatchRunner {
+    private final MachineDefinition machine;
+    private final Simulator engine;
+    private final RunLimits limits;
+    private final int parallelism;
+
+    /** Eine Eingabe: Zeichen des Maschinenalphabets oder n Einsen (ones ≥ 0, ohne Zeichenkette). */
+    public record Input(String text, long ones) {
+        public static Input of(String text)  { return new Input(text, -1); }
+        public static Input unary(long n)    { return new Input(null, n); }
+
+        Configuration configure(MachineDefinition machine) {
+            return text != null ? Configuration.initial(machine, text) : TapeInput.unary(machine, '1', ones);
+        }
+
+        /** Für die Ausgabe; lange Eingaben gekürzt. */
+        public String label() {
+            if (text != null) return abbreviate(text);
+            return ones <= 40 ? "1".repeat((int) ones) : "1".repeat(18) + "…(" + ones + ")…" + "1".repeat(12);
+        }
+    }
+
+    /** Ergebnis eines einzelnen Laufs; error ≠ {@code null}: Lauf gescheitert (outcome dann {@code null}). */
+    public record Result(long index, Input input, Outcome outcome, int state, int head, long steps, String error) {}
+
+    public BatchRunner(MachineDefinition machine, Simulator engine, RunLimits limits, int parallelism) {
+        this.machine     = machine;
+        this.engine      = engine;
+        this.limits      = limits;
+        this.parallelism = parallelism;
+    }
+
+    /** Führt alle Eingaben aus und reicht die Ergebnisse in Eingabereihenfolge an sink. */
+    public void run(Iterator<Input> inputs, Consumer<Result> sink) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ArrayDeque<Future<Result>> inFlight = new ArrayDeque<>();
+        int window = 4 * parallelism;
+        try {
+            long index = 0;
+            while (inputs.hasNext()) {
+                Input input = inputs.next();
+                long i = index++;
+                inFlight.addLast(pool.submit(() -> runOne(i, input)));
+                if (inFlight.size() >= window) sink.accept(await(inFlight.removeFirst()));
+            }
+            while (!inFlight.isEmpty()) sink.accept(await(inFlight.removeFirst()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Result runOne(long index, Input input) {
+        try {
+            Configuration config = input.configure(machine);
+            Outcome outcome = engine.run(machine, config, limits);
+            return new Result(index, input, outcome, config.state(), config.head(), config.steps(), null);
+        } catch (RuntimeException e) {          // betrifft nur diese Eingabe, nicht den Batch
+            return new Result(index, input, null, -1, 0, 0, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private static Result await(Future<Result> f) throws InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof RuntimeException r) throw r;
+            if (c instanceof Error err) throw err;
+            throw new IllegalStateException(c);
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Eingabequellen                                                     */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Eingaben zeilenweise aus einer Datei (gestreamt, Leerraum am Rand
+     * entfernt). Am Dateiende wird die Datei geschlossen; bricht der Batch
+     * vorher ab, schließt {@link Lines#close()} sie.
+     */
+    public static Lines lines(Path file) throws IOException {
+        return new Lines(Files.newBufferedReader(file));
+    }
+
+    /** Zeilen einer Datei als Eingaben. */
+    public static final class Lines implements Iterator<Input>, Closeable {
+        private final BufferedReader reader;
+        private Input next;
+
+        private Lines(BufferedReader reader) {
+            this.reader = reader;
+            this.next   = advance();
+        }
+
+        private Input advance() {
+            try {
+                String line = reader.readLine();
+                if (line == null) reader.close();
+                return line == null ? null : Input.of(line.strip());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override public boolean hasNext() { return next != null; }
+
+        @Override public Input next() {
+            if (next == null) throw new NoSuchElementException();
+            Input s = next;
+            next = advance();
+            return s;
+        }
+
+        @Override public void close() throws IOException { reader.close(); }
+    }
+
+    /** Zahlen from..to, unär als 1ⁿ oder binär kodiert. */
+    public static Iterator<Input> range(long from, long to, boolean unary) {
+        return new Iterator<>() {
+            long n = from;
+
+            @Override public boolean hasNext() { return n <= to; }
+
+            @Override public Input next() {
+                if (n > to) throw new NoSuchElementException();
+                long v = n++;
+                return unary ? Input.unary(v) : Input.of(Long.toBinaryString(v));   // Länge prüft TapeInput je Lauf
+            }
+        };
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* CLI                                                                */
+    /* ------------------------------------------------------------------ */
+
+    private static final String USAGE = "Usage: java BatchRunner <LECTURE|TQUAD|AUFGABE1> <TM_code|file> <inputs.txt|von..bis>"
+            + " [--unary|--binary] [--max-steps N] [--max-cells N] [--timeout s] [--threads N]"
+            + " [--engine interpreter|macro|compiled | --detect-cycles]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println(USAGE);
+            return;
+        }
+        // Grenzen gelten pro Eingabe (Timeout je Lauf); ohne Angabe 10 Mio. Schritte
+        List<String> opts = new ArrayList<>(Arrays.asList(args).subList(3, args.length));
+        Dialect dialect;
+        RunLimits limits;
+        boolean unary;
+        int threads;
+        Simulator engine;
+        MachineDefinition machine;
+        Iterator<Input> inputs;
+        Lines file = null;
+        try {
+            dialect = Dialect.valueOf(args[0]);
+            limits  = RunLimits.fromArgs(opts);
+            String th = UtmEmulator.takeOption(opts, "--threads");
+            String en = UtmEmulator.takeOption(opts, "--engine");
+            boolean cycles = opts.remove("--detect-cycles");
+            boolean u = opts.remove("--unary"), b = opts.remove("--binary");
+            if (!opts.isEmpty()) throw new IllegalArgumentException("Unbekannte oder doppelte Option: " + opts.get(0));
+            if (en != null && cycles) throw new IllegalArgumentException("--engine und --detect-cycles schließen sich aus");
+            if (u && b) throw new IllegalArgumentException("--unary und --binary schließen sich aus");
+            threads = th == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(th);
+            if (threads < 1) throw new IllegalArgumentException("--threads muss mindestens 1 sein");
+            engine  = cycles ? new CycleDetector() : en != null ? Simulator.named(en) : new Interpreter();
+            unary   = u || !b && dialect == Dialect.TQUAD;
+
+            Path codeFile = Path.of(args[1]);
+            machine = !Files.exists(codeFile) ? UnaryParser.parse(args[1], dialect, true)
+                    : BinaryFormat.isBinary(codeFile) ? BinaryFormat.read(codeFile, dialect).machine()
+                    : UnaryParser.parse(codeFile, dialect, true);
+
+            int dots = args[2].indexOf("..");
+            if (dots > 0 && !Files.exists(Path.of(args[2]))) {
+                inputs = range(Long.parseLong(args[2].substring(0, dots)), Long.parseLong(args[2].substring(dots + 2)), unary);
+            } else {
+                inputs = file = lines(Path.of(args[2]));
+            }
+        } catch (IllegalArgumentException e) {                           // auch NumberFormatException
+            System.err.println("FEHLER: " + e.getMessage());
+            System.err.println(USAGE);
+            return;
+        } catch (IOException e) {
+            System.err.println("FEHLER: Datei konnte nicht gelesen werden: " + e.getMessage());
+            return;
+        }
+        if (limits.maxSteps() == Long.MAX_VALUE) limits = limits.withMaxSteps(10_000_000);
+
+        PrintStream out = System.out;
+        long t0 = System.nanoTime();
+        long[] total = new long[3];
+        try {
+            new BatchRunner(machine, engine, limits, threads).run(inputs, r -> {
+                if (r.error() != null) {
+                    out.printf("%d\t%s\tFEHLER: %s%n", r.index(), r.input().label(), r.error());
+                    total[2]++;
+                } else {
+                    out.printf("%d\t%s\t%s\tq%d\t%d%n", r.index(), r.input().label(), r.outcome(), r.state(), r.steps());
+                }
+                total[0]++;
+                total[1] += r.steps();
+            });
+        } finally {
+            if (file != null) file.close();
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        System.err.printf("%d Eingaben (%d Fehler), %d Schritte, %.2f s (%.1f Mio. Schritte/s, %d Threads)%n",
+                total[0], total[2], total[1], secs, total[1] / secs / 1e6, threads);
+    }
+
+    private static String abbreviate(String s) {
+        return s.length() <= 40 ? s : s.substring(0, 18) + "…(" + s.length() + ")…" + s.substring(s.length() - 12);
+    }
+}
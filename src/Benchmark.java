@@ -0,0 +1,261 @@
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark‑Suite für Parser und Schrittschleifen
+ * ================================================
+ * Schnelles Mess‑Programm ohne Fremdbibliotheken: Jede Messung läuft erst
+ * einige Warm‑up‑Iterationen, damit der JIT die Schleifen kompiliert, dann
+ * mehrere gemessene Iterationen; berichtet wird der Median. Belastbare
+ * Zahlen (eigene Forks, Blackhole, Statistik) liefert JMH mit denselben
+ * Workloads: {@code mvn -P jmh package && java -jar target/benchmarks.jar}
+ * (Quellen in jmh/, Einstieg über {@link #stepRun} und {@link #parseRun}).
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java Benchmark [steps|parse|check|speculative|all] [--quick]
+ *
+ * ▸ steps – Schritte/s und Bytes/Schritt jeder Engine auf Tquad (großes n),
+ *           Busy Beaver 5 und Binärzähler, jeweils in den Konventionen aller
+ *           drei Front‑Ends (UtmEmulator, UniversalTMEmulator, Aufgabe1)
+ * ▸ parse – Parse‑Zeit von {@link UnaryParser} für große Zufallsmaschinen,
+ *           daneben Größe und Lesezeit der {@link BinaryFormat}‑Kodierung
+ * ▸ check – Gleichheit aller Engines (samt {@link SpeculativeSimulator})
+ *           mit dem {@link Interpreter} auf einem Korpus von Zufallsmaschinen
+ *           (nicht Teil von all; Exit‑Code 1 bei Abweichung)
+ * ▸ speculative – Beschleunigung der spekulativen Block‑Engine gegenüber
+ *           der einfachen Schleife, mit Trefferquoten (nicht Teil von all)
+ * ▸ --quick – kleinere Workloads, weniger Iterationen (Rauchtest)
+ */
+public final class Benchmark {
+    private static int warmup     = 3;
+    private static int iterations = 5;
+
+    public static void main(String[] args) {
+        String suite = "all";
+        boolean quick = false;
+        for (String a : args) {
+            if (a.equals("--quick")) quick = true;
+            else suite = a;
+        }
+        if (quick) { warmup = 1; iterations = 3; }
+
+        if (suite.equals("steps") || suite.equals("all")) stepSuite(quick);
+        if (suite.equals("parse") || suite.equals("all")) parseSuite(quick);
+        if (suite.equals("speculative")) speculativeSuite(quick);
+        if (suite.equals("check") && !checkSuite(quick)) System.exit(1);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Schrittdurchsatz                                                   */
+    /* ------------------------------------------------------------------ */
+
+    private static void stepSuite(boolean quick) {
+        List<Machines.Workload> workloads = List.of(
+                Machines.tquad(quick ? 1_000 : 10_000),
+                Machines.busyBeaver5(),
+                Machines.counter(quick ? 16 : 22));
+
+        System.out.printf("%-14s %-10s %-12s %14s %10s %10s%n",
+                "workload", "dialect", "engine", "steps", "Msteps/s", "B/step");
+        for (Machines.Workload w : workloads) {
+            for (Dialect d : Dialect.values()) {
+                MachineDefinition machine = w.spec().toMachine(d);
+                String input = w.input(d);
+                for (Simulator engine : Simulator.all()) {
+                    Measurement m = measureSteps(engine, machine, input);
+                    System.out.printf("%-14s %-10s %-12s %14d %10.1f %10s%n",
+                            w.name(), d, engine.name(), m.steps, m.steps / (m.nanos / 1e3),
+                            m.bytes < 0 ? "n/a" : String.format("%.3f", (double) m.bytes / Math.max(1, m.steps)));
+                }
+            }
+        }
+    }
+
+    private record Measurement(long steps, double nanos, long bytes) {}
+
+    /** Median über die gemessenen Iterationen; Eingabe‑Aufbau wird nicht mitgemessen. */
+    static Measurement measureSteps(Simulator engine, MachineDefinition machine, String input) {
+        long steps = 0;
+        long[] nanos = new long[iterations];
+        long[] bytes = new long[iterations];
+        for (int i = -warmup; i < iterations; i++) {
+            Configuration config = Configuration.initial(machine, input);
+            long a0 = allocatedBytes();
+            long t0 = System.nanoTime();
+            engine.run(machine, config);
+            long t1 = System.nanoTime();
+            long a1 = allocatedBytes();
+            if (i >= 0) {
+                nanos[i] = t1 - t0;
+                bytes[i] = a0 < 0 ? -1 : a1 - a0;
+            }
+            steps = config.steps();
+        }
+        return new Measurement(steps, median(nanos), (long) median(bytes));
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Spekulative Ausführung                                             */
+    /* ------------------------------------------------------------------ */
+
+    private static void speculativeSuite(boolean quick) {
+        List<Machines.Workload> workloads = List.of(
+                Machines.tquad(quick ? 2_000 : 20_000),
+                Machines.busyBeaver5(),
+                Machines.counter(quick ? 16 : 22));
+        SpeculativeSimulator speculative = new SpeculativeSimulator();
+
+        System.out.printf("%n%-14s %14s %12s %12s %8s  %s%n", "workload", "steps",
+                "interp. ms", "spekul. ms", "Faktor", "Treffer (" + ForkJoinPool.commonPool().getParallelism() + " Worker)");
+        for (Machines.Workload w : workloads) {
+            MachineDefinition machine = w.spec().toMachine(Dialect.LECTURE);
+            String input = w.input(Dialect.LECTURE);
+            Measurement plain = measureSteps(new Interpreter(), machine, input);
+            Measurement spec  = measureSteps(speculative, machine, input);
+            System.out.printf("%-14s %14d %12.1f %12.1f %7.2fx  %s%n", w.name(), plain.steps,
+                    plain.nanos / 1e6, spec.nanos / 1e6, plain.nanos / spec.nanos, speculative.stats());
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Parse‑Zeit                                                         */
+    /* ------------------------------------------------------------------ */
+
+    private static void parseSuite(boolean quick) {
+        int[] sizes = quick ? new int[]{200} : new int[]{500, 2_000};
+        System.out.printf("%n%-14s %-10s %12s %10s %10s %10s %10s%n",
+                "machine", "dialect", "chars", "ms", "MB/s", "bin bytes", "bin ms");
+        for (int states : sizes) {
+            Machines.Workload w = Machines.random(states, 42);
+            for (Dialect d : Dialect.values()) {
+                String code = UnaryEncoder.encode(w.spec().transitions(d), d);
+                long[] nanos = new long[iterations];
+                for (int i = -warmup; i < iterations; i++) {
+                    long t0 = System.nanoTime();
+                    UnaryParser.parse(code, d);
+                    long t1 = System.nanoTime();
+                    if (i >= 0) nanos[i] = t1 - t0;
+                }
+                double ns = median(nanos);
+                ByteBuffer bin = ByteBuffer.wrap(w.spec().binary(d));
+                for (int i = -warmup; i < iterations; i++) {
+                    long t0 = System.nanoTime();
+                    BinaryFormat.decode(bin, d);
+                    long t1 = System.nanoTime();
+                    if (i >= 0) nanos[i] = t1 - t0;
+                }
+                System.out.printf("%-14s %-10s %12d %10.1f %10.1f %10d %10.2f%n",
+                        "random(" + states + ")", d, code.length(), ns / 1e6, code.length() / (ns / 1e3),
+                        bin.remaining(), median(nanos) / 1e6);
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Gleichheit der Engines                                             */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Zufallsmaschinen mit 1‥120 Zuständen (übersetzt und – über
+     * {@link CompiledSimulator#MAX_CODE} – im Rückfall) in allen Dialekten,
+     * je mit Schrittgrenze; verglichen werden Ergebnis, Zustand, Kopf,
+     * Schritte und Band.
+     */
+    private static boolean checkSuite(boolean quick) {
+        int machines = quick ? 200 : 2_000;
+        RunLimits limits = RunLimits.steps(quick ? 10_000 : 100_000);
+        long runs = 0, compiled = 0;
+        List<String> failures = new ArrayList<>();
+        List<Simulator> engines = new ArrayList<>(Simulator.all());
+        engines.add(new SpeculativeSimulator());
+        for (int seed = 0; seed < machines; seed++) {
+            Machines.Workload w = Machines.random(1 + seed % 120, seed);
+            for (Dialect d : Dialect.values()) {
+                MachineDefinition machine = w.spec().toMachine(d);
+                String input = w.input(d);
+                Configuration expected = Configuration.initial(machine, input);
+                Outcome outcome = new Interpreter().run(machine, expected, limits);
+                if (CompiledSimulator.compiles(machine)) compiled++;
+                for (Simulator engine : engines) {
+                    if (engine instanceof Interpreter) continue;
+                    Configuration actual = Configuration.initial(machine, input);
+                    Outcome o = engine.run(machine, actual, limits);
+                    runs++;
+                    if (o != outcome || actual.state() != expected.state() || actual.head() != expected.head()
+                            || actual.steps() != expected.steps() || !actual.tape().contentEquals(expected.tape())) {
+                        failures.add(String.format("%s %s %s: %s q%d @%d nach %d Schritten, erwartet %s q%d @%d nach %d",
+                                w.name(), d, engine.name(), o, actual.state(), actual.head(), actual.steps(),
+                                outcome, expected.state(), expected.head(), expected.steps()));
+                    }
+                }
+            }
+        }
+        System.out.printf("%ncheck: %d Läufe gegen den Interpreter, %d von %d Maschinen übersetzt, %d Abweichungen%n",
+                runs, compiled, machines * Dialect.values().length, failures.size());
+        failures.stream().limit(20).forEach(f -> System.out.println("  " + f));
+        return failures.isEmpty();
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Einstieg für JMH                                                   */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Ein Lauf von engine auf workload (tquad, bb5, counter) im Dialekt bis
+     * HALT, samt Aufbau der Startkonfiguration; liefert die Schrittzahl. Nur
+     * JDK‑Typen, weil die JMH‑Klassen dieses Paket nur per Reflexion sehen.
+     */
+    public static LongSupplier stepRun(String workload, String dialect, String engine) {
+        Machines.Workload w = switch (workload) {
+            case "tquad"   -> Machines.tquad(10_000);
+            case "bb5"     -> Machines.busyBeaver5();
+            case "counter" -> Machines.counter(22);
+            default        -> throw new IllegalArgumentException("Unbekannter Workload: " + workload);
+        };
+        Dialect d = Dialect.valueOf(dialect);
+        MachineDefinition machine = w.spec().toMachine(d);
+        String input = w.input(d);
+        Simulator simulator = Simulator.named(engine);
+        return () -> {
+            Configuration config = Configuration.initial(machine, input);
+            simulator.run(machine, config);
+            return config.steps();
+        };
+    }
+
+    /** Liest eine Zufallsmaschine mit states Zuständen unär bzw. binär; liefert die Zahl der Übergänge. */
+    public static LongSupplier parseRun(int states, String dialect, boolean binary) {
+        Machines.Workload w = Machines.random(states, 42);
+        Dialect d = Dialect.valueOf(dialect);
+        if (binary) {
+            ByteBuffer bin = ByteBuffer.wrap(w.spec().binary(d));
+            return () -> BinaryFormat.decode(bin, d).machine().transitions().size();
+        }
+        String code = UnaryEncoder.encode(w.spec().transitions(d), d);
+        return () -> UnaryParser.parse(code, d).transitions().size();
+    }
+
+    /* –– Hilfsroutinen –– */
+
+    private static double median(long[] xs) {
+        long[] s = xs.clone();
+        Arrays.sort(s);
+        return s.length % 2 == 1 ? s[s.length / 2] : (s[s.length / 2 - 1] + s[s.length / 2]) / 2.0;
+    }
+
+    /** Vom aktuellen Thread allozierte Bytes (HotSpot‑Erweiterung), −1 falls nicht verfügbar. */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported()) {
+            return t.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
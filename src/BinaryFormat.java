@@ -0,0 +1,237 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Kompakte Binärkodierung von Maschinen
+ * =====================================
+ * Die Unärkodierung 0ⁱ 1 0ʲ 1 0ᵏ 1 0ˡ 1 0ᵐ braucht je Übergang so viele
+ * Zeichen wie die Zustands‑ und Symbolnummern groß sind – bei q Zuständen
+ * und s Symbolen insgesamt Θ(q·s·(q + s)). Für große erzeugte Maschinen
+ * dominieren dann Lesen und Parsen. Diese Kodierung speichert dieselben
+ * fünf Zahlen je Übergang als Varint (7 Bit je Byte, LEB128):
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Dateiformat
+ * ────────────────────────────────────────────────────────────────────────────
+ *     "TMBF" | Version | Dialekt (Ordinal + 1, 0 = beliebig) | n
+ *     | n × (Δi, j, k, l, m) | Eingabelänge + 1 (0 = keine) | Eingabe (Latin‑1)
+ *     | CRC32C über alles davor (4 Byte, big endian)
+ *
+ * i, j, k, l, m sind genau die Blocklängen der Unärkodierung im Dialekt
+ * (Symbole also Index + 1, Bewegung 1 = L, 2 = R); i wird als Differenz zum
+ * vorigen Übergang gespeichert (zigzag), bei geordneten Listen meist ein
+ * Byte. Gelesen wird mit denselben Regeln wie vom {@link UnaryParser}
+ * (leere Zustände, Symbolbereich, Richtungen, Duplikate), die Maschine ist
+ * also identisch. Die Eingabe entspricht dem Teil nach '111'.
+ *
+ * Alle Front‑Ends erkennen die Kodierung an "TMBF" (über den
+ * {@link MachineCache} bzw. {@link #isBinary}); die Unärkodierung bleibt
+ * unverändert gültig. Nur 1‑Band‑Maschinen: eine k‑Band‑Kodierung
+ * ({@link UnaryParser#multiTape}) weist schon der Parser beim Umwandeln ab.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf (Umwandlung in beide Richtungen, nach Inhalt der Quelle)
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java BinaryFormat <LECTURE|TQUAD|AUFGABE1> <quelle> <ziel>
+ */
+public final class BinaryFormat {
+    private static final int MAGIC   = 0x544D4246;     // "TMBF"
+    private static final int VERSION = 1;
+
+    private BinaryFormat() {}
+
+    /** Beginnt b (ab position) mit der Kennung "TMBF"? */
+    public static boolean isBinary(ByteBuffer b) {
+        return b.remaining() >= 4 && b.getInt(b.position()) == MAGIC;
+    }
+
+    /** Beginnt die Datei mit der Kennung "TMBF"? */
+    public static boolean isBinary(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(4);
+            while (head.hasRemaining() && ch.read(head) >= 0) { }
+            return isBinary(head.flip());
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Schreiben                                                           */
+    /* ------------------------------------------------------------------ */
+
+    /** Übergänge in Zustands‑/Symbolnummern des Dialekts (+ Eingabe oder {@code null}). */
+    public static byte[] encode(List<MachineDefinition.Transition> transitions, Dialect dialect, String input) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + 6 * transitions.size());
+        out.writeBytes(new byte[] {'T', 'M', 'B', 'F'});
+        varint(out, VERSION);
+        varint(out, dialect.ordinal() + 1);
+        varint(out, transitions.size());
+        int previous = 0;
+        for (MachineDefinition.Transition t : transitions) {
+            int d = t.state() - previous;
+            varint(out, d << 1 ^ d >> 31);
+            varint(out, t.read() + 1);
+            varint(out, t.next());
+            varint(out, t.write() + 1);
+            varint(out, t.move());
+            previous = t.state();
+        }
+        if (input == null) {
+            varint(out, 0);
+        } else {
+            byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+            varint(out, bytes.length + 1);
+            out.writeBytes(bytes);
+        }
+        CRC32C crc = new CRC32C();
+        byte[] body = out.toByteArray();
+        crc.update(body, 0, body.length);
+        int sum = (int) crc.getValue();
+        out.writeBytes(new byte[] {(byte) (sum >>> 24), (byte) (sum >>> 16), (byte) (sum >>> 8), (byte) sum});
+        return out.toByteArray();
+    }
+
+    private static void varint(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.write(v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Lesen                                                               */
+    /* ------------------------------------------------------------------ */
+
+    /** Maschine und Eingabe aus einer Datei (eingeblendet). */
+    public static MachineCache.Program read(Path file, Dialect dialect) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Datei größer als 2 GiB: " + file);
+            return decode(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), dialect);
+        }
+    }
+
+    /** Maschine und Eingabe aus den restlichen Bytes von source (source bleibt unverändert). */
+    public static MachineCache.Program decode(ByteBuffer source, Dialect dialect) {
+        Reader in = new Reader(source.duplicate());
+        int start = in.b.position(), end = in.b.limit();
+        if (end - start < 9 || in.b.getInt(start) != MAGIC) throw new IllegalArgumentException("Keine Binärkodierung (Kennung TMBF fehlt)");
+        CRC32C crc = new CRC32C();
+        crc.update(in.b.duplicate().limit(end - 4));
+        if ((int) crc.getValue() != in.b.getInt(end - 4)) throw new IllegalArgumentException("Binärkodierung beschädigt (Prüfsumme)");
+        in.b.limit(end - 4).position(start + 4);
+
+        int version = in.varint("Version");
+        if (version != VERSION) throw new IllegalArgumentException("Binärkodierung Version " + version + " nicht unterstützt");
+        int d = in.varint("Dialekt");
+        if (d != 0 && d != dialect.ordinal() + 1) {
+            String name = d <= Dialect.values().length ? Dialect.values()[d - 1].name() : "#" + d;
+            throw new IllegalArgumentException("Binärkodierung für Dialekt " + name + ", gelesen als " + dialect);
+        }
+        int n = in.varint("Anzahl");
+        if (n > in.b.remaining() / 5) throw in.error("Anzahl Übergänge " + n + " übersteigt die Datei");
+
+        MachineDefinition.Builder b = new MachineDefinition.Builder(dialect.symbols.length(), dialect.halting, dialect.duplicates);
+        int i = 0;
+        for (int t = 0; t < n; t++) {
+            int z = in.varint("qᵢ");
+            i += z >>> 1 ^ -(z & 1);
+            int j = in.varint("Xⱼ"), k = in.varint("qₖ"), l = in.varint("Xˡ"), m = in.varint("Dₘ");
+            state(in, i, "qᵢ");
+            symbol(in, dialect, j, "Xⱼ");
+            state(in, k, "qₖ");
+            symbol(in, dialect, l, "Xˡ");
+            if (i == 0 && !dialect.zeroStates || k == 0 && !dialect.zeroStates) throw in.error("Zustand fehlt in Übergang " + (t + 1));
+            int move = m == 1 ? TransitionTable.MOVE_L : m == 2 || (m > 2 && !dialect.strictMoves) ? TransitionTable.MOVE_R : -1;
+            if (move < 0) throw in.error("Bewegungsrichtung D" + m + " ungültig (nur 1=L, 2=R erlaubt)");
+            b.add(new MachineDefinition.Transition(i, j - 1, k, l - 1, move));
+        }
+        int length = in.varint("Eingabelänge");
+        if (length - 1 > in.b.remaining()) throw in.error("Eingabe länger als die Datei");
+        String input = "";
+        if (length > 0) {
+            byte[] bytes = new byte[length - 1];
+            in.b.get(bytes);
+            input = new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        if (in.b.hasRemaining()) throw in.error("Unerwartete Bytes nach der Eingabe");
+        return new MachineCache.Program(b.build(dialect.alphabet(b.symbols())), length > 0, input);
+    }
+
+    private static void state(Reader in, int q, String what) {
+        if (q < 0 || q >= TransitionTable.MAX_STATES) throw in.error("Zustand " + what + " = " + q + " außerhalb des Bereichs");
+    }
+
+    private static void symbol(Reader in, Dialect dialect, int c, String what) {
+        if (c < 1 || c > dialect.maxSymbolCode()) throw in.error("Unbekannte Symbolkodierung " + what + " = 0^" + c);
+    }
+
+    /** Varints mit Fehlerposition. */
+    private static final class Reader {
+        final ByteBuffer b;
+
+        Reader(ByteBuffer b) { this.b = b; }
+
+        int varint(String what) {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (!b.hasRemaining()) throw error(what + " unvollständig");
+                int x = b.get();
+                v |= (x & 0x7F) << shift;
+                if (x >= 0) return v;
+            }
+            throw error(what + " zu groß");
+        }
+
+        IllegalArgumentException error(String msg) {
+            return new IllegalArgumentException("Binärkodierung: " + msg + " an Byte " + b.position());
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Umwandlung                                                          */
+    /* ------------------------------------------------------------------ */
+
+    /** Unär → binär (Eingabe nach '111' wird übernommen). */
+    public static byte[] fromUnary(Path file, Dialect dialect) throws IOException {
+        MachineCache.Program p = dialect == Dialect.LECTURE
+                ? MachineCache.memoryOnly().program(file, dialect)
+                : new MachineCache.Program(UnaryParser.parse(file, dialect, dialect == Dialect.AUFGABE1), false, "");
+        return encode(p.machine().transitions(), dialect, p.inputFollows() ? p.input() : null);
+    }
+
+    /** Binär → unär (mit Eingabe: Kodierung 111 Eingabe, wie input.txt). */
+    public static String toUnary(MachineCache.Program p, Dialect dialect) {
+        String code = UnaryEncoder.encode(p.machine().transitions(), dialect);
+        return p.inputFollows() ? code + "111" + p.input() : code;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: java BinaryFormat <LECTURE|TQUAD|AUFGABE1> <quelle> <ziel>");
+            return;
+        }
+        try {
+            Dialect dialect = Dialect.valueOf(args[0]);
+            Path from = Path.of(args[1]), to = Path.of(args[2]);
+            long size = Files.size(from), t0 = System.nanoTime();
+            if (isBinary(from)) {
+                Files.writeString(to, toUnary(read(from, dialect), dialect), StandardCharsets.ISO_8859_1);
+            } else {
+                Files.write(to, fromUnary(from, dialect));
+            }
+            long written = Files.size(to);
+            System.out.printf("%s → %s: %d → %d Byte (%.1fx), %.1f ms%n", from, to, size, written,
+                    (double) Math.max(size, written) / Math.max(1, Math.min(size, written)), (System.nanoTime() - t0) / 1e6);
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+/**
+ * Band mit einem Byte pro Zelle
+ * =============================
+ * Darstellung für Alphabete mit mehr als 16 Symbolen (siehe {@link Tape#create}).
+ * Zellen werden als Symbolindex (0‥255, siehe {@link TransitionTable}) in
+ * einem einzigen {@code byte[]} gehalten. Die Kopfposition darf negativ
+ * werden; {@code origin} verschiebt sie auf den Array‑Index:
+ *
+ *     cells[pos + origin]  ↔  Bandzelle pos
+ *
+ * Lesen außerhalb des belegten Bereichs liefert das Blank‑Symbol ohne zu
+ * allozieren. Schreiben außerhalb vergrößert das Array auf der betroffenen
+ * Seite (Verdopplung) – amortisiert O(1) pro Zugriff, ein Byte pro Zelle.
+ */
+final class ByteTape extends Tape {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_CAPACITY     = Integer.MAX_VALUE - 8;
+
+    private final byte blank;
+    private byte[] cells;
+    private int origin;
+
+    ByteTape(int blank) {
+        this.blank  = (byte) blank;
+        this.cells  = new byte[INITIAL_CAPACITY];
+        this.origin = 0;
+        if (blank != 0) Arrays.fill(cells, this.blank);
+    }
+
+    /** Füllt ein neues Zellenarray der Länge n, das ohne Kopie übernommen wird (siehe {@link Tape#append}). */
+    Appender appender(int n) {
+        byte[] fresh = new byte[n];
+        return new Appender() {
+            private int i;
+
+            @Override void put(int sym) { fresh[i++] = (byte) sym; }
+
+            @Override Tape tape() {
+                if (fresh.length > 0) cells = fresh;
+                return ByteTape.this;
+            }
+        };
+    }
+
+    @Override public int blank() { return blank & 0xFF; }
+
+    @Override
+    public int read(int pos) {
+        int i = pos + origin;
+        return i >= 0 && i < cells.length ? cells[i] & 0xFF : blank & 0xFF;
+    }
+
+    @Override
+    public void write(int pos, int sym) {
+        int i = pos + origin;
+        if (i < 0 || i >= cells.length) i = grow(pos) + origin;
+        cells[i] = (byte) sym;
+    }
+
+    @Override
+    public void read(int from, byte[] dst, int off, int len) {
+        int i = from + origin, lo = Math.max(i, 0), hi = Math.min(i + len, cells.length);
+        if (lo >= hi) { Arrays.fill(dst, off, off + len, blank); return; }
+        Arrays.fill(dst, off, off + (lo - i), blank);
+        System.arraycopy(cells, lo, dst, off + (lo - i), hi - lo);
+        Arrays.fill(dst, off + (hi - i), off + len, blank);
+    }
+
+    /** Schreibt src[off, off+len) ab Position from (wächst höchstens einmal pro Seite). */
+    @Override
+    public void write(int from, byte[] src, int off, int len) {
+        if (len <= 0) return;
+        write(from, src[off]);
+        write(from + len - 1, src[off + len - 1]);
+        System.arraycopy(src, off, cells, from + origin, len);
+    }
+
+    @Override
+    public void fill(int from, int to, int sym) {
+        if (from > to) return;
+        write(from, sym);
+        write(to, sym);
+        Arrays.fill(cells, from + origin, to + origin + 1, (byte) sym);
+    }
+
+    @Override public int low()  { return -origin; }
+    @Override public int high() { return cells.length - origin - 1; }
+
+    @Override public long cells() { return cells.length; }
+
+    @Override
+    public Tape copy() {
+        ByteTape t = new ByteTape(blank);
+        t.cells  = cells.clone();
+        t.origin = origin;
+        return t;
+    }
+
+    /**
+     * Vergrößert das Array, bis pos darin liegt. Der neue Platz wird
+     * vollständig auf der Seite angelegt, auf der pos herausfiel, damit
+     * Sweeps in eine Richtung nicht die Gegenseite mitwachsen lassen.
+     * Liefert pos zurück (Aufrufer rechnet mit dem neuen origin).
+     */
+    private int grow(int pos) {
+        int i = pos + origin;
+        long need = i < 0 ? (long) cells.length - i : (long) i + 1;
+        long cap  = Math.max(need, 2L * cells.length);
+        if (cap > MAX_CAPACITY) {
+            if (need > MAX_CAPACITY) throw new IllegalStateException("Bandlänge überschreitet " + MAX_CAPACITY + " Zellen");
+            cap = MAX_CAPACITY;
+        }
+        byte[] next = new byte[(int) cap];
+        int shift = i < 0 ? next.length - cells.length : 0;
+        if (blank != 0) {
+            Arrays.fill(next, 0, shift, blank);
+            Arrays.fill(next, shift + cells.length, next.length, blank);
+        }
+        System.arraycopy(cells, 0, next, shift, cells.length);
+        cells   = next;
+        origin += shift;
+        return pos;
+    }
+}
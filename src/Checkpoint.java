@@ -0,0 +1,472 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+
+/**
+ * Checkpoints langer Läufe
+ * ========================
+ * Sichert eine laufende Simulation periodisch in eine Binärdatei, aus der
+ * sie nach einem Neustart der JVM fortgesetzt werden kann.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Dateiformat (big endian)
+ * ────────────────────────────────────────────────────────────────────────────
+ *     Kopf    : "TMCK" | Version | Fingerabdruck δ (long) | Blank | n | n×char | CRC32C
+ *     Record  : "REC!" | Flags | Zustand | Kopf | Schritte (long) | k
+ *               | k × (Position, Länge) | Bandbytes | CRC32C
+ *
+ * Ein Record enthält nur Bandbereiche, die sich seit dem vorigen Record
+ * geändert haben können. Beim Fortsetzen werden alle Records der Reihe
+ * nach auf ein leeres Band gespielt; ein abgeschnittener oder beschädigter
+ * letzter Record (Absturz beim Schreiben) wird verworfen.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Warum die Schleife nicht stockt
+ * ────────────────────────────────────────────────────────────────────────────
+ * ▸ Der Lauf wird in Scheiben zu {@link #SLICE} Schritten ausgeführt. Der Kopf
+ *   bewegt sich pro Schritt um genau eine Zelle, in einer Scheibe ab Kopf h
+ *   kann sich also nur [h − SLICE, h + SLICE] ändern. Die Vereinigung dieser
+ *   Intervalle seit dem letzten Schnappschuss ist der Schmutzbereich.
+ * ▸ Ein Schnappschuss wird nicht am Stück kopiert: Vor jeder Scheibe werden
+ *   nur die Zellen gesichert, die die Scheibe überschreiben <i>könnte</i>
+ *   (höchstens 2·SLICE + 1), plus {@link #COPY_BUDGET} weitere Bytes.
+ *   Das ergibt ein konsistentes Abbild des Schnappschuss‑Zeitpunkts, egal wie
+ *   groß das Band ist – die Pause je Scheibe bleibt bei wenigen ms.
+ * ▸ Geschrieben wird von einem Hintergrund‑Thread über einen FileChannel.
+ *   Solange er beschäftigt ist, wird kein neuer Schnappschuss begonnen.
+ * ▸ Wächst die Datei über 2 × Bandgröße, beginnt eine neue Generation: Neben
+ *   den Änderungen wandert je Record ein {@link #SWEEP_CHUNK} des ganzen
+ *   Bandes in eine zweite Datei. Sobald das Band einmal vollständig
+ *   überstrichen ist, ersetzt sie die alte atomar.
+ */
+public final class Checkpoint {
+    private static final int MAGIC       = 0x544D434B;   // "TMCK"
+    private static final int RECORD      = 0x52454321;   // "REC!"
+    private static final int VERSION     = 1;
+    private static final int START       = 1;            // erster Record einer Generation
+    private static final int COMPLETE    = 2;            // Generation deckt das ganze Band ab
+
+    static final int SLICE               = 1 << 20;      // Schritte je Scheibe
+    private static final int COPY_BUDGET = 4 << 20;      // zusätzliche Bytes je Scheibe
+    private static final int SWEEP_CHUNK = 64 << 20;     // Bandbytes je Record beim Überstreichen
+    private static final int MAX_SEGMENT = 16 << 20;
+    private static final long ROTATE_SLACK = 64L << 20;
+
+    private final Path file;
+    private final Path next;
+    private final MachineDefinition machine;
+    private final long intervalNanos;
+    private long resumeEnd = -1;           // ≥ 0: gültiges Ende der fortgesetzten Datei
+    private Metrics metrics;               // Stichprobe je Scheibe, Rückstand je Record
+
+    public Checkpoint(Path file, MachineDefinition machine, Duration every) {
+        this.file          = file;
+        this.next          = file.resolveSibling(file.getFileName() + ".next");
+        this.machine       = machine;
+        this.intervalNanos = every.toNanos();
+    }
+
+    /** Fingerabdruck aus Übergangstabelle und Haltekonvention. */
+    static long fingerprint(MachineDefinition machine) {
+        HaltingSemantics h = machine.halting();
+        long x = machine.table().hash();
+        x = x * 31 + h.startState();
+        x = x * 31 + h.acceptState();
+        return x * 31 + (h.haltOnAccept() ? 1 : 0);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Fortsetzen                                                          */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Stellt die Konfiguration des letzten vollständigen Records wieder her.
+     * Ein nachfolgender {@link #run} hängt an genau dieser Stelle an.
+     */
+    public Configuration resume() throws IOException {
+        Files.deleteIfExists(next);        // unvollständige Generation
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer fixed = ByteBuffer.allocate(24);
+            if (!readFully(ch, fixed, 0) || fixed.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Keine Checkpoint‑Datei: " + file);
+            }
+            if (fixed.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Checkpoint‑Version " + fixed.getInt(4) + " nicht unterstützt");
+            }
+            if (fixed.getLong(8) != fingerprint(machine)) {
+                throw new IllegalArgumentException("Checkpoint gehört zu einer anderen Maschine (Fingerabdruck abweichend)");
+            }
+            int blank = fixed.getInt(16), n = fixed.getInt(20);
+            if (n < 1 || n > TransitionTable.MAX_SYMBOLS || blank < 0 || blank >= n) {
+                throw new IllegalArgumentException("Checkpoint‑Kopf beschädigt");
+            }
+            ByteBuffer rest = ByteBuffer.allocate(2 * n + 4);
+            if (!readFully(ch, rest, 24)) throw new EOFException("Checkpoint‑Kopf unvollständig");
+            CRC32C crc = new CRC32C();
+            crc.update(fixed.array(), 0, 24);
+            crc.update(rest.array(), 0, 2 * n);
+            if ((int) crc.getValue() != rest.getInt(2 * n)) throw new IllegalArgumentException("Checkpoint‑Kopf beschädigt");
+            char[] symbols = new char[n];
+            for (int i = 0; i < n; i++) symbols[i] = rest.getChar(2 * i);
+
+            Tape tape = Tape.create(n, blank);
+            Configuration config = null;
+            long pos = 24 + 2L * n + 4;
+            byte[] buf = new byte[1 << 20];
+            for (Scan r; (r = scan(ch, pos, buf)) != null; pos = r.end) {
+                long at = r.data;
+                for (int i = 0; i < r.from.length; i++) {
+                    for (int off = 0; off < r.length[i]; ) {
+                        int k = Math.min(buf.length, r.length[i] - off);
+                        if (!readFully(ch, ByteBuffer.wrap(buf, 0, k), at)) throw new EOFException();
+                        tape.write(r.from[i] + off, buf, 0, k);
+                        off += k;
+                        at  += k;
+                    }
+                }
+                config = new Configuration(tape, new Alphabet(symbols, blank), r.state, r.head, r.steps);
+            }
+            if (config == null) throw new IllegalArgumentException("Checkpoint enthält keinen vollständigen Schnappschuss");
+            resumeEnd = pos;
+            return config;
+        }
+    }
+
+    private record Scan(int state, int head, long steps, int[] from, int[] length, long data, long end) { }
+
+    /** Liest Record‑Kopf ab pos und prüft die Prüfsumme; {@code null} bei Ende oder Beschädigung. */
+    private static Scan scan(FileChannel ch, long pos, byte[] buf) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(28);
+        if (!readFully(ch, head, pos) || head.getInt(0) != RECORD) return null;
+        int k = head.getInt(24);
+        if (k < 0 || k > (1 << 20)) return null;
+        ByteBuffer table = ByteBuffer.allocate(8 * k);
+        if (!readFully(ch, table, pos + 28)) return null;
+
+        CRC32C crc = new CRC32C();
+        crc.update(head.array(), 0, 28);
+        crc.update(table.array(), 0, 8 * k);
+        int[] from = new int[k], length = new int[k];
+        long total = 0;
+        for (int i = 0; i < k; i++) {
+            from[i]   = table.getInt(8 * i);
+            length[i] = table.getInt(8 * i + 4);
+            if (length[i] < 0 || length[i] > MAX_SEGMENT) return null;
+            total += length[i];
+        }
+        long data = pos + 28 + 8L * k, at = data;
+        for (long left = total; left > 0; ) {
+            int n = (int) Math.min(buf.length, left);
+            if (!readFully(ch, ByteBuffer.wrap(buf, 0, n), at)) return null;
+            crc.update(buf, 0, n);
+            at   += n;
+            left -= n;
+        }
+        ByteBuffer sum = ByteBuffer.allocate(4);
+        if (!readFully(ch, sum, at) || sum.getInt(0) != (int) crc.getValue()) return null;
+        return new Scan(head.getInt(8), head.getInt(12), head.getLong(16), from, length, data, at + 4);
+    }
+
+    private static boolean readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, pos + buf.position());
+            if (n < 0) return false;
+        }
+        return true;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Lauf mit periodischen Schnappschüssen                              */
+    /* ------------------------------------------------------------------ */
+
+    /** Meldet jede Scheibe und jeden geschriebenen Record an metrics. */
+    public void observe(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Führt config mit engine in Scheiben aus und sichert alle {@code every}
+     * einen Schnappschuss. Beim Ende (HALT oder Grenze) wird der letzte Stand
+     * synchron gesichert. Die Grenzen aus limits gelten für den ganzen Lauf.
+     */
+    public Outcome run(Simulator engine, Configuration config, RunLimits limits) throws IOException {
+        Tape tape = config.tape();
+        Writer writer = new Writer(config.alphabet());
+        try {
+            Snapshot pending = null;
+            Sweep sweep = null;
+            if (resumeEnd < 0) {
+                // Neuer Lauf: vollständiges Startabbild als erste Generation
+                pending = new Snapshot(config, START | COMPLETE);
+                pending.add(tape.low(), tape.high(), tape);
+            }
+            long dirtyLo = config.head(), dirtyHi = config.head();
+            RunLimits.Slices slices = limits.slices(SLICE);
+            long due      = System.nanoTime() + intervalNanos;
+
+            while (true) {
+                int  h0 = config.head();
+                long s0 = config.steps();
+                if (pending != null) {
+                    pending.protect(h0 - (long) SLICE, h0 + (long) SLICE, tape);   // Kopie vor dem Überschreiben
+                    pending.copy(COPY_BUDGET, tape);
+                    if (pending.done()) { writer.submit(pending); pending = null; }
+                }
+
+                Outcome outcome = slices.next(engine, machine, config);
+                long n = config.steps() - s0;
+                dirtyLo = Math.min(dirtyLo, h0 - n);
+                dirtyHi = Math.max(dirtyHi, h0 + n);
+                if (metrics != null) metrics.sample(config);
+
+                if (!slices.more()) {
+                    // Ende: ausstehenden und letzten Schnappschuss vollständig sichern
+                    if (pending != null) { pending.copy(Long.MAX_VALUE, tape); writer.submit(pending); }
+                    Snapshot last = new Snapshot(config, 0);
+                    last.add(dirtyLo, dirtyHi, tape);
+                    last.copy(Long.MAX_VALUE, tape);
+                    writer.submit(last);
+                    writer.close();
+                    return outcome;
+                }
+
+                long now = System.nanoTime();
+                if (pending == null && now - due >= 0 && writer.idle()) {
+                    int flags = 0;
+                    if (sweep == null && writer.size() > 2 * tape.cells() + ROTATE_SLACK) {
+                        sweep = new Sweep(tape.low(), tape.high());
+                        flags = START;
+                    }
+                    pending = new Snapshot(config, flags);
+                    pending.add(dirtyLo, dirtyHi, tape);
+                    if (sweep != null) {
+                        long to = Math.min(sweep.next + SWEEP_CHUNK - 1, sweep.end);
+                        pending.add(sweep.next, to, tape);
+                        sweep.next = to + 1;
+                        if (sweep.next > sweep.end) { pending.flags |= COMPLETE; sweep = null; }
+                    }
+                    dirtyLo = dirtyHi = config.head();
+                    due = now + intervalNanos;
+                }
+            }
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /** Bereich des Bandes, der für eine neue Generation überstrichen wird. */
+    private static final class Sweep {
+        long next;
+        final long end;
+        Sweep(long from, long end) { this.next = from; this.end = end; }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Schnappschuss (Copy‑before‑write)                                   */
+    /* ------------------------------------------------------------------ */
+
+    private static final class Snapshot {
+        final int  state;
+        final int  head;
+        final long steps;
+        int flags;
+        final List<long[]> open = new ArrayList<>();    // noch nicht kopierte [from, to]
+        final List<Integer> from = new ArrayList<>();
+        final List<byte[]>  data = new ArrayList<>();
+
+        Snapshot(Configuration config, int flags) {
+            this.state = config.state();
+            this.head  = config.head();
+            this.steps = config.steps();
+            this.flags = flags;
+        }
+
+        /** Merkt [lo, hi] vor – beschränkt auf den belegten Bereich, der Rest ist Blank. */
+        void add(long lo, long hi, Tape tape) {
+            lo = Math.max(lo, tape.low());
+            hi = Math.min(hi, tape.high());
+            if (lo <= hi) open.add(new long[] {lo, hi});
+        }
+
+        /** Kopiert sofort alle offenen Zellen in [lo, hi]. */
+        void protect(long lo, long hi, Tape tape) {
+            for (int i = open.size() - 1; i >= 0; i--) {
+                long[] r = open.get(i);
+                if (r[1] < lo || r[0] > hi) continue;
+                open.remove(i);
+                long a = Math.max(r[0], lo), b = Math.min(r[1], hi);
+                save(a, b, tape);
+                if (r[0] < a) open.add(new long[] {r[0], a - 1});
+                if (b < r[1]) open.add(new long[] {b + 1, r[1]});
+            }
+        }
+
+        /** Kopiert höchstens budget weitere Zellen. */
+        void copy(long budget, Tape tape) {
+            while (budget > 0 && !open.isEmpty()) {
+                long[] r = open.get(open.size() - 1);
+                long b = Math.min(r[1], r[0] + Math.min(budget, MAX_SEGMENT) - 1);
+                save(r[0], b, tape);
+                budget -= b - r[0] + 1;
+                if (b == r[1]) open.remove(open.size() - 1);
+                else r[0] = b + 1;
+            }
+        }
+
+        boolean done() { return open.isEmpty(); }
+
+        private void save(long lo, long hi, Tape tape) {
+            for (long p = lo; p <= hi; p += MAX_SEGMENT) {
+                int len = (int) Math.min(MAX_SEGMENT, hi - p + 1);
+                byte[] bytes = new byte[len];
+                tape.read((int) p, bytes, 0, len);
+                from.add((int) p);
+                data.add(bytes);
+            }
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Hintergrund‑Schreiber                                               */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Schreibt Records in Einreichungsreihenfolge auf einem eigenen Thread.
+     * Alle Dateioperationen laufen dort; der Lauf sieht nur idle() und size().
+     */
+    private final class Writer {
+        private final ExecutorService thread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        private final ByteBuffer header;
+        private final List<Future<?>> inFlight = new ArrayList<>();
+        private FileChannel current;        // gültige Datei (null bis zur ersten Generation)
+        private FileChannel generation;     // im Aufbau befindliche Generation
+        private volatile long size;
+
+        Writer(Alphabet alphabet) throws IOException {
+            char[] symbols = alphabet.chars();
+            header = ByteBuffer.allocate(28 + 2 * symbols.length);
+            header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint(machine))
+                  .putInt(alphabet.blank()).putInt(symbols.length);
+            for (char c : symbols) header.putChar(c);
+            CRC32C crc = new CRC32C();
+            crc.update(header.array(), 0, header.position());
+            header.putInt((int) crc.getValue()).flip();
+
+            if (resumeEnd >= 0) {
+                current = FileChannel.open(file, StandardOpenOption.WRITE);
+                current.truncate(resumeEnd);            // beschädigten Rest verwerfen
+                current.position(resumeEnd);
+                size = resumeEnd;
+            }
+        }
+
+        long size() { return size; }
+
+        /** {@code true}, wenn alle Records geschrieben sind; reicht Schreibfehler weiter. */
+        boolean idle() throws IOException {
+            for (Future<?> f : inFlight) if (!f.isDone()) return false;
+            for (Future<?> f : inFlight) await(f);
+            inFlight.clear();
+            return true;
+        }
+
+        void submit(Snapshot s) {
+            inFlight.add(thread.submit(() -> { write(s); return null; }));
+        }
+
+        /** Wartet auf alle Records und schließt die Dateien. */
+        void close() throws IOException {
+            for (Future<?> f : inFlight) await(f);
+            inFlight.clear();
+            await(thread.submit(() -> {
+                if (generation != null) { generation.close(); Files.deleteIfExists(next); }
+                if (current != null) current.close();
+                return null;
+            }));
+        }
+
+        void shutdown() { thread.shutdownNow(); }
+
+        private void await(Future<?> f) throws IOException {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Checkpoint unterbrochen", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                throw new IOException("Checkpoint fehlgeschlagen", e.getCause());
+            }
+        }
+
+        /* –– nur auf dem Schreib‑Thread –– */
+
+        private void write(Snapshot s) throws IOException {
+            int k = s.data.size();
+            ByteBuffer head = ByteBuffer.allocate(28 + 8 * k);
+            head.putInt(RECORD).putInt(s.flags).putInt(s.state).putInt(s.head).putLong(s.steps).putInt(k);
+            for (int i = 0; i < k; i++) head.putInt(s.from.get(i)).putInt(s.data.get(i).length);
+            head.flip();
+            CRC32C crc = new CRC32C();
+            crc.update(head.array(), 0, head.limit());
+            for (byte[] d : s.data) crc.update(d, 0, d.length);
+            ByteBuffer sum = ByteBuffer.allocate(4).putInt(0, (int) crc.getValue());
+
+            if ((s.flags & START) != 0) {
+                if (generation != null) generation.close();
+                generation = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                append(generation, header.duplicate());
+            }
+            ByteBuffer[] record = new ByteBuffer[k + 2];
+            record[0] = head;
+            for (int i = 0; i < k; i++) record[i + 1] = ByteBuffer.wrap(s.data.get(i));
+            record[k + 1] = sum;
+            if (current != null) {
+                append(current, rewind(record));
+                current.force(false);
+                size = current.position();
+            }
+            if (generation != null) {
+                append(generation, rewind(record));
+                generation.force(false);
+                if ((s.flags & COMPLETE) != 0) {
+                    Files.move(next, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    if (current != null) current.close();
+                    current    = generation;
+                    generation = null;
+                    size = current.position();
+                }
+            }
+            if (current != null && metrics != null) metrics.checkpointed(s.steps);
+        }
+
+        private static ByteBuffer[] rewind(ByteBuffer[] bufs) {
+            for (ByteBuffer b : bufs) b.rewind();
+            return bufs;
+        }
+
+        private static void append(FileChannel ch, ByteBuffer... bufs) throws IOException {
+            long left = 0;
+            for (ByteBuffer b : bufs) left += b.remaining();
+            while (left > 0) left -= ch.write(bufs);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Engine mit maschinenspezifischem Bytecode
+ * =========================================
+ * Übersetzt die {@link TransitionTable} einer Maschine zur Laufzeit in eine
+ * eigene Klasse mit einer einzigen statischen Methode
+ *
+ *     int run(Tape tape, int[] regs, int n)      regs = {Zustand, Kopf, gehalten}
+ *
+ * und lädt sie als Hidden Class. Jeder Zustand ist ein Basisblock:
+ *
+ *     Lq:  state = q
+ *          if (n == 0) → Budget erschöpft
+ *          tableswitch (tape.read(head)) {
+ *              case s: tape.write(head, w); head ± 1; n--; goto Lq'
+ *              default: → HALT                       (kein Übergang)
+ *          }
+ *
+ * Zustand und Übergang stehen also als Konstanten im Code – kein
+ * Tabellenzugriff, kein Dekodieren; der JIT sieht die ganze Maschine als
+ * eine Schleife mit festen Sprungzielen. Der Akzeptanzzustand bei sofortigem
+ * Halt ist ein Block, der direkt hält. Die Methode rechnet höchstens n
+ * Schritte ({@link RunLimits#CHECK_INTERVAL}); zwischen den Aufrufen prüft
+ * {@link #run} Grenzen, Zeit und Abbruch wie der {@link Interpreter}.
+ *
+ * Die Klassendatei wird direkt geschrieben (Version 49, ohne StackMapTable;
+ * {@code java.lang.classfile} gibt es im Ziel‑JDK nicht). Methoden über
+ * {@link #MAX_CODE} Bytes kompiliert HotSpot nicht mehr
+ * ({@code -XX:+DontCompileHugeMethods}) – größere Maschinen laufen daher
+ * unverändert im {@link Interpreter}. Übersetzte Klassen werden je
+ * {@link MachineDefinition} gehalten, solange die Maschine lebt.
+ */
+public final class CompiledSimulator implements Simulator {
+    static final int MAX_CODE = 8_000;          // Bytes Bytecode, ab denen der JIT aufgibt
+
+    private static final Map<MachineDefinition, Optional<MethodHandle>> COMPILED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final MethodType RUN = MethodType.methodType(int.class, Tape.class, int[].class, int.class);
+
+    private final Interpreter fallback = new Interpreter();
+
+    @Override
+    public String name() { return "compiled"; }
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        MethodHandle code = compiled(machine);
+        if (code == null) return fallback.run(machine, config, limits);
+
+        HaltingSemantics h = machine.halting();
+        Tape tape   = config.tape();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+
+        int[] regs  = { config.state(), config.head(), 0 };
+        long steps  = config.steps();
+        Outcome outcome = null;
+        while (regs[0] != stop) {
+            if ((outcome = watch.check(tape.cells())) != null) break;
+            int n = (int) Math.min(Math.max(0, max - steps), RunLimits.CHECK_INTERVAL);
+            int left;
+            try {
+                left = (int) code.invokeExact(tape, regs, n);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            steps += n - left;
+            if (regs[2] != 0) break;                                   // HALT
+            if (steps >= max) {
+                config.update(regs[0], regs[1], steps);
+                if (!Interpreter.halted(machine, config)) outcome = Outcome.LIMIT;
+                break;
+            }
+        }
+        config.update(regs[0], regs[1], steps);
+        return outcome != null ? outcome : h.outcome(regs[0]);
+    }
+
+    /** {@code true}, falls die Maschine übersetzt läuft (sonst im {@link Interpreter}). */
+    public static boolean compiles(MachineDefinition machine) {
+        return compiled(machine) != null;
+    }
+
+    private static MethodHandle compiled(MachineDefinition machine) {
+        return COMPILED.computeIfAbsent(machine, m -> Optional.ofNullable(define(m))).orElse(null);
+    }
+
+    /** Lädt die übersetzte Klasse; {@code null}, falls die Maschine zu groß ist. */
+    private static MethodHandle define(MachineDefinition machine) {
+        byte[] code = code(machine);
+        if (code == null) return null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile(code), true);
+            return lookup.findStatic(lookup.lookupClass(), "run", RUN);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Übersetzte Maschine nicht ladbar", e);
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Bytecode                                                            */
+    /* ------------------------------------------------------------------ */
+
+    /* Konstantenpool (Indizes fest, siehe classFile) */
+    private static final int CP_READ = 10, CP_WRITE = 14;
+
+    /* Lokale Variablen: 0 tape, 1 regs, 2 n, 3 head, 4 state, 5 gehalten */
+    private static final int HEAD = 3, STATE = 4, HALTED = 5;
+
+    /**
+     * Rumpf von run(); {@code null}, falls er {@link #MAX_CODE} überschreitet
+     * oder Zustände nicht als sipush‑Konstante passen.
+     */
+    static byte[] code(MachineDefinition machine) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        int states = delta.states(), symbols = delta.symbols();
+        if (states > Short.MAX_VALUE || (long) states * (symbols * 17L + 40) > 4L * MAX_CODE) return null;
+
+        Assembler a = new Assembler(states + 3);
+        int halt = states, budget = states + 1, exit = states + 2;
+
+        /* head = regs[1]; state = regs[0]; Sprung in den Block des Zustands */
+        a.op(0x2B).op(0x04).op(0x2E).op(0x3E);                        // aload_1 iconst_1 iaload istore_3
+        a.op(0x2B).op(0x03).op(0x2E).op(0x59).op(0x36).op(STATE);     // aload_1 iconst_0 iaload dup istore 4
+        a.tableswitch(halt, seq(states));
+
+        for (int q = 0; q < states; q++) {
+            a.bind(q);
+            a.push(q).op(0x36).op(STATE);                             // istore 4
+            if (h.haltOnAccept() && q == h.acceptState()) { a.jump(0xA7, halt); continue; }
+            a.op(0x1C).jump(0x99, budget);                            // iload_2 ifeq
+            a.op(0x2A).op(0x1D).op(0xB6).u2(CP_READ);                 // aload_0 iload_3 invokevirtual read
+            int[] targets = new int[symbols];
+            int first = a.labels.size();
+            for (int s = 0; s < symbols; s++) targets[s] = delta.get(q, s) == TransitionTable.NONE ? halt : a.label();
+            a.tableswitch(halt, targets);
+            for (int s = 0, l = first; s < symbols; s++) {
+                int tr = delta.get(q, s);
+                if (tr == TransitionTable.NONE) continue;
+                a.bind(l++);
+                a.op(0x2A).op(0x1D).push(TransitionTable.writeSymbol(tr)).op(0xB6).u2(CP_WRITE);
+                a.op(0x84).op(HEAD).op(TransitionTable.headDelta(tr));    // iinc head ±1
+                a.op(0x84).op(2).op(0xFF);                                // iinc n −1
+                a.jump(0xA7, TransitionTable.nextState(tr));
+            }
+            if (a.size() > MAX_CODE) return null;
+        }
+
+        /* Ausgänge: regs = {state, head, gehalten}; return n */
+        a.bind(halt).op(0x04).jump(0xA7, exit);                       // iconst_1 goto
+        a.bind(budget).op(0x03);                                      // iconst_0
+        a.bind(exit).op(0x36).op(HALTED);
+        a.op(0x2B).op(0x03).op(0x15).op(STATE).op(0x4F);              // regs[0] = state
+        a.op(0x2B).op(0x04).op(0x1D).op(0x4F);                        // regs[1] = head
+        a.op(0x2B).op(0x05).op(0x15).op(HALTED).op(0x4F);             // regs[2] = gehalten
+        a.op(0x1C).op(0xAC);                                          // iload_2 ireturn
+        return a.size() > MAX_CODE ? null : a.finish();
+    }
+
+    private static int[] seq(int n) {
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        return xs;
+    }
+
+    /** Klassendatei „CompiledMachine“ mit public static int run(Tape, int[], int). */
+    private static byte[] classFile(byte[] code) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(code.length + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49);
+            out.writeShort(18);                                        // Konstantenpool 1‥17
+            utf8(out, "CompiledMachine");      ref(out, 7, 1);          //  1,  2 Klasse
+            utf8(out, "java/lang/Object");     ref(out, 7, 3);          //  3,  4 Oberklasse
+            utf8(out, "Tape");                 ref(out, 7, 5);          //  5,  6
+            utf8(out, "read");  utf8(out, "(I)I");  ref(out, 12, 7, 8);       //  7,  8,  9
+            ref(out, 10, 6, 9);                                                // 10 Tape.read
+            utf8(out, "write"); utf8(out, "(II)V"); ref(out, 12, 11, 12);     // 11, 12, 13
+            ref(out, 10, 6, 13);                                               // 14 Tape.write
+            utf8(out, "run"); utf8(out, "(LTape;[II)I"); utf8(out, "Code");  // 15, 16, 17
+            out.writeShort(0x0031);                                    // public final super
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(0);                                         // Interfaces
+            out.writeShort(0);                                         // Felder
+            out.writeShort(1);                                         // Methoden
+            out.writeShort(0x0009);                                    // public static
+            out.writeShort(15);
+            out.writeShort(16);
+            out.writeShort(1);
+            out.writeShort(17);
+            out.writeInt(12 + code.length);
+            out.writeShort(4);                                         // max_stack
+            out.writeShort(6);                                         // max_locals
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);                                         // Ausnahmetabelle
+            out.writeShort(0);                                         // Attribute des Codes
+            out.writeShort(0);                                         // Attribute der Klasse
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(DataOutputStream out, String s) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(s);
+    }
+
+    private static void ref(DataOutputStream out, int tag, int... indices) throws IOException {
+        out.writeByte(tag);
+        for (int i : indices) out.writeShort(i);
+    }
+
+    /** Minimaler Assembler: Bytes plus Sprungmarken mit nachträglich eingesetzten Offsets. */
+    private static final class Assembler {
+        private byte[] code = new byte[1024];
+        private int size;
+        final List<Integer> labels = new ArrayList<>();    // Marke → Position (−1 = offen)
+        private final List<int[]> fixups = new ArrayList<>(); // {Feld, Opcode‑Position, Marke, Breite}
+
+        Assembler(int reserved) {
+            for (int i = 0; i < reserved; i++) labels.add(-1);
+        }
+
+        int size() { return size; }
+
+        int label() {
+            labels.add(-1);
+            return labels.size() - 1;
+        }
+
+        Assembler bind(int label) {
+            labels.set(label, size);
+            return this;
+        }
+
+        Assembler op(int b) {
+            if (size == code.length) code = Arrays.copyOf(code, 2 * size);
+            code[size++] = (byte) b;
+            return this;
+        }
+
+        Assembler u2(int v) { return op(v >>> 8).op(v); }
+
+        private Assembler u4(int v) { return u2(v >>> 16).u2(v); }
+
+        Assembler push(int v) {
+            if (v >= -1 && v <= 5)   return op(0x03 + v);                 // iconst_<v>
+            if (v == (byte) v)       return op(0x10).op(v);               // bipush
+            return op(0x11).u2(v);                                        // sipush
+        }
+
+        /** goto / if<cond> mit 16‑Bit‑Offset. */
+        Assembler jump(int opcode, int label) {
+            int at = size;
+            op(opcode);
+            fixups.add(new int[]{ size, at, label, 2 });
+            return u2(0);
+        }
+
+        /** tableswitch über 0‥targets.length‑1. */
+        Assembler tableswitch(int fallback, int[] targets) {
+            int at = size;
+            op(0xAA);
+            while (size % 4 != 0) op(0);
+            fixups.add(new int[]{ size, at, fallback, 4 });
+            u4(0).u4(0).u4(targets.length - 1);
+            for (int t : targets) {
+                fixups.add(new int[]{ size, at, t, 4 });
+                u4(0);
+            }
+            return this;
+        }
+
+        byte[] finish() {
+            for (int[] f : fixups) {
+                int offset = labels.get(f[2]) - f[1];
+                if (f[3] == 2) {
+                    code[f[0]] = (byte) (offset >>> 8);
+                    code[f[0] + 1] = (byte) offset;
+                } else {
+                    for (int k = 0; k < 4; k++) code[f[0] + k] = (byte) (offset >>> (24 - 8 * k));
+                }
+            }
+            return Arrays.copyOf(code, size);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Momentaufnahme eines Laufs: Zustand, Kopf, Schrittzähler und Band.
+ *
+ * Engines lesen die Konfiguration zu Beginn und schreiben sie am Ende
+ * zurück; eine gehaltene Konfiguration kann unverändert ausgegeben, eine
+ * unterbrochene an dieselbe oder eine andere Engine weitergereicht werden.
+ */
+public final class Configuration {
+    private final Tape tape;
+    private Alphabet alphabet;
+    private int state;
+    private int head;
+    private long steps;
+
+    public Configuration(Tape tape, Alphabet alphabet, int state, int head, long steps) {
+        this.tape     = tape;
+        this.alphabet = alphabet;
+        this.state    = state;
+        this.head     = head;
+        this.steps    = steps;
+    }
+
+    /**
+     * Startkonfiguration: Eingabe ab Zelle 0, Kopf auf 0, Startzustand.
+     * Unbekannte Eingabezeichen erweitern das Anzeige‑Alphabet.
+     */
+    public static Configuration initial(MachineDefinition machine, CharSequence input) {
+        Alphabet alphabet = machine.alphabet();
+        int n = input.length();
+        for (int i = 0; i < n; i++) {
+            char c = input.charAt(i);
+            if (alphabet.indexOf(c) < 0) alphabet = alphabet.with(c);
+        }
+        Tape.Appender cells = Tape.append(alphabet.size(), alphabet.blank(), n);   // Darstellung nach endgültigem Alphabet
+        for (int i = 0; i < n; i++) cells.put(alphabet.indexOf(input.charAt(i)));
+        return new Configuration(cells.tape(), alphabet, machine.halting().startState(), 0, 0);
+    }
+
+    public Tape tape()         { return tape; }
+    public Alphabet alphabet() { return alphabet; }
+    public int state()         { return state; }
+    public int head()          { return head; }
+    public long steps()        { return steps; }
+
+    public void update(int state, int head, long steps) {
+        this.state = state;
+        this.head  = head;
+        this.steps = steps;
+    }
+
+    /** Unabhängige Kopie samt Band – ein fortsetzbarer Schnappschuss. */
+    public Configuration copy() {
+        return new Configuration(tape.copy(), alphabet, state, head, steps);
+    }
+
+    /** Bandausschnitt head ± radius als Zeichenkette. */
+    public String window(int radius) {
+        return tape.render(head - radius, head + radius, alphabet);
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Kodierungs‑ und Haltekonventionen der drei Emulatoren.
+ *
+ * Alle drei lesen dieselbe Unärkodierung 0ⁱ1 0ʲ1 0ᵏ1 0ˡ1 0ᵐ, unterscheiden
+ * sich aber in Trennzeichen, Symbolzuordnung, erlaubten Richtungen,
+ * Duplikatauflösung sowie Start‑/Akzeptanzzustand.
+ */
+public enum Dialect {
+    /** {@code UtmEmulator}: Vorlesung Teil 6 – 0, 1, _, A, B, …; q1 → q2, läuft im Akzeptanzzustand weiter. */
+    LECTURE(2, true, true, "01_", 2, true,
+            new HaltingSemantics(1, 2, false), MachineDefinition.Duplicates.FIRST_WINS),
+
+    /** {@code UniversalTMEmulator}: Tquad‑Entwurf – ⊔, 1, X, Y; Regeln durch 111 getrennt; q0 → q5. */
+    TQUAD(3, true, false, "⊔1XY", 0, false,
+            new HaltingSemantics(0, 5, false), MachineDefinition.Duplicates.LAST_WINS),
+
+    /** {@code UniversalTMEmulatorAufgabe1}: 0, 1, _; q1 → q2, hält sofort in q2. */
+    AUFGABE1(2, false, true, "01_", 2, false,
+            new HaltingSemantics(1, 2, true), MachineDefinition.Duplicates.LAST_WINS);
+
+    /** Anzahl Einsen zwischen zwei Übergängen (11 bzw. 111). */
+    final int separator;
+    /** Zustandsfelder dürfen leer sein (q0 als 0⁰). */
+    final boolean zeroStates;
+    /** Nur D1 = L und D2 = R; sonst wird jedes Dₘ mit m ≥ 2 als R gelesen. */
+    final boolean strictMoves;
+    /** Grundsymbole für Kodierungslänge 1, 2, 3, … */
+    final String symbols;
+    final int blank;
+    /** Längere Symbolkodierungen zulassen (→ A, B, …). */
+    final boolean extensible;
+    final HaltingSemantics halting;
+    final MachineDefinition.Duplicates duplicates;
+
+    Dialect(int separator, boolean zeroStates, boolean strictMoves, String symbols, int blank,
+            boolean extensible, HaltingSemantics halting, MachineDefinition.Duplicates duplicates) {
+        this.separator   = separator;
+        this.zeroStates  = zeroStates;
+        this.strictMoves = strictMoves;
+        this.symbols     = symbols;
+        this.blank       = blank;
+        this.extensible  = extensible;
+        this.halting     = halting;
+        this.duplicates  = duplicates;
+    }
+
+    public HaltingSemantics halting() { return halting; }
+
+    /** Größte zulässige Symbolkodierung 0ʲ. */
+    int maxSymbolCode() {
+        return extensible ? TransitionTable.MAX_SYMBOLS : symbols.length();
+    }
+
+    /** Bandsymbol zur Kodierungslänge n ≥ 1. */
+    char symbolFor(int n) {
+        return n <= symbols.length() ? symbols.charAt(n - 1) : (char) ('A' + n - symbols.length() - 1);
+    }
+
+    /** Alphabet mit mindestens allen Grundsymbolen und Kodierungen bis maxCode. */
+    Alphabet alphabet(int maxCode) {
+        char[] chars = new char[Math.max(symbols.length(), maxCode)];
+        for (int i = 0; i < chars.length; i++) chars[i] = symbolFor(i + 1);
+        return new Alphabet(chars, blank);
+    }
+}
@@ -0,0 +1,373 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Differenzieller Vergleich der drei Emulatoren und aller Engines
+ * ===============================================================
+ * Erzeugt zufällige Maschinen samt Eingaben (eigenschaftsbasiert, jeder Fall
+ * aus einem eigenen Seed reproduzierbar) und lässt jeden Fall durch alle
+ * drei Dialekte und alle Engines laufen:
+ *
+ *     abstrakte Maschine ─┬─ LECTURE  (UtmEmulator)            ─┐
+ *                         ├─ TQUAD    (UniversalTMEmulator)      ├─ je Engine
+ *                         └─ AUFGABE1 (UniversalTMEmulatorAufgabe1) ┘
+ *
+ * Pro Dialekt wird die Maschine mit dem {@link UnaryEncoder} kodiert und –
+ * wie in den Front‑Ends – mit dem {@link UnaryParser} gelesen; die Tabelle
+ * muss der direkt kompilierten gleichen. Gemeinsame Haltekonvention: Der
+ * Generator erzeugt keine doppelten (q, sym) und keine Übergänge aus dem
+ * Akzeptanzzustand, Halt in q2/q5 und „Halt ohne Übergang“ fallen also
+ * zusammen, ebenso FIRST_WINS und LAST_WINS.
+ *
+ * Verglichen werden Ergebnis, Zustand, Kopf, Schrittzahl und Band – nach
+ * Rückübersetzung in abstrakte Zustände und Symbole (siehe {@link Machines})
+ * über alle Dialekte und Engines hinweg. Sonderfälle:
+ *
+ * ▸ cycles    – NON_HALTING ist korrekt, wenn der Interpreter bis zur
+ *               Schrittgrenze nicht hält; sonst wie alle anderen.
+ * ▸ optimized – {@link TableOptimizer} (ohne Minimierung) + {@link Interpreter};
+ *               der Endzustand wird in den Originalnamen zurückübersetzt
+ *               und exakt verglichen.
+ *
+ * Zu jedem Fall kommt eine zufällige 2‑Band‑Maschine (Bewegungen L/R/S):
+ * Kodierung → Parser je Dialekt, {@link MultiTapeSimulator} über alle
+ * Dialekte, und für haltende Läufe bis {@link #CONVERT_STEPS} Schritte die
+ * Ein‑Band‑Übersetzung ({@link MultiTapeConverter}) im {@link Interpreter} –
+ * gleiche Bänder, Köpfe, Zustand und Ergebnis, Schrittzahl ausgenommen.
+ *
+ * Nebenbei misst der Lauf Schritte/s je Engine und Dialekt.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java DifferentialHarness [--cases N] [--seed S] [--max-states K]
+ *                              [--max-steps N] [--report datei]
+ *
+ * Abweichungen werden mit ihrem Fall‑Seed gemeldet (nachstellen mit
+ * --seed S --cases 1); Exit‑Code 1, falls es welche gibt.
+ */
+public final class DifferentialHarness {
+    private static final int SHOWN = 20;                 // gemeldete Abweichungen
+    private static final int TAPES = 2;
+    private static final long CONVERT_STEPS  = 2_000;    // k‑Band‑Schritte, bis zu denen übersetzt wird
+    private static final long CONVERT_BUDGET = 50_000_000;
+
+    /** Endkonfiguration in abstrakten Zuständen/Symbolen; Band ab first, ohne Blanks am Rand. */
+    record Result(Outcome outcome, int state, int head, long steps, int first, String tape) {
+        @Override
+        public String toString() {
+            return String.format("%s q%s Kopf %d, %d Schritte, Band @%d \"%s\"", outcome,
+                    state == Machines.ACCEPT ? "ACCEPT" : String.valueOf(state), head, steps, first, tape);
+        }
+    }
+
+    /** Endkonfiguration eines k‑Band‑Laufs, abstrakt; je Band "@first:inhalt", Schrittzahl separat. */
+    record MultiResult(Outcome outcome, int state, String heads, String tapes) {}
+
+    /** Abstrakte k‑Band‑Maschine: Zeilen {q, a₁, a₂, q', b₁, d₁, b₂, d₂}. */
+    record MultiCase(int maxState, List<int[]> rows, int[] input) {}
+
+    /** Gemessene Schritte und Zeit einer Engine in einem Dialekt. */
+    private static final class Throughput {
+        long runs, steps, nanos;
+    }
+
+    private final RunLimits limits;
+    private final int maxStates;
+    private final List<Simulator> engines = new ArrayList<>();
+    private final Map<String, Throughput> throughput = new LinkedHashMap<>();
+    private final List<String> failures = new ArrayList<>();
+    private long failed, converted;
+
+    public DifferentialHarness(int maxStates, long maxSteps) {
+        this.limits    = RunLimits.steps(maxSteps);
+        this.maxStates = maxStates;
+        engines.addAll(Simulator.all());
+        engines.add(new CycleDetector());
+        engines.add(new Optimized());
+        engines.add(new SpeculativeSimulator());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int cases = 500, maxStates = 12;
+        long seed = 1, maxSteps = 100_000;
+        Path report = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--cases"      -> cases     = Integer.parseInt(args[++i]);
+                    case "--seed"       -> seed      = Long.parseLong(args[++i]);
+                    case "--max-states" -> maxStates = Integer.parseInt(args[++i]);
+                    case "--max-steps"  -> maxSteps  = Long.parseLong(args[++i]);
+                    case "--report"     -> report    = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unbekannte Option " + args[i]);
+                }
+            }
+            if (cases < 0 || maxStates < 1 || maxSteps < 0) throw new IllegalArgumentException("Werte müssen positiv sein");
+        } catch (RuntimeException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            System.err.println("Usage: java DifferentialHarness [--cases N] [--seed S] [--max-states K]"
+                    + " [--max-steps N] [--report datei]");
+            System.exit(2);
+            return;
+        }
+
+        DifferentialHarness harness = new DifferentialHarness(maxStates, maxSteps);
+        for (int c = 0; c < cases; c++) harness.check(seed + c);
+        String text = harness.report(cases);
+        System.out.print(text);
+        if (report != null) Files.writeString(report, text, StandardCharsets.UTF_8);
+        if (harness.failed > 0) System.exit(1);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Fälle                                                               */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Zufällige Maschine mit 1‥maxStates Zuständen über {blank, 1, X}: jeder
+     * Eintrag fehlt mit Wahrscheinlichkeit 1/8 (Halt), führt mit 1/(4·states)
+     * nach ACCEPT; Eingabe bis 24 Zeichen, auch mit Blanks.
+     */
+    static Machines.Workload generate(long seed, int maxStates) {
+        Random rnd = new Random(seed);
+        int states = 1 + rnd.nextInt(maxStates);
+        Machines.Spec s = new Machines.Spec();
+        for (int q = 0; q < states; q++) {
+            for (int sym = 0; sym < 3; sym++) {
+                if (rnd.nextInt(8) == 0) continue;
+                int to = rnd.nextInt(4 * states) == 0 ? Machines.ACCEPT : rnd.nextInt(states);
+                s.add(q, sym, to, rnd.nextInt(3), rnd.nextBoolean() ? Machines.L : Machines.R);
+            }
+        }
+        int[] input = new int[rnd.nextInt(25)];
+        for (int i = 0; i < input.length; i++) input[i] = rnd.nextInt(8) == 0 ? Machines.BLANK : 1 + rnd.nextInt(2);
+        return new Machines.Workload("case(" + seed + ")", s, input);
+    }
+
+    /**
+     * Zufällige 2‑Band‑Maschine mit 1‥maxStates Zuständen über {blank, 1, X}
+     * (Verteilung wie {@link #generate}, Bewegungen L/R/S); Eingabe auf Band 1.
+     */
+    static MultiCase generateMultiTape(long seed, int maxStates) {
+        Random rnd = new Random(~seed);
+        int states = 1 + rnd.nextInt(maxStates);
+        int[] moves = {Machines.L, Machines.R, MultiTapeMachine.MOVE_S};
+        List<int[]> rows = new ArrayList<>();
+        for (int q = 0; q < states; q++) {
+            for (int column = 0; column < 9; column++) {
+                if (rnd.nextInt(8) == 0) continue;
+                int to = rnd.nextInt(4 * states) == 0 ? Machines.ACCEPT : rnd.nextInt(states);
+                rows.add(new int[]{q, column % 3, column / 3, to,
+                        rnd.nextInt(3), moves[rnd.nextInt(3)], rnd.nextInt(3), moves[rnd.nextInt(3)]});
+            }
+        }
+        int[] input = new int[rnd.nextInt(17)];
+        for (int i = 0; i < input.length; i++) input[i] = rnd.nextInt(8) == 0 ? Machines.BLANK : 1 + rnd.nextInt(2);
+        return new MultiCase(states - 1, rows, input);
+    }
+
+    /** Die k‑Band‑Maschine in Zustands‑/Symbolnummern des Dialekts. */
+    static MultiTapeMachine toMachine(MultiCase c, Dialect d) {
+        MultiTapeMachine.Builder b = new MultiTapeMachine.Builder(TAPES, d.halting, d.duplicates);
+        for (int[] r : c.rows()) {
+            b.add(new MultiTapeMachine.Transition(Machines.state(d, c.maxState(), r[0]),
+                    new int[]{Machines.symbol(d, r[1]), Machines.symbol(d, r[2])},
+                    Machines.state(d, c.maxState(), r[3]),
+                    new int[]{Machines.symbol(d, r[4]), Machines.symbol(d, r[6])}, new int[]{r[5], r[7]}));
+        }
+        return b.build(d.alphabet(3));
+    }
+
+    /** Prüft einen Fall über alle Dialekte und Engines. */
+    void check(long seed) {
+        checkSingleTape(seed);
+        checkMultiTape(seed);
+    }
+
+    private void checkSingleTape(long seed) {
+        Machines.Workload w = generate(seed, maxStates);
+        Machines.Spec spec  = w.spec();
+        Result reference = null;
+        String origin = null;
+        for (Dialect d : Dialect.values()) {
+            MachineDefinition machine = UnaryParser.parse(UnaryEncoder.encode(spec.transitions(d), d), d);
+            if (machine.table().hash() != spec.toMachine(d).table().hash()) {
+                fail(seed, d + " Parser: Tabelle weicht von der kompilierten Maschine ab");
+                continue;
+            }
+            String input = w.input(d);
+            Result interpreted = null;
+            for (Simulator engine : engines) {
+                Configuration config = Configuration.initial(machine, input);
+                long t0 = System.nanoTime();
+                Outcome outcome = engine.run(machine, config, limits);
+                record(engine.name() + " " + d, config.steps(), System.nanoTime() - t0);
+
+                Result r = normalize(spec, d, config, outcome);
+                String where = d + " " + engine.name();
+                if (reference == null) { reference = r; origin = where; }
+                if (engine instanceof Interpreter) interpreted = r;
+                if (outcome == Outcome.NON_HALTING && engine instanceof CycleDetector) {
+                    if (interpreted != null && interpreted.outcome() != Outcome.LIMIT) {
+                        fail(seed, where + ": NON_HALTING, aber " + interpreted);
+                    }
+                } else if (!matches(reference, r)) {
+                    fail(seed, where + ": " + r + "\n      " + origin + ": " + reference);
+                }
+            }
+        }
+    }
+
+    private void checkMultiTape(long seed) {
+        MultiCase c = generateMultiTape(seed, maxStates);
+        MultiTapeSimulator simulator = new MultiTapeSimulator();
+        MultiResult reference = null;
+        long steps = 0;
+        String origin = null;
+        for (Dialect d : Dialect.values()) {
+            MultiTapeMachine machine = toMachine(c, d);
+            MultiTapeMachine parsed = UnaryParser.parseMultiTape(UnaryEncoder.encode(machine, d), d, false);
+            if (parsed.hash() != machine.hash()) {
+                fail(seed, d + " k‑Band‑Parser: Tabelle weicht von der kompilierten Maschine ab");
+                continue;
+            }
+            char[] chars = new char[c.input().length];
+            for (int i = 0; i < chars.length; i++) chars[i] = machine.alphabet().symbol(Machines.symbol(d, c.input()[i]));
+            MultiTapeConfiguration config = MultiTapeConfiguration.initial(machine, new String(chars));
+            MultiTapeConfiguration start  = config.copy();
+
+            long t0 = System.nanoTime();
+            Outcome outcome = simulator.run(machine, config, limits);
+            record(simulator.name() + " " + d, config.steps(), System.nanoTime() - t0);
+            MultiResult r = normalize(c, d, config, outcome);
+            String where = d + " " + simulator.name();
+            if (reference == null) { reference = r; steps = config.steps(); origin = where; }
+            if (!reference.equals(r) || steps != config.steps()) {
+                fail(seed, where + ": " + r + ", " + config.steps() + " Schritte\n      " + origin + ": " + reference + ", " + steps + " Schritte");
+            }
+            if (!outcome.halted() || config.steps() > CONVERT_STEPS) continue;
+
+            MultiTapeConverter converter = MultiTapeConverter.convert(machine);
+            Configuration single = converter.encode(start);
+            t0 = System.nanoTime();
+            Outcome o = new Interpreter().run(converter.machine(), single, RunLimits.steps(CONVERT_BUDGET));
+            record("converted " + d, single.steps(), System.nanoTime() - t0);
+            MultiResult back = normalize(c, d, converter.decode(single), o);
+            converted++;
+            if (!back.equals(r)) fail(seed, d + " Ein‑Band‑Übersetzung: " + back + "\n      " + where + ": " + r);
+        }
+    }
+
+    private void record(String key, long steps, long nanos) {
+        Throughput t = throughput.computeIfAbsent(key, k -> new Throughput());
+        t.runs++;
+        t.steps += steps;
+        t.nanos += nanos;
+    }
+
+    private static boolean matches(Result expected, Result actual) {
+        return expected.outcome() == actual.outcome() && expected.state() == actual.state()
+                && expected.head() == actual.head() && expected.steps() == actual.steps()
+                && expected.first() == actual.first() && expected.tape().equals(actual.tape());
+    }
+
+    private void fail(long seed, String message) {
+        failed++;
+        if (failures.size() < SHOWN) failures.add("seed " + seed + ", " + message);
+    }
+
+    /** Rückübersetzung in abstrakte Zustände und Symbole ('0' blank, '1', '2' = X; sonst '?'). */
+    static Result normalize(Machines.Spec spec, Dialect d, Configuration config, Outcome outcome) {
+        int state = config.state(), abstractState = Integer.MIN_VALUE;
+        if (state == spec.state(d, Machines.ACCEPT)) abstractState = Machines.ACCEPT;
+        for (int q = 0; q <= spec.maxState() && abstractState == Integer.MIN_VALUE; q++) {
+            if (spec.state(d, q) == state) abstractState = q;
+        }
+        char[] glyph = new char[config.alphabet().size()];
+        java.util.Arrays.fill(glyph, '?');
+        for (int s = Machines.BLANK; s <= Machines.AUX; s++) glyph[Machines.symbol(d, s)] = (char) ('0' + s);
+
+        Tape tape = config.tape();
+        int lo = Math.min(tape.low(), config.head()), hi = Math.max(tape.high(), config.head());
+        int blank = tape.blank();
+        while (lo <= hi && tape.read(lo) == blank) lo++;
+        while (hi >= lo && tape.read(hi) == blank) hi--;
+        StringBuilder sb = new StringBuilder();
+        for (long p = lo; p <= hi; p++) {
+            int sym = tape.read((int) p);
+            sb.append(sym < glyph.length ? glyph[sym] : '?');
+        }
+        return new Result(outcome, abstractState, config.head(), config.steps(), lo <= hi ? lo : 0, sb.toString());
+    }
+
+    /** Wie {@link #normalize(Machines.Spec, Dialect, Configuration, Outcome)} für k Bänder. */
+    static MultiResult normalize(MultiCase c, Dialect d, MultiTapeConfiguration config, Outcome outcome) {
+        int state = config.state(), abstractState = Integer.MIN_VALUE;
+        if (state == Machines.state(d, c.maxState(), Machines.ACCEPT)) abstractState = Machines.ACCEPT;
+        for (int q = 0; q <= c.maxState() && abstractState == Integer.MIN_VALUE; q++) {
+            if (Machines.state(d, c.maxState(), q) == state) abstractState = q;
+        }
+        char[] glyph = new char[config.alphabet().size()];
+        java.util.Arrays.fill(glyph, '?');
+        for (int s = Machines.BLANK; s <= Machines.AUX; s++) glyph[Machines.symbol(d, s)] = (char) ('0' + s);
+
+        MultiTape tape = config.tape();
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < tape.tapes(); t++) {
+            int lo = tape.low(), hi = tape.high();
+            while (lo <= hi && tape.read(t, lo) == tape.blank()) lo++;
+            while (hi >= lo && tape.read(t, hi) == tape.blank()) hi--;
+            sb.append(t == 0 ? "" : " | ").append('@').append(lo <= hi ? lo : 0).append(':');
+            for (long p = lo; p <= hi; p++) {
+                int sym = tape.read(t, (int) p);
+                sb.append(sym < glyph.length ? glyph[sym] : '?');
+            }
+        }
+        return new MultiResult(outcome, abstractState, java.util.Arrays.toString(config.heads()), sb.toString());
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Bericht                                                             */
+    /* ------------------------------------------------------------------ */
+
+    String report(int cases) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Differenzieller Vergleich: %d Fälle × %d Dialekte × %d Engines, %d Abweichungen%n",
+                cases, Dialect.values().length, engines.size(), failed));
+        sb.append(String.format("k‑Band: %d Fälle × %d Dialekte, %d Läufe gegen die Ein‑Band‑Übersetzung geprüft%n",
+                cases, Dialect.values().length, converted));
+        for (String f : failures) sb.append("  ").append(f).append('\n');
+        if (failed > failures.size()) sb.append("  … ").append(failed - failures.size()).append(" weitere\n");
+        sb.append(String.format("%n%-24s %8s %14s %10s %10s%n", "engine", "runs", "steps", "ms", "Msteps/s"));
+        for (Map.Entry<String, Throughput> e : throughput.entrySet()) {
+            Throughput t = e.getValue();
+            sb.append(String.format("%-24s %8d %14d %10.1f %10.1f%n", e.getKey(), t.runs, t.steps,
+                    t.nanos / 1e6, t.steps / Math.max(1e-3, t.nanos / 1e3)));
+        }
+        return sb.toString();
+    }
+
+    /** {@link TableOptimizer} vor dem {@link Interpreter}; Zustand als Originalname zurück. */
+    private static final class Optimized implements Simulator {
+        private final Interpreter interpreter = new Interpreter();
+
+        @Override
+        public String name() { return "optimized"; }
+
+        @Override
+        public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+            TableOptimizer.Result opt = TableOptimizer.optimize(machine);
+            Outcome outcome = interpreter.run(opt.machine(), opt.enter(config), limits);
+            config.update(opt.name(config.state()), config.head(), config.steps());
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emulator als langlebiger Dienst (HTTP auf localhost)
+ * ====================================================
+ * Eine JVM für viele Läufe: Übersetzte Maschinen bleiben im
+ * {@link MachineCache}, die Engines bleiben vom JIT übersetzt – kurze Läufe
+ * zahlen weder JVM‑Start noch Aufwärmen.
+ *
+ * ▸ Jobs laufen auf einem festen Pool ({@code --workers}) mit begrenzter
+ *   Warteschlange ({@code --queue}); ist sie voll, antwortet der Dienst mit
+ *   503 und {@code Retry-After} statt Jobs anzuhäufen (Gegendruck).
+ * ▸ HTTP‑Anfragen selbst laufen auf virtuellen Threads – auch viele
+ *   wartende Abfragen (long poll, Ereignisstrom) blockieren keinen Worker.
+ * ▸ Der Interpreter rechnet in Scheiben zu {@link #SLICE} Schritten und
+ *   veröffentlicht danach den Zwischenstand; andere Engines (macro, cycles)
+ *   laufen am Stück und melden erst das Ergebnis.
+ * ▸ Beendete Jobs (höchstens {@link #RETAIN}) behalten nur ihren Endstand
+ *   ({@code Snapshot}); Band und Maschine werden mit dem Ende freigegeben.
+ * ▸ Gebunden wird nur an die Loopback‑Adresse.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # API
+ * ────────────────────────────────────────────────────────────────────────────
+ * POST   /jobs?dialect=LECTURE&input=…&unary=n&engine=…&max-steps=…&max-cells=…&timeout=s
+ *        Rumpf = Kodierung (unär oder {@link BinaryFormat}); bei LECTURE wie input.txt (Kodierung 111 Eingabe),
+ *        sonst Eingabe über input (dezimal wie im jeweiligen Emulator) bzw.
+ *        unary=n (1ⁿ).             → 202 {"id":…}, 400 bei Fehlern, 500 bei E/A‑Fehlern,
+ *                                     503 bei Überlast
+ * GET    /jobs                      → Liste aller bekannten Jobs
+ * GET    /jobs/{id}[?wait=s]        → Status; mit wait bis zu s Sekunden auf das Ende warten
+ * GET    /jobs/{id}/events          → Status als Strom (eine JSON‑Zeile je Änderung, bis zum Ende)
+ * DELETE /jobs/{id}                 → abbrechen (wartend oder laufend)
+ *
+ * Status: {"id","status":QUEUED|RUNNING|DONE|FAILED,"outcome","state","head","steps","window","millis"}
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java EmulatorServer [--port N] [--workers N] [--queue N] [--cache verzeichnis | --no-cache]
+ */
+public final class EmulatorServer {
+    static final int SLICE            = 1 << 22;         // Schritte zwischen zwei Zwischenständen
+    private static final int PORT     = 8421;
+    private static final int QUEUE    = 64;
+    private static final int RETAIN   = 1024;            // beendete Jobs, die abfragbar bleiben
+    private static final int WINDOW   = 15;
+    private static final long HEARTBEAT_MS = 1_000;      // Ereignisstrom: spätestens dann eine Zeile
+
+    private final MachineCache cache;
+    private final ThreadPoolExecutor workers;
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+    private HttpServer http;
+
+    public EmulatorServer(MachineCache cache, int workers, int queue) {
+        this.cache   = cache;
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Startet den HTTP‑Dienst auf 127.0.0.1:port (0 = freier Port); liefert den Port. */
+    public int start(int port) throws IOException {
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        http.createContext("/jobs", this::handle);
+        http.start();
+        return http.getAddress().getPort();
+    }
+
+    /** Bricht alle Jobs ab und beendet den Dienst. */
+    public void stop() {
+        jobs.values().forEach(j -> j.cancel.set(true));
+        workers.shutdownNow();
+        if (http != null) http.stop(0);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Jobs                                                                */
+    /* ------------------------------------------------------------------ */
+
+    private enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    /** Zwischen‑ bzw. Endstand eines Jobs (unveränderlich, wird als Ganzes ersetzt). */
+    private record Snapshot(Status status, Outcome outcome, int state, int head, long steps, String window,
+                            String error) { }
+
+    private final class Job implements Runnable {
+        final long id = ids.incrementAndGet();
+        private MachineDefinition machine;                // bis finish(), danach null (Band freigeben)
+        private Configuration config;
+        final Simulator engine;
+        final RunLimits limits;
+        final AtomicBoolean cancel = new AtomicBoolean();
+        final long created = System.nanoTime();
+        volatile long ended;
+        volatile Future<?> future;
+        private Snapshot snapshot;
+        private long version;
+
+        Job(MachineDefinition machine, Configuration config, Simulator engine, RunLimits limits) {
+            this.machine = machine;
+            this.config  = config;
+            this.engine  = engine;
+            this.limits  = limits.withCancel(cancel);
+            this.snapshot = snapshot(Status.QUEUED, null, null);
+        }
+
+        @Override
+        public void run() {
+            if (cancel.get()) { finish(Outcome.CANCELLED, null); return; }
+            publish(snapshot(Status.RUNNING, null, null));
+            try {
+                finish(engine instanceof Interpreter
+                        ? Simulator.runSliced(engine, machine, config, limits, SLICE, () -> publish(snapshot(Status.RUNNING, null, null)))
+                        : engine.run(machine, config, limits), null);
+            } catch (RuntimeException | OutOfMemoryError e) {
+                finish(null, e.toString());
+            }
+        }
+
+        private void finish(Outcome outcome, String error) {
+            ended = System.nanoTime();
+            publish(snapshot(error == null ? Status.DONE : Status.FAILED, outcome, error));
+            machine = null;
+            config  = null;
+            finished.add(id);
+            while (finished.size() > RETAIN) {
+                Long old = finished.poll();
+                if (old != null) jobs.remove(old);
+            }
+        }
+
+        private Snapshot snapshot(Status status, Outcome outcome, String error) {
+            return new Snapshot(status, outcome, config.state(), config.head(), config.steps(),
+                    config.window(WINDOW), error);
+        }
+
+        synchronized void publish(Snapshot s) {
+            snapshot = s;
+            version++;
+            notifyAll();
+        }
+
+        synchronized Snapshot snapshot() { return snapshot; }
+
+        /** Wartet bis zu millis auf einen Stand nach seen; liefert die aktuelle Version. */
+        synchronized long await(long seen, long millis) throws InterruptedException {
+            long until = System.currentTimeMillis() + millis;
+            for (long left = millis; version == seen && left > 0; left = until - System.currentTimeMillis()) wait(left);
+            return version;
+        }
+
+        synchronized long version() { return version; }
+
+        String json() {
+            Snapshot s = snapshot();
+            return "{\"id\":" + id + ",\"status\":\"" + s.status() + "\",\"outcome\":"
+                    + (s.outcome() == null ? "null" : "\"" + s.outcome() + "\"")
+                    + ",\"state\":" + s.state() + ",\"head\":" + s.head() + ",\"steps\":" + s.steps()
+                    + ",\"window\":" + quote(s.window())
+                    + ",\"millis\":" + ((ended != 0 ? ended : System.nanoTime()) - created) / 1_000_000
+                    + (s.error() == null ? "" : ",\"error\":" + quote(s.error())) + "}";
+        }
+
+        boolean done() {
+            Status s = snapshot().status();
+            return s == Status.DONE || s == Status.FAILED;
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* HTTP                                                                */
+    /* ------------------------------------------------------------------ */
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            String[] path = ex.getRequestURI().getPath().split("/");     // "", "jobs", id, "events"
+            Map<String, String> q = query(ex.getRequestURI().getRawQuery());
+            String method = ex.getRequestMethod();
+            try {
+                if (path.length == 2 && method.equals("POST")) {
+                    submit(ex, q);
+                } else if (path.length == 2 && method.equals("GET")) {
+                    List<String> all = new ArrayList<>();
+                    for (Job j : jobs.values()) all.add(j.json());
+                    send(ex, 200, "[" + String.join(",\n", all) + "]");
+                } else if (path.length >= 3) {
+                    Job job = jobs.get(Long.parseLong(path[2]));
+                    if (job == null) { send(ex, 404, error("Job " + path[2] + " unbekannt")); return; }
+                    if (path.length == 4 && path[3].equals("events") && method.equals("GET")) {
+                        stream(ex, job);
+                    } else if (path.length == 3 && method.equals("GET")) {
+                        String wait = q.get("wait");
+                        if (wait != null) {
+                            long until = System.currentTimeMillis() + (long) (Double.parseDouble(wait) * 1000);
+                            for (long v = job.version(); !job.done() && System.currentTimeMillis() < until; ) {
+                                v = job.await(v, until - System.currentTimeMillis());
+                            }
+                        }
+                        send(ex, 200, job.json());
+                    } else if (path.length == 3 && method.equals("DELETE")) {
+                        job.cancel.set(true);
+                        Future<?> f = job.future;
+                        if (f != null && f.cancel(false)) job.finish(Outcome.CANCELLED, null);   // noch wartend
+                        send(ex, 200, job.json());
+                    } else {
+                        send(ex, 405, error("Methode " + method + " nicht erlaubt"));
+                    }
+                } else {
+                    send(ex, 405, error("Methode " + method + " nicht erlaubt"));
+                }
+            } catch (IllegalArgumentException e) {                       // auch NumberFormatException
+                send(ex, 400, error(e.getMessage()));
+            } catch (UncheckedIOException e) {                           // z. B. Cache‑Verzeichnis
+                send(ex, 500, error("E/A‑Fehler: " + e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(ex, 503, error("Dienst wird beendet"));
+            }
+        }
+    }
+
+    /** POST /jobs: Maschine übersetzen (bzw. aus dem Cache), Eingabe laden, einreihen. */
+    private void submit(HttpExchange ex, Map<String, String> q) throws IOException {
+        Dialect dialect = Dialect.valueOf(q.getOrDefault("dialect", Dialect.LECTURE.name()).toUpperCase());
+        ByteBuffer body;
+        try {
+            body = ByteBuffer.wrap(ex.getRequestBody().readAllBytes());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Rumpf konnte nicht gelesen werden: " + e.getMessage());
+        }
+
+        MachineDefinition machine;
+        Configuration config;
+        String input = q.get("input"), unary = q.get("unary");
+        if (dialect == Dialect.LECTURE && input == null && unary == null) {
+            MachineCache.Program p = cache.program(body, dialect);
+            if (!p.inputFollows()) throw new IllegalArgumentException("Kein '111'‑Separator gefunden.");
+            machine = p.machine();
+            input   = p.input().strip();
+        } else {
+            machine = cache.machine(body, dialect, dialect == Dialect.AUFGABE1);
+        }
+        if (unary != null) {
+            config = TapeInput.unary(machine, '1', Long.parseLong(unary));
+        } else {
+            ByteBuffer chars = ByteBuffer.wrap((input == null ? "" : input).getBytes(StandardCharsets.ISO_8859_1));
+            boolean decimal = dialect != Dialect.TQUAD && TapeInput.isDecimal(chars, dialect == Dialect.LECTURE);
+            config = decimal ? TapeInput.decimal(machine, chars) : TapeInput.raw(machine, chars);
+        }
+
+        List<String> opts = new ArrayList<>();
+        for (String o : List.of("max-steps", "max-cells", "timeout")) {
+            if (q.containsKey(o)) opts.addAll(List.of("--" + o, q.get(o)));
+        }
+        RunLimits limits = RunLimits.fromArgs(opts);
+        String name = q.getOrDefault("engine", "interpreter");
+        Simulator engine = name.equals("cycles") ? new CycleDetector() : Simulator.named(name);
+
+        Job job = new Job(machine, config, engine, limits);
+        jobs.put(job.id, job);
+        try {
+            job.future = workers.submit(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            ex.getResponseHeaders().set("Retry-After", "1");
+            send(ex, 503, error("Warteschlange voll (" + workers.getQueue().size() + " Jobs), später erneut versuchen"));
+            return;
+        }
+        ex.getResponseHeaders().set("Location", "/jobs/" + job.id);
+        send(ex, 202, "{\"id\":" + job.id + "}");
+    }
+
+    /** GET /jobs/{id}/events: je Änderung (spätestens je Sekunde) eine JSON‑Zeile, bis zum Ende. */
+    private void stream(HttpExchange ex, Job job) throws IOException, InterruptedException {
+        ex.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        ex.sendResponseHeaders(200, 0);                                   // chunked
+        OutputStream out = ex.getResponseBody();
+        long seen = -1;
+        while (true) {
+            boolean done = job.done();
+            out.write((job.json() + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (done) return;
+            seen = job.await(seen < 0 ? job.version() : seen, HEARTBEAT_MS);
+        }
+    }
+
+    private static void send(HttpExchange ex, int code, String json) throws IOException {
+        byte[] b = (json + "\n").getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(code, b.length);
+        ex.getResponseBody().write(b);
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> q = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return q;
+        for (String part : raw.split("&")) {
+            int eq = part.indexOf('=');
+            String k = eq < 0 ? part : part.substring(0, eq), v = eq < 0 ? "" : part.substring(eq + 1);
+            q.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+        }
+        return q;
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(String.valueOf(message)) + "}";
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* CLI                                                                */
+    /* ------------------------------------------------------------------ */
+
+    public static void main(String[] args) throws IOException {
+        int port = PORT, workers = Runtime.getRuntime().availableProcessors(), queue = QUEUE;
+        MachineCache cache = MachineCache.standard();
+        List<String> opts = Arrays.asList(args);
+        try {
+            for (int i = 0; i < opts.size(); i++) {
+                switch (opts.get(i)) {
+                    case "--port"     -> port = Integer.parseInt(opts.get(++i));
+                    case "--workers"  -> workers = Integer.parseInt(opts.get(++i));
+                    case "--queue"    -> queue = Integer.parseInt(opts.get(++i));
+                    case "--cache"    -> cache = new MachineCache(Path.of(opts.get(++i)));
+                    case "--no-cache" -> cache = MachineCache.memoryOnly();
+                    default -> throw new IllegalArgumentException("Unbekannte Option: " + opts.get(i));
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Usage: java EmulatorServer [--port N] [--workers N] [--queue N] [--cache verzeichnis | --no-cache]");
+            return;
+        }
+        EmulatorServer server = new EmulatorServer(cache, workers, queue);
+        int bound = server.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.err.printf("Emulator‑Server auf http://127.0.0.1:%d/jobs (%d Worker, Warteschlange %d)%n", bound, workers, queue);
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Start‑/Akzeptanzkonvention einer Maschine.
+ *
+ * @param startState   Zustand zu Beginn (q0 bzw. q1 je nach Vorlesungsteil)
+ * @param acceptState  akzeptierender Zustand
+ * @param haltOnAccept {@code true}: Lauf endet sofort bei Erreichen von
+ *                     acceptState; {@code false}: Lauf endet erst, wenn kein
+ *                     Übergang mehr existiert (Akzeptanz = Endzustand)
+ */
+public record HaltingSemantics(int startState, int acceptState, boolean haltOnAccept) {
+
+    /** Ergebnis eines gehaltenen Laufs im Zustand q. */
+    public Outcome outcome(int state) {
+        return state == acceptState ? Outcome.ACCEPTED : Outcome.REJECTED;
+    }
+}
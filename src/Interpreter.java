@@ -0,0 +1,80 @@
+/**
+ * Referenz‑Engine: tabellengesteuerte Einzelschritt‑Schleife.
+ *
+ * Pro Schritt ein Bandzugriff, ein Tabellenzugriff, ein Schreibzugriff –
+ * ohne Allokation. Alle anderen Engines werden gegen diese geprüft.
+ */
+public final class Interpreter implements Simulator {
+
+    @Override
+    public String name() { return "interpreter"; }
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        Tape tape   = config.tape();
+        int symbols = delta.symbols();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+
+        int  state = config.state();
+        int  head  = config.head();
+        long steps = config.steps();
+        Outcome outcome = null;
+        chunks:
+        while (state != stop) {
+            /* Zellen, Zeit und Abbruch nur alle CHECK_INTERVAL Schritte prüfen */
+            if ((outcome = watch.check(tape.cells())) != null) break;
+            long end = Math.min(max, steps + RunLimits.CHECK_INTERVAL);
+
+            while (true) {
+                int sym = tape.read(head);
+                int tr  = sym < symbols ? delta.get(state, sym) : TransitionTable.NONE;
+                if (tr == TransitionTable.NONE) break chunks; // HALT
+                if (steps >= end) break;                      // Blockende
+
+                tape.write(head, TransitionTable.writeSymbol(tr));
+                head  += TransitionTable.headDelta(tr);
+                state  = TransitionTable.nextState(tr);
+                steps++;
+                if (state == stop) break chunks;              // HALT im Akzeptanzzustand
+            }
+            if (steps >= max) { outcome = Outcome.LIMIT; break; }
+        }
+        config.update(state, head, steps);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    /**
+     * Führt genau einen Schritt aus (Step‑Modus der Front‑Ends).
+     * @return {@code false}, falls die Maschine in dieser Konfiguration hält
+     */
+    public static boolean step(MachineDefinition machine, Configuration config) {
+        int tr = transition(machine, config);
+        if (tr == TransitionTable.NONE) return false;
+
+        config.tape().write(config.head(), TransitionTable.writeSymbol(tr));
+        config.update(TransitionTable.nextState(tr),
+                config.head() + TransitionTable.headDelta(tr),
+                config.steps() + 1);
+        return true;
+    }
+
+    /** {@code true}, falls die Maschine in dieser Konfiguration hält. */
+    public static boolean halted(MachineDefinition machine, Configuration config) {
+        return transition(machine, config) == TransitionTable.NONE;
+    }
+
+    /** Anzuwendender Übergang oder {@link TransitionTable#NONE} (inkl. Halt im Akzeptanzzustand). */
+    private static int transition(MachineDefinition machine, Configuration config) {
+        HaltingSemantics h = machine.halting();
+        int state = config.state();
+        if (h.haltOnAccept() && state == h.acceptState()) return TransitionTable.NONE;
+
+        TransitionTable delta = machine.table();
+        int sym = config.tape().read(config.head());
+        return sym < delta.symbols() ? delta.get(state, sym) : TransitionTable.NONE;
+    }
+}
@@ -0,0 +1,442 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache kompilierter Maschinen
+ * ============================
+ * Große Kodierungen müssen bei jedem Programmstart gelesen, geprüft und
+ * geparst werden, bevor der erste Schritt läuft. Der Cache legt die fertige
+ * {@link MachineDefinition} unter einem 64‑Bit‑Inhaltshash der Kodierung ab:
+ *
+ * ▸ auf der Platte als Binärdatei, die mit einem einzigen mmap geladen wird
+ *   (Tabelle per Bulk‑Kopie, Übergangsliste als Sicht auf die Datei);
+ * ▸ im Prozess als LRU über die zuletzt benutzten Maschinen, begrenzt durch
+ *   deren Speicherbedarf (Batch‑ und Serverbetrieb).
+ *
+ * Für Dateien merkt sich ein Stempel (Pfad, Größe, Änderungszeit, Datei‑ID)
+ * den Schlüssel – eine unveränderte Datei wird beim nächsten Start weder
+ * gelesen noch gehasht. Kodierungen unter {@link #MIN_DISK} Bytes parsen
+ * schneller, als eine Datei zu öffnen, und landen nur im Speicher. Der Cache ist ein reiner
+ * Beschleuniger: Fehlt er, ist er beschädigt oder nicht beschreibbar, wird
+ * wie bisher geparst – Fehlermeldungen sind dieselben. Binärkodierungen
+ * ({@link BinaryFormat}) werden am Cache vorbei direkt gelesen; das ist
+ * schneller als jeder Cache‑Zugriff.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Dateiformat (little endian, Name = Schlüssel hexadezimal + ".tmc")
+ * ────────────────────────────────────────────────────────────────────────────
+ *     "TMMC" | Version | Schlüssel (long) | Kodierungslänge (long)
+ *     | Zustände | Symbole | Blank | n | Start | Akzeptanz | hält sofort | m
+ *     | n × char (auf 4 Byte aufgefüllt) | Zustände·Symbole × Eintrag
+ *     | m × (Zustand, Symbol, Eintrag) | CRC32C über alles davor
+ */
+public final class MachineCache {
+    public static final int MIN_DISK   = 1 << 16;            // kleinere Kodierungen nur im Speicher
+    private static final int MAGIC     = 0x434D4D54;         // "TMMC" (little endian)
+    private static final int VERSION   = 1;
+    private static final int HEADER    = 56;
+    private static final long MEMORY   = 256L << 20;         // Standardgrenze der LRU in Bytes
+    private static final int STAMP     = 0x54534D54;         // "TMST" (little endian)
+    private static final long SETTLED  = 2_000;              // ms seit der letzten Änderung für einen Stempel
+
+    /** Maschine samt Eingabeteil (Dateiformat von {@code UtmEmulator}). */
+    public record Program(MachineDefinition machine, boolean inputFollows, String input) { }
+
+    private record Cached(long length, MachineDefinition machine, long weight) { }
+
+    private final Path dir;                                  // null = nur im Speicher
+    private final long capacity;
+    private final LinkedHashMap<Long, Cached> lru = new LinkedHashMap<>(16, 0.75f, true);
+    private long used;
+
+    public MachineCache(Path dir, long capacity) {
+        this.dir      = dir;
+        this.capacity = capacity;
+    }
+
+    public MachineCache(Path dir) {
+        this(dir, MEMORY);
+    }
+
+    /**
+     * Standard‑Cache: Verzeichnis aus {@code TM_CACHE}, sonst
+     * {@code $XDG_CACHE_HOME/turing-machines} bzw. {@code ~/.cache/turing-machines}.
+     */
+    public static MachineCache standard() {
+        String env = System.getenv("TM_CACHE");
+        if (env != null && !env.isBlank()) return new MachineCache(Path.of(env));
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        Path base = xdg != null && !xdg.isBlank() ? Path.of(xdg) : Path.of(System.getProperty("user.home"), ".cache");
+        return new MachineCache(base.resolve("turing-machines"));
+    }
+
+    /** Nur‑Speicher‑Cache (z. B. {@code --no-cache} oder Serverbetrieb ohne Plattenzugriff). */
+    public static MachineCache memoryOnly() {
+        return new MachineCache(null, MEMORY);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Laden                                                               */
+    /* ------------------------------------------------------------------ */
+
+    /** Maschine aus einer Datei, die nur die Kodierung enthält (eingeblendet, nicht kopiert). */
+    public MachineDefinition machine(Path file, Dialect dialect, boolean lenient) throws IOException {
+        if (BinaryFormat.isBinary(file)) return BinaryFormat.read(file, dialect).machine();
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attrs.size() > Integer.MAX_VALUE) return UnaryParser.parse(file, dialect, lenient);   // > 2 GiB: streamen
+        int mode = lenient ? 1 : 0;
+        Stamp st = stamped(file, attrs, dialect, mode);
+        MachineDefinition m = st == null ? null : lookup(st.key(), st.length());
+        if (m != null) return m;
+        ByteBuffer code = map(file);
+        long key = key(code, dialect, mode);
+        m = machine(code, dialect, lenient, key);
+        stamp(file, attrs, dialect, mode, key, code.remaining(), -1);
+        return m;
+    }
+
+    /** Maschine aus einer Kodierung als Zeichenkette. */
+    public MachineDefinition machine(CharSequence code, Dialect dialect, boolean lenient) {
+        return machine(ByteBuffer.wrap(code.toString().getBytes(StandardCharsets.ISO_8859_1)), dialect, lenient);
+    }
+
+    /** Maschine aus den restlichen Bytes von code. */
+    public MachineDefinition machine(ByteBuffer code, Dialect dialect, boolean lenient) {
+        if (BinaryFormat.isBinary(code)) return BinaryFormat.decode(code, dialect).machine();
+        return machine(code, dialect, lenient, key(code, dialect, lenient ? 1 : 0));
+    }
+
+    private MachineDefinition machine(ByteBuffer code, Dialect dialect, boolean lenient, long key) {
+        MachineDefinition m = lookup(key, code.remaining());
+        if (m != null) return m;
+        m = new UnaryParser(UnaryParser.channel(code), dialect, lenient).machine(false);
+        store(key, code.remaining(), m);
+        return m;
+    }
+
+    /**
+     * Kodierung, Trenner 111 und Eingabe in einer Quelle (führender Leerraum
+     * und eine einzelne '1' werden übersprungen, siehe {@link UnaryParser#skipPrefix}).
+     * Schlüssel ist der Programmteil bis zum ersten 111 – genau dort endet
+     * auch der Parser.
+     */
+    public Program program(ByteBuffer source, Dialect dialect) {
+        return program(source, dialect, null, null);
+    }
+
+    /**
+     * Wie {@link #program(ByteBuffer, Dialect)} für eine Datei (eingeblendet).
+     * Ist die Datei seit dem letzten Lauf unverändert (Stempel), wird weder
+     * die Kodierung gelesen noch gehasht – nur der Eingabeteil.
+     */
+    public Program program(Path file, Dialect dialect) throws IOException {
+        if (BinaryFormat.isBinary(file)) return BinaryFormat.read(file, dialect);
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attrs.size() > Integer.MAX_VALUE) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {    // > 2 GiB: streamen
+                return parse(new UnaryParser(ch, dialect, false));
+            }
+        }
+        Stamp st = stamped(file, attrs, dialect, 2);
+        MachineDefinition m = st == null ? null : lookup(st.key(), st.length());
+        if (m != null) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer rest = ByteBuffer.allocate((int) (attrs.size() - st.offset()));
+                while (rest.hasRemaining() && ch.read(rest, st.offset() + rest.position()) >= 0) { }
+                return new Program(m, true, new String(rest.array(), 0, rest.position(), StandardCharsets.ISO_8859_1));
+            }
+        }
+        return program(map(file), dialect, file, attrs);
+    }
+
+    private Program program(ByteBuffer source, Dialect dialect, Path file, BasicFileAttributes attrs) {
+        if (BinaryFormat.isBinary(source)) return BinaryFormat.decode(source, dialect);
+        int start = source.position(), end = source.limit(), p = start;
+        while (p < end && isSpace(source.get(p))) p++;
+        if (p < end && source.get(p) == '1') p++;
+        int sep = dialect.separator < 3 ? separator(source, p, end) : -1;
+        if (sep < 0) return parse(source, dialect);          // kein Trenner: Parser meldet den Fehler
+
+        ByteBuffer code = source.duplicate().position(p).limit(sep);
+        long key = key(code, dialect, 2);
+        MachineDefinition m = lookup(key, code.remaining());
+        Program result;
+        if (m == null) {
+            result = parse(source, dialect);
+            store(key, code.remaining(), result.machine());
+        } else {
+            byte[] rest = new byte[end - sep - 3];
+            source.get(sep + 3, rest);
+            result = new Program(m, true, new String(rest, StandardCharsets.ISO_8859_1));
+        }
+        if (file != null) stamp(file, attrs, dialect, 2, key, code.remaining(), sep + 3 - start);
+        return result;
+    }
+
+    private static Program parse(ByteBuffer source, Dialect dialect) {
+        return parse(new UnaryParser(UnaryParser.channel(source), dialect, false));
+    }
+
+    private static Program parse(UnaryParser parser) {
+        MachineDefinition m = parser.skipPrefix('1').machine(true);
+        return parser.inputFollows() ? new Program(m, true, parser.remaining()) : new Program(m, false, "");
+    }
+
+    /** Erstes 111 ab from; Sprünge um 3, solange das dritte Zeichen keine '1' ist. */
+    private static int separator(ByteBuffer b, int from, int end) {
+        for (int i = from; i + 2 < end; ) {
+            if (b.get(i + 2) != '1') { i += 3; continue; }
+            if (b.get(i + 1) != '1') { i += 2; continue; }
+            if (b.get(i) != '1')     { i += 1; continue; }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean isSpace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Datei größer als 2 GiB: " + file);
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Schlüssel                                                           */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * 64‑Bit‑Inhaltshash der Kodierung (je 8 Byte multiplizieren, rotieren,
+     * zwei unabhängige Ketten), gemischt mit Dialekt und Lesemodus.
+     */
+    static long key(ByteBuffer code, Dialect dialect, int mode) {
+        ByteBuffer b = code.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int i = b.position(), end = b.limit();
+        long h1 = 0x9E3779B97F4A7C15L ^ dialect.ordinal(), h2 = 0xC2B2AE3D27D4EB4FL ^ mode;
+        for (; i + 16 <= end; i += 16) {
+            h1 = Long.rotateLeft(h1 ^ b.getLong(i)     * 0x87C37B91114253D5L, 31) * 0x4CF5AD432745937FL;
+            h2 = Long.rotateLeft(h2 ^ b.getLong(i + 8) * 0x4CF5AD432745937FL, 33) * 0x87C37B91114253D5L;
+        }
+        for (; i < end; i++) h1 = (h1 ^ b.get(i)) * 0x100000001B3L;
+        return mix(mix(h1 ^ (end - code.position())) + h2);
+    }
+
+    private static long mix(long x) {
+        x = (x ^ x >>> 33) * 0xFF51AFD7ED558CCDL;
+        x = (x ^ x >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return x ^ x >>> 33;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Dateistempel                                                        */
+    /* ------------------------------------------------------------------ */
+
+    /** Inhaltsschlüssel, Länge des Programmteils und Beginn der Eingabe einer Datei. */
+    private record Stamp(long key, long length, long offset) { }
+
+    /**
+     * Stempel einer unveränderten Datei (gleicher Pfad, gleiche Größe,
+     * Änderungszeit und Datei‑ID); {@code null} sonst.
+     */
+    private Stamp stamped(Path file, BasicFileAttributes attrs, Dialect dialect, int mode) {
+        if (dir == null || attrs.size() < MIN_DISK) return null;
+        byte[] id = identity(file, attrs);
+        try {
+            ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(dir.resolve(stampName(id, dialect, mode))))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (b.remaining() != 28 + id.length || b.getInt(0) != STAMP
+                    || !b.slice(28, id.length).equals(ByteBuffer.wrap(id))) return null;
+            return new Stamp(b.getLong(4), b.getLong(12), b.getLong(20));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Legt den Stempel an – nur für Dateien, deren letzte Änderung mindestens
+     * {@link #SETTLED} zurückliegt (feinere Änderungen verrät die Zeit nicht).
+     */
+    private void stamp(Path file, BasicFileAttributes attrs, Dialect dialect, int mode, long key, long length, long offset) {
+        if (dir == null || attrs.size() < MIN_DISK) return;
+        if (System.currentTimeMillis() - attrs.lastModifiedTime().toMillis() < SETTLED) return;
+        byte[] id = identity(file, attrs);
+        ByteBuffer b = ByteBuffer.allocate(28 + id.length).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(STAMP).putLong(key).putLong(length).putLong(offset).put(id);
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "stamp", ".tmp");
+            Files.write(tmp, b.array());
+            move(tmp, dir.resolve(stampName(id, dialect, mode)));
+        } catch (IOException | UncheckedIOException ignored) {
+            // ohne Stempel wird beim nächsten Mal gehasht
+        }
+    }
+
+    private static byte[] identity(Path file, BasicFileAttributes attrs) {
+        return (file.toAbsolutePath().normalize() + "\0" + attrs.size() + "\0"
+                + attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS) + "\0" + attrs.fileKey())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stampName(byte[] id, Dialect dialect, int mode) {
+        String path = new String(id, StandardCharsets.UTF_8);
+        path = path.substring(0, path.indexOf('\0'));       // ein Stempel je Pfad, neuere ersetzen ältere
+        return String.format("%016x.stamp", key(ByteBuffer.wrap(path.getBytes(StandardCharsets.UTF_8)), dialect, mode));
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Speicher (LRU) und Platte                                           */
+    /* ------------------------------------------------------------------ */
+
+    private MachineDefinition lookup(long key, long length) {
+        synchronized (this) {
+            Cached c = lru.get(key);
+            if (c != null && c.length() == length) return c.machine();
+        }
+        if (dir == null || length < MIN_DISK) return null;
+        MachineDefinition m = read(dir.resolve(name(key)), key, length);
+        if (m != null) remember(key, length, m);
+        return m;
+    }
+
+    private void store(long key, long length, MachineDefinition m) {
+        remember(key, length, m);
+        if (dir != null && length >= MIN_DISK) write(dir.resolve(name(key)), key, length, m);
+    }
+
+    private synchronized void remember(long key, long length, MachineDefinition m) {
+        long weight = 4L * m.table().states() * m.table().symbols() + 12L * m.transitions().size() + 256;
+        if (weight > capacity) return;
+        Cached old = lru.put(key, new Cached(length, m, weight));
+        used += weight - (old == null ? 0 : old.weight());
+        for (Iterator<Cached> it = lru.values().iterator(); used > capacity && it.hasNext(); ) {
+            used -= it.next().weight();
+            it.remove();
+        }
+    }
+
+    private static String name(long key) {
+        return String.format("%016x.tmc", key);
+    }
+
+    /** Liest eine Cache‑Datei; {@code null}, falls sie fehlt, nicht passt oder beschädigt ist. */
+    private static MachineDefinition read(Path file, long key, long length) {
+        MappedByteBuffer map;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < HEADER + 4 || ch.size() > Integer.MAX_VALUE) return null;
+            map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        } catch (IOException e) {
+            return null;
+        }
+        ByteBuffer b = map.order(ByteOrder.LITTLE_ENDIAN);
+        int size = b.capacity();
+        if (b.getInt(0) != MAGIC || b.getInt(4) != VERSION || b.getLong(8) != key || b.getLong(16) != length) return null;
+        int states = b.getInt(24), symbols = b.getInt(28), blank = b.getInt(32), n = b.getInt(36);
+        int start = b.getInt(40), accept = b.getInt(44), halt = b.getInt(48), m = b.getInt(52);
+        if (states < 1 || states > TransitionTable.MAX_STATES || symbols < 1 || symbols > TransitionTable.MAX_SYMBOLS
+                || n < symbols || n > TransitionTable.MAX_SYMBOLS || m < 0) return null;
+        long list = HEADER + align(2 * n) + 4L * states * symbols;
+        if (list + 12L * m + 4 != size) return null;
+        CRC32C crc = new CRC32C();
+        crc.update(b.duplicate().position(0).limit(size - 4));
+        if ((int) crc.getValue() != b.getInt(size - 4)) return null;
+
+        char[] alphabet = new char[n];
+        for (int i = 0; i < n; i++) alphabet[i] = b.getChar(HEADER + 2 * i);
+        int[] cells = new int[states * symbols];
+        b.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(HEADER + align(2 * n)).asIntBuffer().get(cells);
+        IntBuffer view = b.duplicate().order(ByteOrder.LITTLE_ENDIAN).position((int) list).limit(size - 4).asIntBuffer();
+        try {
+            return MachineDefinition.restore(new Transitions(view), TransitionTable.of(cells, states, symbols),
+                    new Alphabet(alphabet, blank), new HaltingSemantics(start, accept, halt != 0));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Schreibt atomar (temporäre Datei + Umbenennen); Fehler lassen nur den Cache aus. */
+    private static void write(Path file, long key, long length, MachineDefinition m) {
+        TransitionTable delta = m.table();
+        Alphabet a = m.alphabet();
+        List<MachineDefinition.Transition> ts = m.transitions();
+        int n = a.size(), chars = HEADER + align(2 * n);
+        long size = chars + 4L * delta.states() * delta.symbols() + 12L * ts.size() + 4;
+        if (size > Integer.MAX_VALUE) return;
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), name(key), ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer b = ch.map(FileChannel.MapMode.READ_WRITE, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+                HaltingSemantics h = m.halting();
+                b.putInt(MAGIC).putInt(VERSION).putLong(key).putLong(length)
+                        .putInt(delta.states()).putInt(delta.symbols()).putInt(a.blank()).putInt(n)
+                        .putInt(h.startState()).putInt(h.acceptState()).putInt(h.haltOnAccept() ? 1 : 0).putInt(ts.size());
+                for (char c : a.chars()) b.putChar(c);
+                b.position(chars);
+                b.asIntBuffer().put(delta.cells());
+                b.position(chars + 4 * delta.cells().length);
+                for (MachineDefinition.Transition t : ts) {
+                    b.putInt(t.state()).putInt(t.read()).putInt(TransitionTable.pack(t.next(), t.write(), t.move()));
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(b.duplicate().position(0).limit((int) size - 4));
+                b.putInt((int) crc.getValue());
+            }
+            move(tmp, file);
+        } catch (IOException | UncheckedIOException e) {
+            try { if (tmp != null) Files.deleteIfExists(tmp); } catch (IOException ignored) { }
+        }
+    }
+
+    private static void move(Path tmp, Path file) throws IOException {
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    /** Übergangsliste als Sicht auf die eingeblendete Datei (je 3 ints). */
+    private static final class Transitions extends AbstractList<MachineDefinition.Transition> implements RandomAccess {
+        private final IntBuffer ints;
+
+        Transitions(IntBuffer ints) { this.ints = ints; }
+
+        @Override
+        public MachineDefinition.Transition get(int i) {
+            int e = ints.get(3 * i + 2);
+            return new MachineDefinition.Transition(ints.get(3 * i), ints.get(3 * i + 1),
+                    TransitionTable.nextState(e), TransitionTable.writeSymbol(e), e & 3);
+        }
+
+        @Override
+        public int size() { return ints.limit() / 3; }
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geparste und kompilierte Turing‑Maschine
+ * ========================================
+ * Hält die Übergänge in Kodierungsreihenfolge (für Analysen, die alle
+ * Übergänge brauchen), die daraus kompilierte {@link TransitionTable},
+ * das Bandalphabet und die Haltekonvention. Instanzen sind unveränderlich
+ * und dürfen von beliebig vielen Läufen parallel geteilt werden.
+ */
+public final class MachineDefinition {
+
+    /** Ein Übergang δ(state, read) = (next, write, move); Symbole als Alphabet‑Index. */
+    public record Transition(int state, int read, int next, int write, int move) {}
+
+    /** Auflösung mehrerer Übergänge für dasselbe (q, sym). */
+    public enum Duplicates {
+        /** Erster Übergang in Kodierungsreihenfolge gilt. */
+        FIRST_WINS,
+        /** Späterer Übergang überschreibt früheren. */
+        LAST_WINS
+    }
+
+    private final List<Transition> transitions;
+    private final TransitionTable table;
+    private final Alphabet alphabet;
+    private final HaltingSemantics halting;
+
+    private MachineDefinition(List<Transition> transitions, TransitionTable table,
+                              Alphabet alphabet, HaltingSemantics halting) {
+        this.transitions = transitions;
+        this.table       = table;
+        this.alphabet    = alphabet;
+        this.halting     = halting;
+    }
+
+    public static MachineDefinition compile(List<Transition> transitions, Alphabet alphabet,
+                                            HaltingSemantics halting, Duplicates duplicates) {
+        Builder b = new Builder(alphabet.size(), halting, duplicates);
+        for (Transition t : transitions) b.add(t);
+        return b.build(alphabet);
+    }
+
+    /** Setzt eine bereits kompilierte Maschine zusammen (z. B. aus dem {@link MachineCache}). */
+    static MachineDefinition restore(List<Transition> transitions, TransitionTable table,
+                                     Alphabet alphabet, HaltingSemantics halting) {
+        return new MachineDefinition(transitions, table, alphabet, halting);
+    }
+
+    /**
+     * Nimmt Übergänge einzeln entgegen (z. B. direkt aus dem Parser) und
+     * trägt sie sofort in die Tabelle ein. Taucht ein größerer Symbolindex
+     * auf, wird die Tabelle verbreitert.
+     */
+    public static final class Builder {
+        private final HaltingSemantics halting;
+        private final Duplicates duplicates;
+        private final List<Transition> transitions = new ArrayList<>();
+        private final TransitionTable.Builder table;
+
+        public Builder(int symbols, HaltingSemantics halting, Duplicates duplicates) {
+            this.halting    = halting;
+            this.duplicates = duplicates;
+            this.table      = new TransitionTable.Builder(symbols)
+                    .reserve(halting.startState())
+                    .reserve(halting.acceptState());
+        }
+
+        public Builder add(Transition t) {
+            int need = Math.max(t.read(), t.write()) + 1;
+            if (need > table.symbols()) table.widen(need);
+            if (duplicates == Duplicates.FIRST_WINS) table.putIfAbsent(t.state(), t.read(), t.next(), t.write(), t.move());
+            else                                     table.put(t.state(), t.read(), t.next(), t.write(), t.move());
+            transitions.add(t);
+            return this;
+        }
+
+        /** Bisher benötigte Alphabetgröße. */
+        public int symbols() { return table.symbols(); }
+
+        public MachineDefinition build(Alphabet alphabet) {
+            if (alphabet.size() < table.symbols()) {
+                throw new IllegalArgumentException("Alphabet (" + alphabet.size() + ") kleiner als benutzte Symbole (" + table.symbols() + ")");
+            }
+            table.widen(alphabet.size());
+            return new MachineDefinition(List.copyOf(transitions), table.build(), alphabet, halting);
+        }
+    }
+
+    public List<Transition> transitions() { return transitions; }
+    public TransitionTable table()        { return table; }
+    public Alphabet alphabet()            { return alphabet; }
+    public HaltingSemantics halting()     { return halting; }
+}
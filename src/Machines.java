@@ -0,0 +1,189 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Erzeugte Testmaschinen (Benchmarks, Vergleichsläufe).
+ *
+ * Maschinen werden dialektunabhängig beschrieben: Symbol 0 ist das Blank,
+ * 1 die Markierung '1', 2 ein Hilfssymbol; Zustand 0 ist der Start,
+ * {@link #ACCEPT} der Akzeptanzzustand, alle weiteren werden frei
+ * nummeriert. {@link Spec#toMachine(Dialect)} bildet das auf die Zustands‑
+ * und Symbolnummern des jeweiligen Dialekts ab.
+ */
+public final class Machines {
+    /** Abstrakter Akzeptanzzustand (ohne ausgehende Übergänge). */
+    public static final int ACCEPT = -1;
+
+    public static final int BLANK = 0, MARK = 1, AUX = 2;
+    public static final int L = TransitionTable.MOVE_L, R = TransitionTable.MOVE_R;
+
+    private Machines() {}
+
+    /** Maschine + Eingabe (abstrakte Symbole) unter einem Namen. */
+    public record Workload(String name, Spec spec, int[] input) {
+
+        /** Eingabe als Zeichenkette im Alphabet des Dialekts. */
+        public String input(Dialect dialect) {
+            char[] chars = new char[input.length];
+            Alphabet a = spec.toMachine(dialect).alphabet();
+            for (int i = 0; i < input.length; i++) chars[i] = a.symbol(symbol(dialect, input[i]));
+            return new String(chars);
+        }
+    }
+
+    /** Abstrakte Übergangsliste. */
+    public static final class Spec {
+        private final List<int[]> rows = new ArrayList<>();
+
+        public Spec add(int from, int read, int to, int write, int move) {
+            rows.add(new int[]{from, read, to, write, move});
+            return this;
+        }
+
+        public int size() { return rows.size(); }
+
+        /** Übergänge in Zustands‑/Symbolnummern des Dialekts. */
+        public List<MachineDefinition.Transition> transitions(Dialect dialect) {
+            int[] states = stateMap(dialect, maxState());
+            List<MachineDefinition.Transition> list = new ArrayList<>(rows.size());
+            for (int[] r : rows) {
+                list.add(new MachineDefinition.Transition(Machines.state(states, dialect, r[0]), symbol(dialect, r[1]),
+                        Machines.state(states, dialect, r[2]), symbol(dialect, r[3]), r[4]));
+            }
+            return list;
+        }
+
+        /** Größte abstrakte Zustandsnummer (ohne {@link #ACCEPT}). */
+        public int maxState() {
+            int max = 0;
+            for (int[] r : rows) max = Math.max(max, Math.max(r[0], r[2]));
+            return max;
+        }
+
+        /** Zustandsnummer des Dialekts zum abstrakten Zustand q (auch {@link #ACCEPT}). */
+        public int state(Dialect dialect, int q) {
+            return Machines.state(dialect, maxState(), q);
+        }
+
+        /** Kompakte Binärkodierung im Dialekt ({@link BinaryFormat}, ohne Eingabe). */
+        public byte[] binary(Dialect dialect) {
+            return BinaryFormat.encode(transitions(dialect), dialect, null);
+        }
+
+        public MachineDefinition toMachine(Dialect dialect) {
+            return MachineDefinition.compile(transitions(dialect), dialect.alphabet(3), dialect.halting, dialect.duplicates);
+        }
+    }
+
+    /* –– Abbildung abstrakt → Dialekt –– */
+
+    private static int[] stateMap(Dialect dialect, int maxState) {
+        HaltingSemantics h = dialect.halting;
+        int[] map = new int[maxState + 1];
+        map[0] = h.startState();
+        int next = 1;                      // q0 nur, wenn es der Startzustand ist
+        for (int q = 1; q <= maxState; q++) {
+            while (next == h.startState() || next == h.acceptState()) next++;
+            map[q] = next++;
+        }
+        return map;
+    }
+
+    private static int state(int[] map, Dialect dialect, int q) {
+        return q == ACCEPT ? dialect.halting.acceptState() : map[q];
+    }
+
+    /** Zustandsnummer des Dialekts zu q für Maschinen mit abstrakten Zuständen 0‥maxState. */
+    static int state(Dialect dialect, int maxState, int q) {
+        return state(stateMap(dialect, maxState), dialect, q);
+    }
+
+    static int symbol(Dialect dialect, int s) {
+        Alphabet a = dialect.alphabet(3);
+        int blank = a.blank(), mark = a.indexOf('1');
+        if (s == BLANK) return blank;
+        if (s == MARK)  return mark;
+        int idx = 0;                       // Hilfssymbole: freie Indizes in Reihenfolge
+        for (int k = AUX; ; idx++) {
+            if (idx == blank || idx == mark) continue;
+            if (k++ == s) return idx;
+        }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Workloads                                                           */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Tquad aus {@code UniversalTMEmulator}: markiert die Einsen der unären
+     * Eingabe 1ⁿ einzeln mit X und läuft dazwischen jeweils ganz nach rechts
+     * und zurück – Θ(n²) Schritte.
+     */
+    public static Workload tquad(int n) {
+        Spec s = new Spec()
+                .add(0, MARK, 1, AUX, R).add(0, AUX, 0, AUX, R).add(0, BLANK, ACCEPT, BLANK, R)
+                .add(1, MARK, 1, MARK, R).add(1, AUX, 1, AUX, R).add(1, BLANK, 2, BLANK, L)
+                .add(2, MARK, 2, MARK, L).add(2, AUX, 2, AUX, L).add(2, BLANK, 3, BLANK, R)
+                .add(3, MARK, 1, AUX, R).add(3, AUX, 3, AUX, R).add(3, BLANK, ACCEPT, BLANK, R);
+        int[] input = new int[n];
+        java.util.Arrays.fill(input, MARK);
+        return new Workload("tquad(" + n + ")", s, input);
+    }
+
+    /** 5‑Zustands‑Busy‑Beaver‑Champion (Marxen/Buntrock): 47 176 870 Schritte. */
+    public static Workload busyBeaver5() {
+        final int A = 0, B = 1, C = 2, D = 3, E = 4;
+        Spec s = new Spec()
+                .add(A, BLANK, B, MARK, R).add(A, MARK, C, MARK, L)
+                .add(B, BLANK, C, MARK, R).add(B, MARK, B, MARK, R)
+                .add(C, BLANK, D, MARK, R).add(C, MARK, E, BLANK, L)
+                .add(D, BLANK, A, MARK, L).add(D, MARK, D, MARK, L)
+                .add(E, BLANK, ACCEPT, MARK, R).add(E, MARK, A, BLANK, L);
+        return new Workload("bb5", s, new int[0]);
+    }
+
+    /** 4‑Zustands‑Busy‑Beaver: 107 Schritte (für schnelle Vergleichsläufe). */
+    public static Workload busyBeaver4() {
+        final int A = 0, B = 1, C = 2, D = 3;
+        Spec s = new Spec()
+                .add(A, BLANK, B, MARK, R).add(A, MARK, B, MARK, L)
+                .add(B, BLANK, A, MARK, L).add(B, MARK, C, BLANK, L)
+                .add(C, BLANK, ACCEPT, MARK, R).add(C, MARK, D, MARK, L)
+                .add(D, BLANK, D, MARK, R).add(D, MARK, A, BLANK, R);
+        return new Workload("bb4", s, new int[0]);
+    }
+
+    /**
+     * Binärzähler auf k Stellen (AUX = 0, MARK = 1): zählt von 0 bis 2ᵏ − 1
+     * und hält beim Überlauf – ca. 4 · 2ᵏ Schritte bei konstantem Band.
+     */
+    public static Workload counter(int k) {
+        final int RIGHT = 0, INC = 1, BACK = 2;
+        Spec s = new Spec()
+                .add(RIGHT, AUX, RIGHT, AUX, R).add(RIGHT, MARK, RIGHT, MARK, R).add(RIGHT, BLANK, INC, BLANK, L)
+                .add(INC, MARK, INC, AUX, L).add(INC, AUX, BACK, MARK, R).add(INC, BLANK, ACCEPT, BLANK, R)
+                .add(BACK, AUX, BACK, AUX, R).add(BACK, MARK, BACK, MARK, R).add(BACK, BLANK, INC, BLANK, L);
+        int[] input = new int[k];
+        java.util.Arrays.fill(input, AUX);
+        return new Workload("counter(" + k + ")", s, input);
+    }
+
+    /**
+     * Zufällige Maschine mit vollständig belegter Tabelle über {blank, 1, X}.
+     * Jeder Übergang führt mit Wahrscheinlichkeit 1/(4·states) nach ACCEPT.
+     */
+    public static Workload random(int states, long seed) {
+        Random rnd = new Random(seed);
+        Spec s = new Spec();
+        for (int q = 0; q < states; q++) {
+            for (int sym = 0; sym < 3; sym++) {
+                int to = rnd.nextInt(4 * states) == 0 ? ACCEPT : rnd.nextInt(states);
+                s.add(q, sym, to, rnd.nextInt(3), rnd.nextBoolean() ? L : R);
+            }
+        }
+        int[] input = new int[rnd.nextInt(16)];
+        for (int i = 0; i < input.length; i++) input[i] = 1 + rnd.nextInt(2);
+        return new Workload("random(" + states + "," + seed + ")", s, input);
+    }
+}
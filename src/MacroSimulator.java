@@ -0,0 +1,151 @@
+import java.util.Arrays;
+
+/**
+ * Makroschritt‑Engine mit lauflängenkodiertem Band
+ * =================================================
+ * Nach der Idee von Marxen & Buntrock wird das Band als Folge von Blöcken
+ * (Symbol, Länge) gehalten – zwei Stapel links und rechts des Kopfes, der
+ * oberste Block liegt jeweils direkt neben dem Kopf:
+ *
+ *     … (s₂,n₂)(s₁,n₁)  [cur]  (t₁,m₁)(t₂,m₂) …
+ *          links        Kopf        rechts
+ *
+ * Beschleunigt werden Sweeps: Ist δ(q, cur) = (q, w, R) und der rechte
+ * Block besteht ebenfalls aus cur, so liest die Maschine n₁ + 1 Mal dasselbe
+ * Symbol im selben Zustand und wendet jedes Mal denselben Übergang an. Das
+ * wird in einem Makroschritt erledigt: (w, m₁ + 1) kommt auf den linken
+ * Stapel, der Schrittzähler wächst um m₁ + 1. Analog für L.
+ *
+ * Zustand, Kopf, Schrittzähler und Band stimmen nach dem Lauf exakt mit dem
+ * {@link Interpreter} überein – auch bei Schrittgrenzen, an denen ein Sweep
+ * notfalls mitten im Block abgebrochen wird. Maschinen ohne Sweeps laufen mit Einzel‑
+ * schritten auf den Stapeln (langsamer als der Interpreter, aber korrekt).
+ *
+ * Jeder run()‑Aufruf wandelt das Band von tape.low() bis tape.high() in
+ * Blöcke und am Ende zurück, kostet also O(Bandumfang) zusätzlich. Bei
+ * Läufen in Scheiben ({@link RunLimits#slices}, z. B. mit Checkpoint oder
+ * Metriken) fällt das je Scheibe an; bei sehr breiten Bändern und kurzen
+ * Scheiben ist der {@link Interpreter} dann die bessere Wahl. Als Zellgrenze
+ * zählt der Blockumfang, siehe {@link RunLimits}.
+ */
+public final class MacroSimulator implements Simulator {
+
+    @Override
+    public String name() { return "macro"; }
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        Tape tape   = config.tape();
+        int symbols = delta.symbols();
+        int blank   = tape.blank();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+
+        int  state = config.state();
+        int  head  = config.head();
+        long steps = config.steps();
+
+        /* Band → Blöcke */
+        Blocks left  = new Blocks(blank);
+        Blocks right = new Blocks(blank);
+        for (int p = tape.low(); p < head; p++) left.push(tape.read(p), 1);
+        for (int p = tape.high(); p > head; p--) right.push(tape.read(p), 1);
+        int cur = tape.read(head);
+
+        Outcome outcome = null;
+        int untilCheck = 0;
+        while (state != stop) {
+            int tr = cur < symbols ? delta.get(state, cur) : TransitionTable.NONE;
+            if (tr == TransitionTable.NONE) break; // HALT
+            if (steps >= max) { outcome = Outcome.LIMIT; break; }
+            if (--untilCheck < 0) {                   // alle CHECK_INTERVAL Makroschritte
+                if ((outcome = watch.check(left.cells + right.cells + 1)) != null) break;
+                untilCheck = RunLimits.CHECK_INTERVAL;
+            }
+
+            int next  = TransitionTable.nextState(tr);
+            int write = TransitionTable.writeSymbol(tr);
+            boolean toRight = TransitionTable.headDelta(tr) > 0;
+            Blocks behind = toRight ? left  : right;
+            Blocks ahead  = toRight ? right : left;
+
+            long n = 1;
+            if (next == state && ahead.topSymbol() == cur) {
+                n += ahead.take(max - steps - 1);                              // Sweep
+            }
+            behind.push(write, n);
+            cur = ahead.popCell();
+
+            head  += toRight ? (int) n : (int) -n;
+            state  = next;
+            steps += n;
+        }
+
+        /* Blöcke → Band (alle je besuchten Zellen liegen in den Stapeln) */
+        tape.write(head, cur);
+        left.writeTo(tape, head - 1, -1);
+        right.writeTo(tape, head + 1, +1);
+
+        config.update(state, head, steps);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    /**
+     * Blockstapel einer Bandhälfte. Ein leerer Stapel steht für unendlich
+     * viele Blanks; benachbarte Blöcke mit gleichem Symbol werden verschmolzen.
+     */
+    private static final class Blocks {
+        private final int blank;
+        private int[]  sym = new int[64];
+        private long[] len = new long[64];
+        private int size;
+        long cells;    // Summe aller Blocklängen
+
+        Blocks(int blank) { this.blank = blank; }
+
+        /** Symbol des obersten Blocks, −1 falls leer. */
+        int topSymbol() { return size == 0 ? -1 : sym[size - 1]; }
+
+        void push(int s, long n) {
+            cells += n;
+            if (size > 0 && sym[size - 1] == s) { len[size - 1] += n; return; }
+            if (size == sym.length) {
+                sym = Arrays.copyOf(sym, size * 2);
+                len = Arrays.copyOf(len, size * 2);
+            }
+            sym[size] = s;
+            len[size] = n;
+            size++;
+        }
+
+        /** Entfernt bis zu max Zellen des obersten Blocks und liefert ihre Anzahl. */
+        long take(long max) {
+            long n = Math.min(len[size - 1], max);
+            if ((len[size - 1] -= n) == 0) size--;
+            cells -= n;
+            return n;
+        }
+
+        /** Nimmt eine Zelle vom Stapel (Blank, falls leer). */
+        int popCell() {
+            if (size == 0) return blank;
+            int s = sym[size - 1];
+            if (--len[size - 1] == 0) size--;
+            cells--;
+            return s;
+        }
+
+        /** Schreibt den Stapel ab Position from in Richtung dir auf das Band. */
+        void writeTo(Tape tape, int from, int dir) {
+            long p = from;
+            for (int i = size - 1; i >= 0; i--) {
+                long end = p + dir * (len[i] - 1);
+                tape.fill((int) Math.min(p, end), (int) Math.max(p, end), sym[i]);
+                p = end + dir;
+            }
+        }
+    }
+}
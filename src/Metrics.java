@@ -0,0 +1,194 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.function.IntUnaryOperator;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Laufzeitmetriken eines langen Laufs
+ * ===================================
+ * Die Engine rechnet in Scheiben zu {@link #SLICE} Schritten (wie
+ * {@link Checkpoint} und {@link EmulatorServer}); zwischen zwei Scheiben
+ * nimmt {@link #sample} den Stand auf und veröffentlicht ihn als
+ * unveränderlichen Datensatz. Die heiße Schleife selbst bleibt unberührt,
+ * Leser (JMX, HTTP) sehen nie eine halb aktualisierte Konfiguration.
+ *
+ * ▸ Schritte und Schritte/s (gemittelt über mindestens {@link #RATE_NANOS})
+ * ▸ Zustand (Originalname), Kopf, belegter Bandbereich, Bandzellen
+ * ▸ Bandausschnitt ±15, inkrementell über {@link TapeWindow}
+ * ▸ belegter Heap
+ * ▸ Checkpoint‑Rückstand: Schritte und Sekunden seit dem letzten
+ *   vollständig geschriebenen Record (−1 ohne Checkpoint)
+ *
+ * Veröffentlicht als MBean {@value #OBJECT_NAME} ({@link #register}) und als
+ * Klartext unter http://127.0.0.1:port/metrics ({@link #serve}), eine Zeile
+ * »name wert« je Metrik.
+ */
+public final class Metrics implements MetricsMBean, AutoCloseable {
+    static final int SLICE                = 1 << 20;        // Schritte zwischen zwei Stichproben
+    static final String OBJECT_NAME       = "TuringMachineEmulator:type=Run";
+    private static final int WINDOW       = 15;
+    private static final long RATE_NANOS  = 1_000_000_000L;
+
+    /** Ein Stand zwischen zwei Scheiben (unveränderlich, wird als Ganzes ersetzt). */
+    private record Sample(long nanos, long steps, int state, int head, long low, long high, long cells,
+                          String window, double rate) { }
+
+    private final long started = System.nanoTime();
+    private final IntUnaryOperator names;
+    private final TapeWindow window = new TapeWindow(WINDOW);   // nur vom laufenden Thread
+    private volatile Sample sample;
+    private Sample base;                                         // Bezug für Schritte/s
+    private volatile long durableSteps = -1;
+    private volatile long durableNanos;
+    private HttpServer http;
+    private ObjectName registered;
+
+    /** names übersetzt Zustände für die Anzeige (optimierte Maschine → Originalnamen). */
+    public Metrics(Configuration config, IntUnaryOperator names) {
+        this.names = names;
+        sample(config);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Erfassen (laufender Thread)                                         */
+    /* ------------------------------------------------------------------ */
+
+    /** Nimmt den Stand von config auf; nur vom Thread, der den Lauf rechnet. */
+    public void sample(Configuration config) {
+        long now = System.nanoTime();
+        Sample last = sample;
+        double rate = last == null ? 0 : last.rate();
+        if (base == null) {
+            base = new Sample(now, config.steps(), 0, 0, 0, 0, 0, null, 0);
+        } else if (now - base.nanos() >= RATE_NANOS) {
+            rate = (config.steps() - base.steps()) * 1e9 / (now - base.nanos());
+            base = new Sample(now, config.steps(), 0, 0, 0, 0, 0, null, 0);
+        }
+        window.update(config);
+        Tape tape = config.tape();
+        sample = new Sample(now, config.steps(), names.applyAsInt(config.state()), config.head(),
+                tape.low(), tape.high(), tape.cells(), window.render(), rate);
+    }
+
+    /** Ein Checkpoint‑Record bis Schritt steps liegt vollständig auf der Platte (Schreib‑Thread). */
+    void checkpointed(long steps) {
+        durableNanos = System.nanoTime();
+        durableSteps = steps;
+    }
+
+    /**
+     * Führt config mit engine in Scheiben aus und nimmt nach jeder Scheibe
+     * eine Stichprobe. Grenzen und Gesamt‑Timeout gelten für den ganzen Lauf
+     * ({@link RunLimits#slices}).
+     */
+    public Outcome run(Simulator engine, MachineDefinition machine, Configuration config, RunLimits limits) {
+        Outcome o = Simulator.runSliced(engine, machine, config, limits, SLICE, () -> sample(config));
+        sample(config);
+        return o;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Lesen (beliebige Threads)                                           */
+    /* ------------------------------------------------------------------ */
+
+    @Override public long getSteps()            { return sample.steps(); }
+    @Override public double getStepsPerSecond() { return sample.rate(); }
+    @Override public int getState()             { return sample.state(); }
+    @Override public int getHead()              { return sample.head(); }
+    @Override public long getTapeLow()          { return sample.low(); }
+    @Override public long getTapeHigh()         { return sample.high(); }
+    @Override public long getTapeCells()        { return sample.cells(); }
+    @Override public String getWindow()         { return sample.window(); }
+    @Override public double getUptimeSeconds()  { return (System.nanoTime() - started) / 1e9; }
+
+    @Override
+    public long getUsedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    @Override
+    public long getCheckpointLagSteps() {
+        long durable = durableSteps;
+        return durable < 0 ? -1 : sample.steps() - durable;
+    }
+
+    @Override
+    public double getCheckpointLagSeconds() {
+        return durableSteps < 0 ? -1 : (System.nanoTime() - durableNanos) / 1e9;
+    }
+
+    /** Alle Metriken als Klartext, eine Zeile »name wert« je Metrik. */
+    public String text() {
+        Sample s = sample;
+        return "steps "                  + s.steps()                   + "\n"
+             + "steps_per_second "       + Math.round(s.rate())        + "\n"
+             + "state "                  + s.state()                   + "\n"
+             + "head "                   + s.head()                    + "\n"
+             + "tape_low "               + s.low()                     + "\n"
+             + "tape_high "              + s.high()                    + "\n"
+             + "tape_cells "             + s.cells()                   + "\n"
+             + "memory_used_bytes "      + getUsedMemory()             + "\n"
+             + "checkpoint_lag_steps "   + getCheckpointLagSteps()     + "\n"
+             + String.format("checkpoint_lag_seconds %.3f%n", getCheckpointLagSeconds())
+             + String.format("uptime_seconds %.3f%n", getUptimeSeconds())
+             + "window "                 + s.window()                  + "\n";
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Veröffentlichen                                                     */
+    /* ------------------------------------------------------------------ */
+
+    /** Meldet die Metriken als MBean {@value #OBJECT_NAME} an (ersetzt eine ältere Anmeldung). */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) server.unregisterMBean(name);
+        server.registerMBean(this, name);
+        registered = name;
+    }
+
+    /** Startet GET /metrics auf 127.0.0.1:port (0 = freier Port); liefert den Port. */
+    public int serve(int port) throws IOException {
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        http.createContext("/metrics", this::handle);
+        http.start();
+        return http.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            if (!ex.getRequestMethod().equals("GET")) {
+                ex.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] b = text().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            ex.sendResponseHeaders(200, b.length);
+            ex.getResponseBody().write(b);
+        }
+    }
+
+    /** Beendet den HTTP‑Dienst und meldet das MBean ab. */
+    @Override
+    public void close() {
+        if (http != null) http.stop(0);
+        if (registered != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(registered);
+            } catch (JMException ignored) {
+                // bereits abgemeldet
+            }
+        }
+    }
+}
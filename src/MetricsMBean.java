@@ -0,0 +1,15 @@
+/** JMX‑Sicht auf {@link Metrics} (Standard‑MBean, Attribute = Getter). */
+public interface MetricsMBean {
+    long getSteps();
+    double getStepsPerSecond();
+    int getState();
+    int getHead();
+    long getTapeLow();
+    long getTapeHigh();
+    long getTapeCells();
+    String getWindow();
+    long getUsedMemory();
+    long getCheckpointLagSteps();
+    double getCheckpointLagSeconds();
+    double getUptimeSeconds();
+}
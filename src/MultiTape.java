@@ -0,0 +1,110 @@
+import java.util.Arrays;
+
+/**
+ * k Bänder in einem Array
+ * =======================
+ * Die Zellen aller k Bänder an derselben Position liegen direkt
+ * nebeneinander (Spuren verschränkt):
+ *
+ *     cells[(pos + origin) · k + t]  ↔  Band t, Zelle pos
+ *
+ * Köpfe von k‑Band‑Algorithmen laufen meist im Gleichschritt oder nahe
+ * beieinander (Kopieren, Vergleichen, Zählen); die k Lesezugriffe eines
+ * Schritts treffen dann dieselbe Cache‑Zeile statt k verschiedener Arrays.
+ * Wie {@link ByteTape} ein Byte pro Zelle, Blank außerhalb des belegten
+ * Bereichs ohne Allokation, Wachstum durch Verdopplung zur betroffenen
+ * Seite – für alle Bänder gemeinsam.
+ */
+public final class MultiTape {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_CAPACITY     = Integer.MAX_VALUE - 8;
+
+    private final int tapes;
+    private final byte blank;
+    private byte[] cells;
+    private int size;                   // Positionen = cells.length / tapes
+    private int origin;                 // in Positionen, nicht Bytes
+
+    public MultiTape(int tapes, int blank) {
+        if (tapes < 1) throw new IllegalArgumentException("Mindestens ein Band erforderlich");
+        this.tapes = tapes;
+        this.blank = (byte) blank;
+        this.cells = new byte[INITIAL_CAPACITY * tapes];
+        this.size  = INITIAL_CAPACITY;
+        if (blank != 0) Arrays.fill(cells, this.blank);
+    }
+
+    public int tapes() { return tapes; }
+    public int blank() { return blank & 0xFF; }
+
+    /** Symbolindex von Band t an Position pos. */
+    public int read(int t, int pos) {
+        int i = pos + origin;
+        return i >= 0 && i < size ? cells[i * tapes + t] & 0xFF : blank & 0xFF;
+    }
+
+    public void write(int t, int pos, int sym) {
+        int i = pos + origin;
+        if (i < 0 || i >= size) i = grow(pos) + origin;
+        cells[i * tapes + t] = (byte) sym;
+    }
+
+    /**
+     * Σ read(t, heads[t]) · weights[t] – der Zeilenversatz eines Schritts in
+     * der {@link MultiTapeMachine}‑Tabelle; −1, falls ein Symbol ≥ symbols ist.
+     */
+    int index(int[] heads, int[] weights, int symbols) {
+        int idx = 0;
+        for (int t = 0; t < tapes; t++) {
+            int i = heads[t] + origin;
+            int s = i >= 0 && i < size ? cells[i * tapes + t] & 0xFF : blank & 0xFF;
+            if (s >= symbols) return -1;
+            idx += s * weights[t];
+        }
+        return idx;
+    }
+
+    /** Kleinste bzw. größte Position, für die Speicher reserviert ist. */
+    public int low()  { return -origin; }
+    public int high() { return size - origin - 1; }
+
+    /** Anzahl reservierter Zellen (über alle Bänder). */
+    public long cells() { return cells.length; }
+
+    public MultiTape copy() {
+        MultiTape t = new MultiTape(tapes, blank);
+        t.cells  = cells.clone();
+        t.size   = size;
+        t.origin = origin;
+        return t;
+    }
+
+    /** Band t an den Zellen [from, to] über das Alphabet. */
+    public String render(int t, int from, int to, Alphabet alphabet) {
+        StringBuilder sb = new StringBuilder(Math.max(0, to - from + 1));
+        for (long p = from; p <= to; p++) sb.append(alphabet.symbol(read(t, (int) p)));
+        return sb.toString();
+    }
+
+    /** Wie {@link ByteTape}: neuer Platz vollständig auf der Seite, auf der pos herausfiel. */
+    private int grow(int pos) {
+        int n = size, i = pos + origin;
+        long need = i < 0 ? (long) n - i : (long) i + 1;
+        long cap  = Math.max(need, 2L * n);
+        if (cap * tapes > MAX_CAPACITY) {
+            if (need * tapes > MAX_CAPACITY) throw new IllegalStateException("Bandlänge überschreitet " + MAX_CAPACITY / tapes + " Zellen");
+            cap = MAX_CAPACITY / tapes;
+        }
+        byte[] next = new byte[(int) cap * tapes];
+        int shift = i < 0 ? (int) cap - n : 0;
+        if (blank != 0) {
+            Arrays.fill(next, 0, shift * tapes, blank);
+            Arrays.fill(next, (shift + n) * tapes, next.length, blank);
+        }
+        System.arraycopy(cells, 0, next, shift * tapes, cells.length);
+        cells   = next;
+        size    = (int) cap;
+        origin += shift;
+        return pos;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Momentaufnahme eines k‑Band‑Laufs: Zustand, k Köpfe, Schrittzähler, Bänder.
+ * Gegenstück zur {@link Configuration} für {@link MultiTapeSimulator}.
+ */
+public final class MultiTapeConfiguration {
+    private final MultiTape tape;
+    private final Alphabet alphabet;
+    private final int[] heads;
+    private int state;
+    private long steps;
+
+    public MultiTapeConfiguration(MultiTape tape, Alphabet alphabet, int state, int[] heads, long steps) {
+        if (heads.length != tape.tapes()) throw new IllegalArgumentException(heads.length + " Köpfe für " + tape.tapes() + " Bänder");
+        this.tape     = tape;
+        this.alphabet = alphabet;
+        this.state    = state;
+        this.heads    = heads.clone();
+        this.steps    = steps;
+    }
+
+    /**
+     * Startkonfiguration: Eingabe auf Band 1 ab Zelle 0, alle übrigen Bänder
+     * leer, alle Köpfe auf 0. Unbekannte Eingabezeichen erweitern das
+     * Anzeige‑Alphabet (die Maschine hält beim Lesen).
+     */
+    public static MultiTapeConfiguration initial(MultiTapeMachine machine, CharSequence input) {
+        Alphabet alphabet = machine.alphabet();
+        MultiTape tape = new MultiTape(machine.tapes(), alphabet.blank());
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            int idx = alphabet.indexOf(c);
+            if (idx < 0) {
+                alphabet = alphabet.with(c);
+                idx = alphabet.size() - 1;
+            }
+            tape.write(0, i, idx);
+        }
+        return new MultiTapeConfiguration(tape, alphabet, machine.halting().startState(), new int[machine.tapes()], 0);
+    }
+
+    public MultiTape tape()    { return tape; }
+    public Alphabet alphabet() { return alphabet; }
+    public int state()         { return state; }
+    public long steps()        { return steps; }
+
+    /** Kopfposition auf Band t. */
+    public int head(int t)     { return heads[t]; }
+
+    /** Kopfpositionen (Kopie). */
+    public int[] heads()       { return heads.clone(); }
+
+    public void update(int state, int[] heads, long steps) {
+        this.state = state;
+        System.arraycopy(heads, 0, this.heads, 0, this.heads.length);
+        this.steps = steps;
+    }
+
+    public MultiTapeConfiguration copy() {
+        return new MultiTapeConfiguration(tape.copy(), alphabet, state, heads, steps);
+    }
+
+    /** Ausschnitt von Band t um dessen Kopf ± radius. */
+    public String window(int t, int radius) {
+        return tape.render(t, heads[t] - radius, heads[t] + radius, alphabet);
+    }
+}
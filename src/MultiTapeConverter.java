@@ -0,0 +1,245 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Übersetzung k Bänder → ein Band
+ * ===============================
+ * Klassische Spurkonstruktion: Jede Zelle des einen Bandes trägt ein Tupel
+ * aus k Spuren, jede Spur ein Symbol der k‑Band‑Maschine plus eine Marke
+ * „Kopf t steht hier“. Spurwert v = sym + symbols · Marke, Zellsymbol
+ * Σ vₜ · (2·symbols)ᵗ – das Alphabet hat (2·symbols)ᵏ ≤ 256 Zeichen, Blank
+ * ist das Tupel aus lauter Blanks ohne Marken.
+ *
+ * Ein Schritt der k‑Band‑Maschine wird zu:
+ *
+ * ▸ COLLECT(q, gesehen)  – ab dem linkesten Kopf nach rechts, Symbole unter
+ *                          den Marken einsammeln, bis alle k bekannt sind;
+ *                          ohne Übergang → HALT(q)
+ * ▸ SCAN(q, a, offen)    – nach links zurück; an jeder markierten Zelle den
+ *                          offenen Kopf schreiben und bewegen: Marke über
+ *                          einen Abstecher (MARK) in die Nachbarzelle setzen,
+ *                          zurück auf dieselbe Zelle (S per BOUNCE)
+ * ▸ FIND(q')             – ein Feld nach links; der neue linkeste Kopf liegt
+ *                          dort oder weiter rechts, COLLECT(q', ∅) sucht ihn
+ *
+ * Zustände werden ab dem Start (und für jedes q ab COLLECT(q, ∅)) per
+ * Breitensuche erzeugt, nur erreichbare landen in der Tabelle. Gehalten wird
+ * in HALT(q); HALT(Akzeptanz) ist der Akzeptanzzustand der Übersetzung.
+ *
+ * Die Übersetzung ist langsam (Θ(Spannweite) Schritte je k‑Band‑Schritt) und
+ * dient dem Gegenprüfen: gleiche Bänder, Köpfe, Endzustand und Ergebnis wie
+ * der {@link MultiTapeSimulator}. Schrittzahlen sind nicht vergleichbar.
+ */
+public final class MultiTapeConverter {
+    private static final int COLLECT = 0, BOUNCE = 1, SCAN = 2, MARK = 3, FIND = 4, HALT = 5;
+
+    private final MultiTapeMachine source;
+    private final int tapes, symbols, base, composites;
+    private final int[] pow;                                    // (2·symbols)ᵗ
+    private final int blank;                                    // Blank der Übersetzung
+    private final Map<Key, Integer> ids = new HashMap<>();
+    private final List<Key> keys = new ArrayList<>();
+    private MachineDefinition machine;
+
+    private record Key(int kind, int... args) {
+        @Override public boolean equals(Object o) { return o instanceof Key k && kind == k.kind && Arrays.equals(args, k.args); }
+        @Override public int hashCode()           { return 31 * kind + Arrays.hashCode(args); }
+    }
+
+    private MultiTapeConverter(MultiTapeMachine source) {
+        this.source  = source;
+        this.tapes   = source.tapes();
+        this.symbols = source.symbols();
+        this.base    = 2 * symbols;
+        long n = 1;
+        this.pow = new int[tapes];
+        for (int t = 0; t < tapes; t++, n *= base) {
+            if (n * base > TransitionTable.MAX_SYMBOLS) {
+                throw new IllegalArgumentException("Spuralphabet (2·" + symbols + ")^" + tapes + " übersteigt "
+                        + TransitionTable.MAX_SYMBOLS + " Symbole");
+            }
+            pow[t] = (int) n;
+        }
+        this.composites = (int) n;
+        int b = 0;
+        for (int t = 0; t < tapes; t++) b += source.alphabet().blank() * pow[t];
+        this.blank = b;
+    }
+
+    public static MultiTapeConverter convert(MultiTapeMachine source) {
+        MultiTapeConverter c = new MultiTapeConverter(source);
+        c.build();
+        return c;
+    }
+
+    /** Die Ein‑Band‑Maschine. */
+    public MachineDefinition machine() { return machine; }
+
+    /* ------------------------------------------------------------------ */
+    /* Zustände                                                            */
+    /* ------------------------------------------------------------------ */
+
+    private void build() {
+        HaltingSemantics h = source.halting();
+        int start  = boundary(h.startState());
+        int accept = id(new Key(HALT, h.acceptState()));
+        for (int q = 0; q < source.states(); q++) boundary(q);
+
+        List<MachineDefinition.Transition> transitions = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Key k = keys.get(i);
+            if (k.kind == HALT) continue;
+            for (int c = 0; c < composites; c++) {
+                int[] r = step(k, c);
+                transitions.add(new MachineDefinition.Transition(i, c, r[0], r[1], r[2]));
+            }
+        }
+        char[] chars = new char[composites];
+        for (int c = 0; c < composites; c++) chars[c] = c == blank ? source.alphabet().symbol(source.alphabet().blank()) : (char) (0x100 + c);
+        machine = MachineDefinition.compile(transitions, new Alphabet(chars, blank),
+                new HaltingSemantics(start, accept, h.haltOnAccept()), MachineDefinition.Duplicates.FIRST_WINS);
+    }
+
+    /** Zustand zu Beginn eines Schritts in q (Kopf auf oder links vom linkesten Kopf). */
+    private int boundary(int q) {
+        HaltingSemantics h = source.halting();
+        if (h.haltOnAccept() && q == h.acceptState()) return id(new Key(HALT, q));
+        int[] seen = new int[tapes];
+        Arrays.fill(seen, -1);
+        return id(new Key(COLLECT, concat(q, seen)));
+    }
+
+    private int id(Key k) {
+        Integer id = ids.get(k);
+        if (id != null) return id;
+        if (keys.size() >= TransitionTable.MAX_STATES) throw new IllegalArgumentException("Übersetzung zu groß");
+        ids.put(k, keys.size());
+        keys.add(k);
+        return keys.size() - 1;
+    }
+
+    /** Übergang aus Zustand k beim Lesen von c: {Folgezustand, Schreibsymbol, Bewegung}. */
+    private int[] step(Key k, int c) {
+        int L = TransitionTable.MOVE_L, R = TransitionTable.MOVE_R;
+        int[] a = k.args;
+        switch (k.kind) {
+            case COLLECT -> {
+                int q = a[0];
+                int[] seen = Arrays.copyOfRange(a, 1, 1 + tapes);
+                boolean complete = true;
+                for (int t = 0; t < tapes; t++) {
+                    int v = track(c, t);
+                    if (seen[t] < 0 && v >= symbols) seen[t] = v - symbols;
+                    complete &= seen[t] >= 0;
+                }
+                if (!complete) return new int[]{ id(new Key(COLLECT, concat(q, seen))), c, R };
+                int column = 0;
+                for (int t = 0; t < tapes; t++) column += seen[t] * source.weights()[t];
+                if (source.cells()[source.entry(q, column)] == 0) return new int[]{ id(new Key(HALT, q)), c, R };
+                int scan = id(new Key(SCAN, q, column, (1 << tapes) - 1));
+                return new int[]{ id(new Key(BOUNCE, L, scan)), c, R };
+            }
+            case SCAN -> {
+                int q = a[0], column = a[1], open = a[2];
+                int t = 0;
+                while (t < tapes && ((open >>> t & 1) == 0 || track(c, t) < symbols)) t++;
+                if (t == tapes) return new int[]{ id(k), c, L };
+                int e = source.entry(q, column), next = source.cells()[e] - 1, op = source.cells()[e + 1 + t];
+                int write = op >>> 2, move = op & 3, rest = open & ~(1 << t);
+                HaltingSemantics h = source.halting();
+                int after = rest != 0 ? id(new Key(SCAN, q, column, rest))
+                          : h.haltOnAccept() && next == h.acceptState() ? id(new Key(HALT, next))
+                          : id(new Key(FIND, next));
+                if (move == MultiTapeMachine.MOVE_S) return new int[]{ id(new Key(BOUNCE, L, after)), with(c, t, write + symbols), R };
+                int back = move == L ? R : L;
+                return new int[]{ id(new Key(MARK, t, back, after)), with(c, t, write), move };
+            }
+            case MARK -> {
+                int t = a[0], v = track(c, t);
+                return new int[]{ a[2], with(c, t, v % symbols + symbols), a[1] };
+            }
+            case FIND   -> { return new int[]{ boundary(a[0]), c, L }; }
+            case BOUNCE -> { return new int[]{ a[1], c, a[0] }; }
+            default     -> throw new IllegalStateException("HALT hat keine Übergänge");
+        }
+    }
+
+    private int track(int c, int t)          { return c / pow[t] % base; }
+    private int with(int c, int t, int v)    { return c + (v - track(c, t)) * pow[t]; }
+
+    private static int[] concat(int head, int[] rest) {
+        int[] a = new int[rest.length + 1];
+        a[0] = head;
+        System.arraycopy(rest, 0, a, 1, rest.length);
+        return a;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Konfigurationen                                                     */
+    /* ------------------------------------------------------------------ */
+
+    /** Ein‑Band‑Konfiguration zu einer k‑Band‑Konfiguration am Schrittanfang. */
+    public Configuration encode(MultiTapeConfiguration config) {
+        MultiTape mt = config.tape();
+        int lo = mt.low(), hi = mt.high(), left = Integer.MAX_VALUE;
+        for (int t = 0; t < tapes; t++) {
+            lo = Math.min(lo, config.head(t));
+            hi = Math.max(hi, config.head(t));
+            left = Math.min(left, config.head(t));
+        }
+        Alphabet alphabet = machine.alphabet();
+        Tape tape = Tape.create(alphabet);
+        for (long p = lo; p <= hi; p++) {
+            int c = 0;
+            for (int t = 0; t < tapes; t++) {
+                int sym = mt.read(t, (int) p);
+                if (sym >= symbols) throw new IllegalArgumentException("Symbol '" + config.alphabet().symbol(sym) + "' nicht im Alphabet der Maschine");
+                c += (sym + (config.head(t) == p ? symbols : 0)) * pow[t];
+            }
+            if (c != blank) tape.write((int) p, c);
+        }
+        return new Configuration(tape, alphabet, boundary(config.state()), left, 0);
+    }
+
+    /**
+     * k‑Band‑Konfiguration zu einer angehaltenen (oder am Schrittanfang
+     * stehenden) Ein‑Band‑Konfiguration; Schrittzähler 0.
+     */
+    public MultiTapeConfiguration decode(Configuration config) {
+        Tape tape = config.tape();
+        MultiTape mt = new MultiTape(tapes, source.alphabet().blank());
+        int[] heads = new int[tapes];
+        for (long p = tape.low(); p <= tape.high(); p++) {
+            int c = tape.read((int) p);
+            if (c == blank) continue;
+            for (int t = 0; t < tapes; t++) {
+                int v = track(c, t);
+                if (v % symbols != source.alphabet().blank()) mt.write(t, (int) p, v % symbols);
+                if (v >= symbols) heads[t] = (int) p;
+            }
+        }
+        return new MultiTapeConfiguration(mt, source.alphabet(), state(config.state()), heads, 0);
+    }
+
+    /** Simulierter Zustand q zu HALT(q) bzw. COLLECT(q, ∅); −1 mitten in einem Schritt. */
+    public int state(int converted) {
+        Key k = keys.get(converted);
+        if (k.kind == HALT) return k.args[0];
+        if (k.kind == COLLECT && boundary(k.args[0]) == converted) return k.args[0];
+        return -1;
+    }
+
+    /** Gleicher Zustand, gleiche Köpfe und gleiche Bänder (Schrittzähler zählt nicht). */
+    public boolean matches(MultiTapeConfiguration a, MultiTapeConfiguration b) {
+        if (a.state() != b.state()) return false;
+        int lo = Math.min(a.tape().low(), b.tape().low()), hi = Math.max(a.tape().high(), b.tape().high());
+        for (int t = 0; t < tapes; t++) {
+            if (a.head(t) != b.head(t)) return false;
+            for (long p = lo; p <= hi; p++) if (a.tape().read(t, (int) p) != b.tape().read(t, (int) p)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * k‑Band‑Turing‑Maschine
+ * ======================
+ * Übergänge lesen und schreiben auf k Bändern gleichzeitig, jeder Kopf
+ * bewegt sich unabhängig nach L, R oder bleibt stehen (S):
+ *
+ *     δ(q, a₁…aₖ) = (q', b₁…bₖ, d₁…dₖ)
+ *
+ * Kompiliert wie die {@link TransitionTable} in eine dichte Tabelle, eine
+ * Zeile je Zustand und eine Spalte je Symboltupel; jeder Eintrag belegt
+ * k + 1 {@code int}s:
+ *
+ *     cells[e]          = q' + 1             (0 = kein Übergang → HALT)
+ *     cells[e + 1 + t]  = bₜ << 2 | dₜ        (1 = L, 2 = R, 3 = S)
+ *     e = (q · symbolsᵏ + Σ aₜ · symbolsᵗ) · (k + 1)
+ *
+ * Ein Schritt liest damit k Bandzellen ({@link MultiTape#index}) und genau
+ * einen zusammenhängenden Tabellenabschnitt. Kodierung siehe
+ * {@link UnaryParser#multiTape()}, Ausführung {@link MultiTapeSimulator},
+ * Rückführung auf ein Band {@link MultiTapeConverter}.
+ */
+public final class MultiTapeMachine {
+    public static final int MOVE_S    = 3;
+    public static final int MAX_TAPES = 8;
+
+    /** Ein Übergang über k Bänder; Symbole als Alphabet‑Index. */
+    public record Transition(int state, int[] read, int next, int[] write, int[] move) {}
+
+    private final int tapes;
+    private final List<Transition> transitions;
+    private final int[] cells;
+    private final int[] weights;        // symbolsᵗ
+    private final int states, symbols, row;
+    private final Alphabet alphabet;
+    private final HaltingSemantics halting;
+
+    private MultiTapeMachine(int tapes, List<Transition> transitions, int[] cells, int states, int symbols,
+                             Alphabet alphabet, HaltingSemantics halting) {
+        this.tapes       = tapes;
+        this.transitions = transitions;
+        this.cells       = cells;
+        this.states      = states;
+        this.symbols     = symbols;
+        this.alphabet    = alphabet;
+        this.halting     = halting;
+        this.weights     = new int[tapes];
+        int w = 1;
+        for (int t = 0; t < tapes; t++, w *= symbols) weights[t] = w;
+        this.row = w;
+    }
+
+    public int tapes()                    { return tapes; }
+    public List<Transition> transitions() { return transitions; }
+    public int states()                   { return states; }
+    public int symbols()                  { return symbols; }
+    public Alphabet alphabet()            { return alphabet; }
+    public HaltingSemantics halting()     { return halting; }
+
+    /* –– Tabelle (Engines) –– */
+
+    int[] cells()   { return cells; }
+    int[] weights() { return weights; }
+
+    /** Einträge je Zustand (symbolsᵏ). */
+    int row()       { return row; }
+
+    /** Erster Index des Eintrags für (q, Spalte column) in cells(). */
+    int entry(int q, int column) { return (q * row + column) * (tapes + 1); }
+
+    /** Kopfversatz zu einer Bewegung (L −1, R +1, S 0). */
+    static int delta(int move) { return move == TransitionTable.MOVE_L ? -1 : move == TransitionTable.MOVE_R ? 1 : 0; }
+
+    /** 64‑Bit‑Fingerabdruck (FNV‑1a) – erkennt abweichende Maschinen. */
+    public long hash() {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ tapes)   * 0x100000001b3L;
+        h = (h ^ states)  * 0x100000001b3L;
+        h = (h ^ symbols) * 0x100000001b3L;
+        for (int e : cells) h = (h ^ e) * 0x100000001b3L;
+        return h;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Builder                                                            */
+    /* ------------------------------------------------------------------ */
+
+    /** Sammelt Übergänge und kompiliert sie beim {@link #build} in einem Zug. */
+    public static final class Builder {
+        private final int tapes;
+        private final HaltingSemantics halting;
+        private final MachineDefinition.Duplicates duplicates;
+        private final List<Transition> transitions = new ArrayList<>();
+        private int states, symbols;
+
+        public Builder(int tapes, HaltingSemantics halting, MachineDefinition.Duplicates duplicates) {
+            if (tapes < 1 || tapes > MAX_TAPES) {
+                throw new IllegalArgumentException("Bandzahl " + tapes + " nicht unterstützt (1‑" + MAX_TAPES + ")");
+            }
+            this.tapes      = tapes;
+            this.halting    = halting;
+            this.duplicates = duplicates;
+            this.states     = Math.max(halting.startState(), halting.acceptState()) + 1;
+        }
+
+        public Builder add(Transition t) {
+            if (t.read().length != tapes || t.write().length != tapes || t.move().length != tapes) {
+                throw new IllegalArgumentException("Übergang für " + t.read().length + " statt " + tapes + " Bänder");
+            }
+            if (t.state() < 0 || t.next() < 0 || t.state() >= TransitionTable.MAX_STATES || t.next() >= TransitionTable.MAX_STATES) {
+                throw new IllegalArgumentException("Zustand außerhalb des Bereichs (max. " + (TransitionTable.MAX_STATES - 1) + ")");
+            }
+            for (int i = 0; i < tapes; i++) {
+                int m = t.move()[i];
+                if (m != TransitionTable.MOVE_L && m != TransitionTable.MOVE_R && m != MOVE_S) {
+                    throw new IllegalArgumentException("Ungültige Bewegung " + m);
+                }
+                if (t.read()[i] < 0 || t.write()[i] < 0) throw new IllegalArgumentException("Negativer Symbolindex");
+                symbols = Math.max(symbols, Math.max(t.read()[i], t.write()[i]) + 1);
+            }
+            states = Math.max(states, Math.max(t.state(), t.next()) + 1);
+            transitions.add(t);
+            return this;
+        }
+
+        /** Bisher benötigte Alphabetgröße. */
+        public int symbols() { return symbols; }
+
+        public MultiTapeMachine build(Alphabet alphabet) {
+            int s = alphabet.size();
+            if (s < symbols) {
+                throw new IllegalArgumentException("Alphabet (" + s + ") kleiner als benutzte Symbole (" + symbols + ")");
+            }
+            long size = (long) states * (tapes + 1);
+            for (int t = 0; t < tapes; t++) size *= s;
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Übergangstabelle zu groß (" + states + " Zustände × " + s + "^" + tapes + " Symboltupel)");
+            }
+            int[] cells = new int[(int) size];
+            MultiTapeMachine m = new MultiTapeMachine(tapes, List.copyOf(transitions), cells, states, s, alphabet, halting);
+            for (Transition t : transitions) {
+                int column = 0;
+                for (int i = 0; i < tapes; i++) column += t.read()[i] * m.weights[i];
+                int e = m.entry(t.state(), column);
+                if (cells[e] != 0 && duplicates == MachineDefinition.Duplicates.FIRST_WINS) continue;
+                cells[e] = t.next() + 1;
+                for (int i = 0; i < tapes; i++) cells[e + 1 + i] = t.write()[i] << 2 | t.move()[i];
+            }
+            return m;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Engine für k‑Band‑Maschinen
+ * ===========================
+ * Tabellengesteuert wie der {@link Interpreter}: pro Schritt k Bandzellen
+ * lesen ({@link MultiTape#index}, bei Köpfen nahe beieinander eine
+ * Cache‑Zeile), ein Tabellenabschnitt, k Schreibzugriffe. Grenzen,
+ * Zeitlimit und Abbruch wie überall über {@link RunLimits}; die
+ * Zellgrenze zählt die Zellen aller Bänder.
+ *
+ * Beispiel: Tquad markiert jede Eins einzeln und läuft dazwischen ganz nach
+ * rechts und zurück (Θ(n²)); mit zwei Bändern genügt ein Durchlauf.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Aufruf
+ * ────────────────────────────────────────────────────────────────────────────
+ *     java MultiTapeSimulator <kodierung|datei> [eingabe] [--dialect LECTURE|TQUAD|AUFGABE1]
+ *                             [--max-steps N] [--max-cells N] [--timeout s] [--check]
+ *
+ * Aus dem Lecture‑Front‑End: {@code java UtmEmulator --tapes …} (Dialekt LECTURE).
+ * --check rechnet zusätzlich die Ein‑Band‑Übersetzung ({@link MultiTapeConverter})
+ * und vergleicht das Ergebnis.
+ */
+public final class MultiTapeSimulator {
+    private static final int WINDOW = 15;
+
+    public String name() { return "multitape"; }
+
+    public Outcome run(MultiTapeMachine machine, MultiTapeConfiguration config, RunLimits limits) {
+        HaltingSemantics h = machine.halting();
+        MultiTape tape  = config.tape();
+        int[] cells     = machine.cells();
+        int[] weights   = machine.weights();
+        int tapes       = machine.tapes(), symbols = machine.symbols();
+        int row         = machine.row(), stride = tapes + 1;
+        int stop        = h.haltOnAccept() ? h.acceptState() : -1;
+        long max        = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+
+        int[] heads = config.heads();
+        int  state  = config.state();
+        long steps  = config.steps();
+        Outcome outcome = null;
+        chunks:
+        while (state != stop) {
+            if ((outcome = watch.check(tape.cells())) != null) break;
+            long end = Math.min(max, steps + RunLimits.CHECK_INTERVAL);
+
+            while (true) {
+                int column = tape.index(heads, weights, symbols);
+                if (column < 0) break chunks;                         // unbekanntes Symbol → HALT
+                int e = (state * row + column) * stride;
+                int next = cells[e];
+                if (next == 0) break chunks;                          // HALT
+                if (steps >= end) break;                              // Blockende
+
+                for (int t = 0; t < tapes; t++) {
+                    int a = cells[e + 1 + t];
+                    tape.write(t, heads[t], a >>> 2);
+                    heads[t] += MultiTapeMachine.delta(a & 3);
+                }
+                state = next - 1;
+                steps++;
+                if (state == stop) break chunks;                      // HALT im Akzeptanzzustand
+            }
+            if (steps >= max) { outcome = Outcome.LIMIT; break; }
+        }
+        config.update(state, heads, steps);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    public Outcome run(MultiTapeMachine machine, MultiTapeConfiguration config) {
+        return run(machine, config, RunLimits.NONE);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Kommandozeile                                                      */
+    /* ------------------------------------------------------------------ */
+
+    public static void main(String[] args) throws IOException {
+        List<String> rest = new ArrayList<>(List.of(args));
+        RunLimits limits;
+        Dialect dialect = Dialect.LECTURE;
+        boolean check;
+        try {
+            limits = RunLimits.fromArgs(rest);
+            String d = UtmEmulator.takeOption(rest, "--dialect");
+            if (d != null) dialect = Dialect.valueOf(d);
+            check = rest.remove("--check");
+            if (rest.isEmpty() || rest.size() > 2) throw new IllegalArgumentException("Kodierung fehlt");
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            System.err.println("Usage: java MultiTapeSimulator <kodierung|datei> [eingabe] [--dialect LECTURE|TQUAD|AUFGABE1]"
+                    + " [--max-steps N] [--max-cells N] [--timeout s] [--check]");
+            return;
+        }
+
+        MultiTapeMachine machine;
+        try {
+            Path file = Path.of(rest.get(0));
+            if (Files.isRegularFile(file) && BinaryFormat.isBinary(file)) {
+                throw new IllegalArgumentException("Binärkodierungen (BinaryFormat) enthalten nur 1‑Band‑Maschinen");
+            }
+            String code = Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.ISO_8859_1) : rest.get(0);
+            machine = UnaryParser.parseMultiTape(code, dialect, true);
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            return;
+        }
+        String input = rest.size() > 1 ? rest.get(1) : "";
+        MultiTapeConfiguration config = MultiTapeConfiguration.initial(machine, input);
+        MultiTapeConfiguration start  = check ? config.copy() : null;
+
+        Outcome outcome = new MultiTapeSimulator().run(machine, config, limits);
+        System.out.println((outcome.halted() ? "HALT  →  " : "ABBRUCH  →  ") + outcome);
+        System.out.println("Zustand : q" + config.state());
+        System.out.println("Schritte : " + config.steps());
+        for (int t = 0; t < machine.tapes(); t++) {
+            System.out.printf("Band %d : %s  (Kopf %d)%n", t + 1, config.window(t, WINDOW), config.head(t));
+        }
+
+        if (check && outcome.halted()) {
+            try {
+                MultiTapeConverter converter = MultiTapeConverter.convert(machine);
+                Configuration single = converter.encode(start);
+                Outcome o = new Interpreter().run(converter.machine(), single, limits.withMaxSteps(Long.MAX_VALUE));
+                MultiTapeConfiguration back = converter.decode(single);
+                boolean same = o == outcome && converter.matches(back, config);
+                System.out.println("Ein‑Band‑Übersetzung (" + converter.machine().table().states() + " Zustände, "
+                        + single.steps() + " Schritte): " + (same ? "übereinstimmend" : "ABWEICHUNG → " + o));
+            } catch (IllegalArgumentException e) {
+                System.err.println("FEHLER: " + e.getMessage());
+            }
+        }
+    }
+}
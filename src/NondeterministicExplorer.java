@@ -0,0 +1,383 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Nichtdeterministische Ausführung (NTM)
+ * ======================================
+ * Deterministische Engines verwenden pro (q, sym) genau einen Übergang
+ * ({@link MachineDefinition.Duplicates}). Dieser Explorer nutzt dagegen
+ * <b>alle</b> Übergänge aus {@link MachineDefinition#transitions()} und
+ * durchsucht den Konfigurationsbaum in Breitensuche: Ebene d enthält alle
+ * Konfigurationen nach d Schritten. Die erste Ebene mit einer akzeptierenden
+ * Konfiguration liefert den kürzesten akzeptierenden Pfad.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Speicher
+ * ────────────────────────────────────────────────────────────────────────────
+ * ▸ Band als persistenter Reißverschluss: zwei unveränderliche Stapel links
+ *   und rechts des Kopfes plus das Symbol unter dem Kopf. Ein Schritt legt
+ *   höchstens eine neue Stapelzelle an, alles andere teilen sich die Zweige.
+ * ▸ Stapelzellen werden interniert (hash‑consing): gleiche Stapel haben die
+ *   gleiche int‑Id. Blank auf leerem Stapel bleibt leer – Bandenden aus
+ *   Blanks sind damit normalisiert.
+ * ▸ Eine Konfiguration ist so (Zustand, Symbol, Id links, Id rechts) – 12
+ *   Byte. Jede wird nur einmal expandiert (Duplikate über alle Ebenen
+ *   verworfen). Die Kopfposition gehört nicht dazu: Verschobene, sonst
+ *   gleiche Konfigurationen verhalten sich identisch.
+ * ▸ Für den Pfad merkt sich jede Ebene nur Vorgänger und Übergang (8 Byte
+ *   je Konfiguration).
+ *
+ * Jede Ebene wird in Blöcken auf einem {@link ForkJoinPool} expandiert;
+ * Interner und Duplikatmenge sind in Shards mit eigener Sperre geteilt.
+ */
+public final class NondeterministicExplorer {
+    private static final int BLOCK  = 4096;      // Konfigurationen je Aufgabe
+    private static final int SHARDS = 64;        // Zweierpotenz
+
+    private final MachineDefinition machine;
+    private final int symbols;
+    private final int blank;
+    private final int[] offsets;                 // (q·symbols + sym) → erster Index in choices
+    private final int[] choices;                 // gepackte Übergänge (TransitionTable.pack)
+    private final MachineDefinition.Transition[] byChoice;
+
+    /** Ergebnis der Suche; path und last nur bei ACCEPTED. */
+    public record Result(Outcome outcome, int depth, List<MachineDefinition.Transition> path,
+                         Configuration last, long configurations) {}
+
+    public NondeterministicExplorer(MachineDefinition machine) {
+        this.machine = machine;
+        this.symbols = machine.table().symbols();
+        this.blank   = machine.alphabet().blank();
+
+        // Übergänge je (q, sym) gruppieren – Kodierungsreihenfolge, identische nur einmal
+        int states = machine.table().states();
+        List<List<MachineDefinition.Transition>> rows = new ArrayList<>(states * symbols);
+        for (int i = 0; i < states * symbols; i++) rows.add(null);
+        for (MachineDefinition.Transition t : machine.transitions()) {
+            int key = t.state() * symbols + t.read();
+            if (rows.get(key) == null) rows.set(key, new ArrayList<>(2));
+            if (!rows.get(key).contains(t)) rows.get(key).add(t);
+        }
+        offsets = new int[states * symbols + 1];
+        List<MachineDefinition.Transition> flat = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            offsets[i] = flat.size();
+            if (rows.get(i) != null) flat.addAll(rows.get(i));
+        }
+        offsets[rows.size()] = flat.size();
+        byChoice = flat.toArray(MachineDefinition.Transition[]::new);
+        choices  = new int[byChoice.length];
+        for (int i = 0; i < choices.length; i++) {
+            MachineDefinition.Transition t = byChoice[i];
+            choices[i] = TransitionTable.pack(t.next(), t.write(), t.move());
+        }
+    }
+
+    /** {@code true}, falls mindestens ein (q, sym) mehrere Übergänge hat. */
+    public boolean nondeterministic() {
+        for (int i = 0; i + 1 < offsets.length; i++) if (offsets[i + 1] - offsets[i] > 1) return true;
+        return false;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Breitensuche                                                        */
+    /* ------------------------------------------------------------------ */
+
+    /** Eine Ebene des Baums; parent/choice für die Pfad‑Rekonstruktion. */
+    private static final class Level {
+        int[] state, cur, left, right, parent, choice;
+        int size;
+
+        Level(int capacity) {
+            state  = new int[capacity];
+            cur    = new int[capacity];
+            left   = new int[capacity];
+            right  = new int[capacity];
+            parent = new int[capacity];
+            choice = new int[capacity];
+        }
+
+        void add(int s, int c, int l, int r, int p, int k) {
+            if (size == state.length) {
+                int n = Math.max(16, size * 2);
+                state  = Arrays.copyOf(state, n);
+                cur    = Arrays.copyOf(cur, n);
+                left   = Arrays.copyOf(left, n);
+                right  = Arrays.copyOf(right, n);
+                parent = Arrays.copyOf(parent, n);
+                choice = Arrays.copyOf(choice, n);
+            }
+            state[size] = s; cur[size] = c; left[size] = l; right[size] = r;
+            parent[size] = p; choice[size] = k;
+            size++;
+        }
+
+        void addAll(Level o) {
+            for (int i = 0; i < o.size; i++) add(o.state[i], o.cur[i], o.left[i], o.right[i], o.parent[i], o.choice[i]);
+        }
+    }
+
+    /**
+     * Durchsucht den Baum ab start.
+     *
+     * @param limits         maxSteps = maximale Tiefe; Timeout und Abbruch gelten
+     * @param maxConfigs     Suche endet (LIMIT), sobald so viele verschiedene
+     *                       Konfigurationen gesehen wurden – geprüft je Ebene
+     * @param parallelism    Threads für die Expansion einer Ebene
+     */
+    public Result explore(Configuration start, RunLimits limits, long maxConfigs, int parallelism)
+            throws InterruptedException {
+        HaltingSemantics h = machine.halting();
+        RunLimits.Watch watch = limits.start();
+        Interner tapes = new Interner(blank);
+        Visited seen   = new Visited();
+
+        // Startband → Reißverschluss
+        Tape tape = start.tape();
+        int head = start.head(), left = 0, right = 0;
+        for (int p = tape.low(); p < head; p++) left = tapes.push(tape.read(p), left);
+        for (int p = tape.high(); p > head; p--) right = tapes.push(tape.read(p), right);
+
+        Level level = new Level(1);
+        level.add(start.state(), tape.read(head), left, right, -1, -1);
+        seen.add(start.state(), tape.read(head), left, right);
+        List<int[]> parents = new ArrayList<>();
+        List<int[]> taken   = new ArrayList<>();
+        long total = 1;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int depth = 0; ; depth++) {
+                parents.add(Arrays.copyOf(level.parent, level.size));
+                taken.add(Arrays.copyOf(level.choice, level.size));
+
+                // Akzeptierende Konfiguration auf dieser Ebene? (kleinster Index → deterministisch)
+                for (int i = 0; i < level.size; i++) {
+                    int q = level.state[i];
+                    boolean halts = h.haltOnAccept() && q == h.acceptState() || degree(q, level.cur[i]) == 0;
+                    if (halts && q == h.acceptState()) {
+                        return accepted(start, depth, i, parents, taken, total);
+                    }
+                }
+                if (level.size == 0) return new Result(Outcome.REJECTED, depth, List.of(), null, total);
+
+                Outcome stop = watch.check(0);
+                if (stop == null && depth >= limits.maxSteps()) stop = Outcome.LIMIT;
+                if (stop == null && total >= maxConfigs) stop = Outcome.LIMIT;
+                if (stop != null) return new Result(stop, depth, List.of(), null, total);
+
+                // Nächste Ebene blockweise parallel expandieren, Reihenfolge bleibt erhalten
+                Level current = level;
+                List<Future<Level>> parts = new ArrayList<>();
+                for (int from = 0; from < current.size; from += BLOCK) {
+                    int lo = from, hi = Math.min(current.size, from + BLOCK);
+                    Callable<Level> task = () -> expand(current, lo, hi, tapes, seen);
+                    parts.add(pool.submit(task));
+                }
+                Level next = new Level(current.size);
+                for (Future<Level> f : parts) {
+                    try {
+                        next.addAll(f.get());
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException("NTM‑Expansion fehlgeschlagen", e.getCause());
+                    }
+                }
+                total += next.size;
+                level = next;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int degree(int state, int sym) {
+        if (sym >= symbols || state >= (offsets.length - 1) / symbols) return 0;
+        int key = state * symbols + sym;
+        return offsets[key + 1] - offsets[key];
+    }
+
+    private Level expand(Level level, int lo, int hi, Interner tapes, Visited seen) {
+        HaltingSemantics h = machine.halting();
+        Level out = new Level(2 * (hi - lo));
+        for (int i = lo; i < hi; i++) {
+            int q = level.state[i], c = level.cur[i];
+            if (h.haltOnAccept() && q == h.acceptState()) continue;
+            int d = degree(q, c);
+            if (d == 0) continue;
+            int base = q * symbols + c;
+            for (int k = offsets[base]; k < offsets[base] + d; k++) {
+                int tr = choices[k];
+                int w  = TransitionTable.writeSymbol(tr);
+                int nq = TransitionTable.nextState(tr);
+                int l, r, nc;
+                if (TransitionTable.headDelta(tr) > 0) {
+                    l  = tapes.push(w, level.left[i]);
+                    r  = level.right[i];
+                    nc = r == 0 ? blank : tapes.symbol(r);
+                    r  = r == 0 ? 0 : tapes.tail(r);
+                } else {
+                    r  = tapes.push(w, level.right[i]);
+                    l  = level.left[i];
+                    nc = l == 0 ? blank : tapes.symbol(l);
+                    l  = l == 0 ? 0 : tapes.tail(l);
+                }
+                if (seen.add(nq, nc, l, r)) out.add(nq, nc, l, r, i, k);
+            }
+        }
+        return out;
+    }
+
+    /** Baut den Pfad zurück und spielt ihn auf einer Kopie der Startkonfiguration nach. */
+    private Result accepted(Configuration start, int depth, int index,
+                            List<int[]> parents, List<int[]> taken, long total) {
+        MachineDefinition.Transition[] path = new MachineDefinition.Transition[depth];
+        for (int d = depth; d > 0; d--) {
+            path[d - 1] = byChoice[taken.get(d)[index]];
+            index = parents.get(d)[index];
+        }
+        Configuration last = start.copy();
+        for (MachineDefinition.Transition t : path) {
+            last.tape().write(last.head(), t.write());
+            last.update(t.next(), last.head() + (t.move() == TransitionTable.MOVE_R ? 1 : -1), last.steps() + 1);
+        }
+        return new Result(Outcome.ACCEPTED, depth, List.of(path), last, total);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Geteilte Strukturen (in Shards gesperrt)                            */
+    /* ------------------------------------------------------------------ */
+
+    private static int mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        return (int) (x ^ x >>> 33);
+    }
+
+    /**
+     * Hash‑consing der Stapelzellen (Symbol, Rest). Id = lokal·SHARDS + Shard,
+     * 0 ist der leere Stapel. Lesen geschieht ohne Sperre: Ids stammen aus
+     * früheren Ebenen oder aus intern() (beides mit happens‑before), und beim
+     * Vergrößern bleiben alte Einträge an derselben Stelle.
+     */
+    private static final class Interner {
+        private final int blank;
+        private final Shard[] shards = new Shard[SHARDS];
+
+        Interner(int blank) {
+            this.blank = blank;
+            for (int i = 0; i < SHARDS; i++) shards[i] = new Shard();
+        }
+
+        int push(int sym, int tail) {
+            if (sym == blank && tail == 0) return 0;
+            long key = (long) sym << 32 | (tail & 0xFFFFFFFFL);
+            int hash = mix(key);
+            int s = hash & (SHARDS - 1);
+            return shards[s].intern(key, hash >>> 6) * SHARDS + s;
+        }
+
+        int symbol(int id) { return shards[id & (SHARDS - 1)].sym[id / SHARDS]; }
+        int tail(int id)   { return shards[id & (SHARDS - 1)].tail[id / SHARDS]; }
+
+        private static final class Shard {
+            volatile int[] sym  = new int[64];
+            volatile int[] tail = new int[64];
+            private long[] keys = new long[128];        // 0 = frei (key + 1 gespeichert)
+            private int[]  ids  = new int[128];
+            private int count = 1;                      // lokal 0 ist reserviert (leerer Stapel)
+
+            synchronized int intern(long key, int hash) {
+                int mask = keys.length - 1;
+                for (int i = hash & mask; ; i = (i + 1) & mask) {
+                    if (keys[i] == 0) {
+                        int id = count++;
+                        if (id == sym.length) {
+                            if (id >= Integer.MAX_VALUE / SHARDS) throw new IllegalStateException("Zu viele Bandzellen für die NTM‑Suche");
+                            tail = Arrays.copyOf(tail, id * 2);
+                            sym  = Arrays.copyOf(sym, id * 2);
+                        }
+                        tail[id] = (int) key;
+                        sym[id]  = (int) (key >>> 32);
+                        keys[i] = key + 1;
+                        ids[i]  = id;
+                        if (2 * count > keys.length) rehash();
+                        return id;
+                    }
+                    if (keys[i] == key + 1) return ids[i];
+                }
+            }
+
+            private void rehash() {
+                long[] oldKeys = keys;
+                int[] oldIds = ids;
+                keys = new long[oldKeys.length * 2];
+                ids  = new int[keys.length];
+                int mask = keys.length - 1;
+                for (int j = 0; j < oldKeys.length; j++) {
+                    if (oldKeys[j] == 0) continue;
+                    int i = (mix(oldKeys[j] - 1) >>> 6) & mask;
+                    while (keys[i] != 0) i = (i + 1) & mask;
+                    keys[i] = oldKeys[j];
+                    ids[i]  = oldIds[j];
+                }
+            }
+        }
+    }
+
+    /** Menge bereits gesehener Konfigurationen (Zustand, Symbol, links, rechts). */
+    private static final class Visited {
+        private final Shard[] shards = new Shard[SHARDS];
+
+        Visited() { for (int i = 0; i < SHARDS; i++) shards[i] = new Shard(); }
+
+        /** {@code true}, falls die Konfiguration neu ist. */
+        boolean add(int state, int sym, int left, int right) {
+            long a = (long) left << 32 | (right & 0xFFFFFFFFL);
+            int  b = state << 8 | sym;
+            int hash = mix(a * 31 + b);
+            return shards[hash & (SHARDS - 1)].add(a, b, hash >>> 6);
+        }
+
+        private static final class Shard {
+            private long[] lr = new long[128];
+            private int[]  qs = new int[128];           // state<<8 | sym, +1 (0 = frei)
+            private int count;
+
+            synchronized boolean add(long a, int b, int hash) {
+                int mask = lr.length - 1;
+                for (int i = hash & mask; ; i = (i + 1) & mask) {
+                    if (qs[i] == 0) {
+                        lr[i] = a;
+                        qs[i] = b + 1;
+                        if (2 * ++count > lr.length) rehash();
+                        return true;
+                    }
+                    if (qs[i] == b + 1 && lr[i] == a) return false;
+                }
+            }
+
+            private void rehash() {
+                long[] oldLr = lr;
+                int[] oldQs = qs;
+                lr = new long[oldLr.length * 2];
+                qs = new int[lr.length];
+                int mask = lr.length - 1;
+                for (int j = 0; j < oldLr.length; j++) {
+                    if (oldQs[j] == 0) continue;
+                    int i = (mix(oldLr[j] * 31 + (oldQs[j] - 1)) >>> 6) & mask;
+                    while (qs[i] != 0) i = (i + 1) & mask;
+                    lr[i] = oldLr[j];
+                    qs[i] = oldQs[j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+/** Ergebnis eines Simulationslaufs. */
+public enum Outcome {
+    /** Gehalten im akzeptierenden Zustand. */
+    ACCEPTED,
+    /** Gehalten in einem anderen Zustand. */
+    REJECTED,
+    /** Nicht gehalten: Schritt‑ oder Zellgrenze aus {@link RunLimits} erreicht. */
+    LIMIT,
+    /** Nicht gehalten: Wanduhr‑Timeout aus {@link RunLimits} abgelaufen. */
+    TIMEOUT,
+    /** Nicht gehalten: kooperativ abgebrochen. */
+    CANCELLED,
+    /** Hält nachweislich nie: Zyklus (ggf. verschoben) erkannt, siehe {@link CycleDetector}. */
+    NON_HALTING;
+
+    /** {@code true}, falls die Maschine tatsächlich gehalten hat. */
+    public boolean halted() {
+        return this == ACCEPTED || this == REJECTED;
+    }
+}
@@ -0,0 +1,238 @@
+import java.util.Arrays;
+
+/**
+ * Bitgepacktes Band für kleine Alphabete
+ * ======================================
+ * 2 Bit (bis 4 Symbole) bzw. 4 Bit (bis 16 Symbole) pro Zelle in Seiten zu
+ * {@value #PAGE_WORDS} {@code long}s. Gespeichert wird {@code sym ^ blank},
+ * eine Seite aus Nullen ist also leeres Band:
+ *
+ *     Seite  = pos >> pageShift            (arithmetisch, auch für pos < 0)
+ *     Wort   = (pos & pageMask) >>> cellShift
+ *     Bits   = pos << bitShift             (Schiebeweite mod 64 ⇒ Zelle im Wort)
+ *
+ * Lesen und Schreiben sind damit reine Shift/Mask‑Operationen ohne
+ * Verzweigung im Wort. Nicht belegte Seiten zeigen auf die gemeinsame
+ * Nullseite {@link #ZERO} und werden erst beim ersten Schreiben angelegt;
+ * das Seitenverzeichnis wächst wie {@link ByteTape} durch Verdopplung zur
+ * betroffenen Seite. Adressierbar ist der ganze {@code int}‑Bereich
+ * (2³² Zellen = 1 GiB bei 2 Bit).
+ *
+ * Massenzugriffe ({@link #read(int, byte[], int, int)}, {@link #fill},
+ * {@link #render}) arbeiten wortweise: ein Wortzugriff pro 32 bzw. 16 Zellen.
+ */
+final class PackedTape extends Tape {
+    static final int PAGE_WORDS = 128;                      // 1 KiB pro Seite
+    private static final int PAGE_WORD_SHIFT = 7;
+    private static final long[] ZERO = new long[PAGE_WORDS]; // nie beschrieben
+
+    private final int bits, mask, blank;
+    private final int bitShift;                             // log₂ bits
+    private final int cellShift;                            // log₂ Zellen pro Wort
+    private final int pageShift, pageMask;                  // log₂ Zellen pro Seite
+    private final long ones;                                // 0x…0101 bzw. 0x…1111: Muster‑Multiplikator
+    private long[][] pages;
+    private int first;                                      // Seitennummer von pages[0]
+    private int lo, hi;                                     // kleinste/größte angelegte Seite
+    private long allocated;                                 // angelegte Seiten
+
+    PackedTape(int bits, int blank) {
+        if (bits != 2 && bits != 4) throw new IllegalArgumentException("Zellbreite " + bits + " nicht unterstützt");
+        this.bits      = bits;
+        this.mask      = (1 << bits) - 1;
+        if (blank < 0 || blank > mask) throw new IllegalArgumentException("Blank‑Index " + blank + " passt nicht in " + bits + " Bit");
+        this.blank     = blank;
+        this.bitShift  = Integer.numberOfTrailingZeros(bits);
+        this.cellShift = 6 - bitShift;
+        this.pageShift = cellShift + PAGE_WORD_SHIFT;
+        this.pageMask  = (1 << pageShift) - 1;
+        this.ones      = Long.divideUnsigned(-1L, mask);
+        this.pages     = new long[][] { ZERO };
+        this.lo        = Integer.MAX_VALUE;
+        this.hi        = Integer.MIN_VALUE;
+        allocate(0);
+    }
+
+    private PackedTape(PackedTape t) {
+        bits = t.bits; mask = t.mask; blank = t.blank;
+        bitShift = t.bitShift; cellShift = t.cellShift;
+        pageShift = t.pageShift; pageMask = t.pageMask; ones = t.ones;
+        pages = t.pages.clone();
+        for (int i = 0; i < pages.length; i++) if (pages[i] != ZERO) pages[i] = pages[i].clone();
+        first = t.first; lo = t.lo; hi = t.hi; allocated = t.allocated;
+    }
+
+    /** Sammelt Zellen ab 0 zu ganzen Wörtern und legt sie direkt in die Seiten (siehe {@link Tape#append}). */
+    Appender appender() {
+        return new Appender() {
+            private long word;
+            private int pos, k;
+
+            @Override void put(int sym) {
+                word |= (long) ((sym ^ blank) & mask) << (k << bitShift);
+                if (++k == cellsPerWord()) flush();
+            }
+
+            @Override Tape tape() {
+                flush();
+                return PackedTape.this;
+            }
+
+            private void flush() {
+                if (k > 0) store(pos, k, word);
+                pos += k;
+                k = 0;
+                word = 0;
+            }
+        };
+    }
+
+    /** Bits pro Zelle (2 oder 4). */
+    int bits() { return bits; }
+
+    @Override public int blank() { return blank; }
+
+    @Override
+    public int read(int pos) {
+        int d = (pos >> pageShift) - first;
+        long[] p = d >= 0 && d < pages.length ? pages[d] : ZERO;
+        return (int) (p[(pos & pageMask) >>> cellShift] >>> (pos << bitShift)) & mask ^ blank;
+    }
+
+    @Override
+    public void write(int pos, int sym) {
+        int d = (pos >> pageShift) - first;
+        long[] p = d >= 0 && d < pages.length ? pages[d] : ZERO;
+        if (p == ZERO) p = allocate(pos);
+        int w = (pos & pageMask) >>> cellShift, s = pos << bitShift;
+        p[w] = p[w] & ~((long) mask << s) | (long) ((sym ^ blank) & mask) << s;
+    }
+
+    @Override
+    public void read(int from, byte[] dst, int off, int len) {
+        for (int i = 0; i < len; ) {
+            int pos = from + i, k = Math.min(len - i, cellsPerWord() - (pos & wordMask()));
+            long word = word(pos) >>> (pos << bitShift);
+            for (int j = off + i, end = j + k; j < end; j++, word >>>= bits) dst[j] = (byte) ((int) word & mask ^ blank);
+            i += k;
+        }
+    }
+
+    @Override
+    public void write(int from, byte[] src, int off, int len) {
+        for (int i = 0; i < len; ) {
+            int pos = from + i, k = Math.min(len - i, cellsPerWord() - (pos & wordMask()));
+            long v = 0;
+            for (int j = off + i + k - 1; j >= off + i; j--) v = v << bits | (src[j] ^ blank) & mask;
+            store(pos, k, v);
+            i += k;
+        }
+    }
+
+    @Override
+    public void fill(int from, int to, int sym) {
+        long pattern = ((sym ^ blank) & mask) * ones;
+        for (long pos = from; pos <= to; ) {
+            int k = (int) Math.min(to - pos + 1, cellsPerWord() - (pos & wordMask()));
+            store((int) pos, k, pattern);
+            pos += k;
+        }
+    }
+
+    @Override public int low()  { return lo << pageShift; }
+    @Override public int high() { return ((hi + 1) << pageShift) - 1; }
+    @Override public long cells() { return allocated << pageShift; }
+
+    @Override
+    public Tape copy() { return new PackedTape(this); }
+
+    /** Gleiche Darstellung: seitenweiser Vergleich statt Zelle für Zelle. */
+    @Override
+    public boolean contentEquals(Tape other) {
+        if (!(other instanceof PackedTape o) || o.bits != bits || o.blank != blank) return super.contentEquals(other);
+        for (int n = Math.min(lo, o.lo), end = Math.max(hi, o.hi); n <= end; n++) {
+            if (!Arrays.equals(page(n), o.page(n))) return false;
+        }
+        return true;
+    }
+
+    /** Wortweise: ein Wort liefert 32 bzw. 16 Zeichen über eine Glyphentabelle. */
+    @Override
+    public String render(int from, int to, Alphabet alphabet) {
+        if (from > to) return "";
+        char[] glyph = new char[mask + 1];
+        for (int v = 0; v <= mask; v++) glyph[v] = alphabet.symbol(v ^ blank);
+        char[] out = new char[to - from + 1];
+        for (int i = 0; i < out.length; ) {
+            int pos = from + i, k = Math.min(out.length - i, cellsPerWord() - (pos & wordMask()));
+            long word = word(pos) >>> (pos << bitShift);
+            for (int end = i + k; i < end; i++, word >>>= bits) out[i] = glyph[(int) word & mask];
+        }
+        return new String(out);
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Seiten                                                              */
+    /* ------------------------------------------------------------------ */
+
+    private int cellsPerWord() { return 1 << cellShift; }
+    private int wordMask()     { return (1 << cellShift) - 1; }
+
+    /** Seite mit der Nummer n ({@link #ZERO}, falls nicht angelegt). */
+    private long[] page(int n) {
+        int d = n - first;
+        return d >= 0 && d < pages.length ? pages[d] : ZERO;
+    }
+
+    private long word(int pos) {
+        return page(pos >> pageShift)[(pos & pageMask) >>> cellShift];
+    }
+
+    /**
+     * Schreibt k Zellen ab pos (alle im selben Wort) aus v (Zelle pos in den
+     * untersten Bits). Reine Blanks auf nicht angelegten Seiten bleiben ohne
+     * Allokation.
+     */
+    private void store(int pos, int k, long v) {
+        int s = pos << bitShift & 63, n = k << bitShift;
+        long m = (n == 64 ? -1L : (1L << n) - 1) << s;
+        long[] p = page(pos >> pageShift);
+        if (p == ZERO) {
+            if ((v & m >>> s) == 0) return;
+            p = allocate(pos);
+        }
+        int w = (pos & pageMask) >>> cellShift;
+        p[w] = p[w] & ~m | v << s & m;
+    }
+
+    /** Legt die Seite von pos an (Verzeichnis wächst bei Bedarf). */
+    private long[] allocate(int pos) {
+        int n = pos >> pageShift;
+        if (n < first || n - first >= pages.length) grow(n);
+        long[] p = new long[PAGE_WORDS];
+        pages[n - first] = p;
+        lo = Math.min(lo, n);
+        hi = Math.max(hi, n);
+        allocated++;
+        return p;
+    }
+
+    /**
+     * Vergrößert das Verzeichnis, bis Seite n darin liegt – neuer Platz auf
+     * der Seite, auf der n herausfiel, höchstens bis zum Rand des
+     * {@code int}‑Bereichs.
+     */
+    private void grow(int n) {
+        long minPage = Integer.MIN_VALUE >> pageShift, maxPage = Integer.MAX_VALUE >> pageShift;
+        long end  = (long) first + pages.length;                       // exklusiv
+        long need = n < first ? end - n : (long) n - first + 1;
+        int cap   = (int) Math.min(maxPage - minPage + 1, Math.max(need, 2L * pages.length));
+        long start = n < first ? end - cap : first;
+        start = Math.max(minPage, Math.min(start, maxPage - cap + 1));
+        long[][] next = new long[cap][];
+        Arrays.fill(next, ZERO);
+        System.arraycopy(pages, 0, next, (int) (first - start), pages.length);
+        pages = next;
+        first = (int) start;
+    }
+}
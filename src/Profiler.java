@@ -0,0 +1,301 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ausführungsprofil pro Übergang und Zustand
+ * ==========================================
+ * Eine Engine, die wie der {@link Interpreter} rechnet und dabei zählt, wo die
+ * Schritte anfallen. Alle Zähler sind flache {@code long[]}, indiziert wie die
+ * {@link TransitionTable} – pro Schritt kommen nur zwei Inkremente, ein
+ * Minimum/Maximum und eine XOR‑Verknüpfung hinzu:
+ *
+ * ▸ taken[q · symbols + sym]  … wie oft δ(q, sym) ausgeführt wurde
+ * ▸ turns[q]                  … Kopfwenden (L nach R oder R nach L) im Zustand q
+ * ▸ Bandausdehnung            … [min, max] der Kopfposition, als Zeitreihe mit
+ *                               höchstens {@link #SAMPLES} Stichproben (bei
+ *                               Überlauf wird jede zweite verworfen und das
+ *                               Intervall verdoppelt)
+ *
+ * Besuche pro Zustand ergeben sich als Zeilensumme von taken. Die Zähler
+ * summieren über mehrere {@code run()}‑Aufrufe derselben Maschine (z. B. die
+ * Scheiben eines {@link Checkpoint}‑Laufs).
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Ausgabe
+ * ────────────────────────────────────────────────────────────────────────────
+ * report()  … sortierter Bericht: heiße Übergänge, Zustände, Bandausdehnung;
+ *             Selbstschleifen δ(q, a) = (q, a, ·) sind mit ↻ markiert – das
+ *             sind Läufe über das Band, die sich als Block zusammenfassen lassen
+ * dump(p)   … CSV (Übergänge) oder JSON (alles), je nach Dateiendung
+ */
+public final class Profiler implements Simulator {
+    private static final int SAMPLES = 1 << 10;     // max. Stichproben der Bandausdehnung
+    private static final int SHOWN   = 20;          // Zeilen je Abschnitt im Bericht
+
+    private MachineDefinition machine;
+    private long[] taken = new long[0];
+    private long[] turns = new long[0];
+    private long steps;
+    private int  lastMove;                          // 0 = noch keine Bewegung
+    private int  low, high;                         // Kopf‑Extrema
+
+    /* Zeitreihe der Bandausdehnung */
+    private long   interval = 1, nextSample = 0;
+    private int    samples;
+    private long[] sampleSteps = new long[SAMPLES];
+    private int[]  sampleLow   = new int[SAMPLES];
+    private int[]  sampleHigh  = new int[SAMPLES];
+
+    @Override
+    public String name() { return "profiler"; }
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        bind(machine, config);
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        Tape tape   = config.tape();
+        int symbols = delta.symbols();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+        long[] taken = this.taken, turns = this.turns;
+
+        int  state = config.state();
+        int  head  = config.head();
+        long steps = config.steps();
+        int  last  = lastMove, lo = Math.min(low, head), hi = Math.max(high, head);
+        Outcome outcome = null;
+        chunks:
+        while (state != stop) {
+            if ((outcome = watch.check(tape.cells())) != null) break;
+            if (steps >= nextSample) sample(steps, lo, hi);
+            long end = Math.min(Math.min(max, steps + RunLimits.CHECK_INTERVAL), nextSample);
+
+            while (true) {
+                int sym = tape.read(head);
+                int tr  = sym < symbols ? delta.get(state, sym) : TransitionTable.NONE;
+                if (tr == TransitionTable.NONE) break chunks; // HALT
+                if (steps >= end) break;                      // Block‑ bzw. Stichprobenende
+
+                int move = tr & 3;
+                taken[state * symbols + sym]++;
+                turns[state] += ((move ^ last) + 1) >>> 2;     // 1 ⇔ {last, move} = {L, R}
+                last = move;
+
+                tape.write(head, TransitionTable.writeSymbol(tr));
+                head  += TransitionTable.headDelta(tr);
+                state  = TransitionTable.nextState(tr);
+                steps++;
+                if (head < lo) lo = head;
+                else if (head > hi) hi = head;
+                if (state == stop) break chunks;              // HALT im Akzeptanzzustand
+            }
+            if (steps >= max) { outcome = Outcome.LIMIT; break; }
+        }
+        lastMove = last;
+        low  = lo;
+        high = hi;
+        this.steps = steps;
+        config.update(state, head, steps);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    /** Setzt die Zähler zurück, sobald eine andere Maschine profiliert wird. */
+    private void bind(MachineDefinition machine, Configuration config) {
+        if (machine == this.machine) return;
+        TransitionTable delta = machine.table();
+        this.machine = machine;
+        taken    = new long[delta.states() * delta.symbols()];
+        turns    = new long[delta.states()];
+        lastMove = 0;
+        low = high = config.head();
+        interval = 1;
+        nextSample = config.steps();
+        samples  = 0;
+    }
+
+    /** Hängt (steps, lo, hi) an die Zeitreihe an; halbiert sie bei Überlauf. */
+    private void sample(long steps, int lo, int hi) {
+        low  = lo;
+        high = hi;
+        if (samples == SAMPLES) {
+            for (int i = 0; i < SAMPLES / 2; i++) {
+                sampleSteps[i] = sampleSteps[2 * i];
+                sampleLow[i]   = sampleLow[2 * i];
+                sampleHigh[i]  = sampleHigh[2 * i];
+            }
+            samples   = SAMPLES / 2;
+            interval *= 2;
+        }
+        sampleSteps[samples] = steps;
+        sampleLow[samples]   = lo;
+        sampleHigh[samples]  = hi;
+        samples++;
+        nextSample = steps + interval;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Auswertung                                                          */
+    /* ------------------------------------------------------------------ */
+
+    /** Ein ausgeführter Übergang samt Häufigkeit. */
+    public record Entry(MachineDefinition.Transition transition, long count) {
+        boolean selfLoop() {
+            MachineDefinition.Transition t = transition;
+            return t.state() == t.next() && t.read() == t.write();
+        }
+    }
+
+    /** Ein Zustand samt Besuchen (ausgeführte Schritte) und Kopfwenden. */
+    public record StateEntry(int state, long visits, long turns) { }
+
+    /** Ausgeführte Übergänge, absteigend nach Häufigkeit. */
+    public List<Entry> transitions() {
+        List<Entry> list = new ArrayList<>();
+        if (machine == null) return list;
+        TransitionTable delta = machine.table();
+        int symbols = delta.symbols();
+        for (int i = 0; i < taken.length; i++) {
+            if (taken[i] == 0) continue;
+            int q = i / symbols, sym = i % symbols, tr = delta.get(q, sym);
+            list.add(new Entry(new MachineDefinition.Transition(q, sym, TransitionTable.nextState(tr),
+                    TransitionTable.writeSymbol(tr), tr & 3), taken[i]));
+        }
+        list.sort(Comparator.comparingLong(Entry::count).reversed());
+        return list;
+    }
+
+    /** Besuchte Zustände, absteigend nach Besuchen. */
+    public List<StateEntry> states() {
+        List<StateEntry> list = new ArrayList<>();
+        if (machine == null) return list;
+        int symbols = machine.table().symbols();
+        for (int q = 0; q < turns.length; q++) {
+            long visits = 0;
+            for (int s = 0; s < symbols; s++) visits += taken[q * symbols + s];
+            if (visits > 0) list.add(new StateEntry(q, visits, turns[q]));
+        }
+        list.sort(Comparator.comparingLong(StateEntry::visits).reversed());
+        return list;
+    }
+
+    public long steps()     { return steps; }
+    public long turns()     { return Arrays.stream(turns).sum(); }
+    public int  low()       { return low; }
+    public int  high()      { return high; }
+
+    /** Sortierter Textbericht (je Abschnitt die {@link #SHOWN} häufigsten Zeilen). */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        List<Entry> hot = transitions();
+        List<StateEntry> states = states();
+        long executed = hot.stream().mapToLong(Entry::count).sum(), total = Math.max(1, executed);
+        long turns = turns();
+        sb.append(String.format("Profil: %d Schritte, %d Übergänge, %d Zustände, %d Kopfwenden (%.2f %%)%n",
+                executed, hot.size(), states.size(), turns, 100.0 * turns / total));
+
+        sb.append("Heiße Übergänge:\n");
+        sb.append(String.format("  %14s  %8s  %s%n", "Anzahl", "Anteil", "Übergang"));
+        for (int i = 0; i < Math.min(SHOWN, hot.size()); i++) {
+            Entry e = hot.get(i);
+            sb.append(String.format("  %14d  %6.2f %%  %s%s%n", e.count(), 100.0 * e.count() / total,
+                    render(e.transition()), e.selfLoop() ? "  ↻" : ""));
+        }
+        if (hot.size() > SHOWN) sb.append("  … ").append(hot.size() - SHOWN).append(" weitere\n");
+
+        sb.append("Zustände:\n");
+        sb.append(String.format("  %14s  %8s  %12s  %s%n", "Besuche", "Anteil", "Kopfwenden", "Zustand"));
+        for (int i = 0; i < Math.min(SHOWN, states.size()); i++) {
+            StateEntry s = states.get(i);
+            sb.append(String.format("  %14d  %6.2f %%  %12d  q%d%n", s.visits(), 100.0 * s.visits() / total,
+                    s.turns(), s.state()));
+        }
+        if (states.size() > SHOWN) sb.append("  … ").append(states.size() - SHOWN).append(" weitere\n");
+
+        sb.append(String.format("Bandausdehnung: Kopf in [%d, %d] (%d Zellen)%n", low, high, (long) high - low + 1));
+        int shown = Math.min(8, samples);
+        for (int k = 1; k <= shown; k++) {
+            int i = (int) ((long) k * samples / shown) - 1;
+            sb.append(String.format("  ab Schritt %14d  [%d, %d]%n", sampleSteps[i], sampleLow[i], sampleHigh[i]));
+        }
+        return sb.toString();
+    }
+
+    /** Schreibt das Profil als CSV ({@code .csv}, nur Übergänge) oder JSON (sonst). */
+    public void dump(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            if (file.getFileName().toString().toLowerCase().endsWith(".csv")) writeCsv(out);
+            else writeJson(out);
+            if (out.checkError()) throw new IOException("Profil konnte nicht geschrieben werden: " + file);
+        }
+    }
+
+    /** Eine Zeile je ausgeführtem Übergang, absteigend nach Häufigkeit. */
+    public void writeCsv(Writer w) {
+        PrintWriter out = new PrintWriter(w);
+        Alphabet a = machine == null ? null : machine.alphabet();   // ohne Lauf: nur Kopfzeile
+        out.println("state,read,next,write,move,count");
+        for (Entry e : transitions()) {
+            MachineDefinition.Transition t = e.transition();
+            out.printf("%d,%s,%d,%s,%s,%d%n", t.state(), csv(a.symbol(t.read())), t.next(),
+                    csv(a.symbol(t.write())), move(t.move()), e.count());
+        }
+        out.flush();
+    }
+
+    /** Vollständiges Profil inkl. Zustände und Zeitreihe der Bandausdehnung. */
+    public void writeJson(Writer w) {
+        PrintWriter out = new PrintWriter(w);
+        Alphabet a = machine == null ? null : machine.alphabet();
+        out.printf("{\"steps\":%d,\"turns\":%d,\"low\":%d,\"high\":%d,%n", steps, turns(), low, high);
+        out.print("\"transitions\":[");
+        String sep = "";
+        for (Entry e : transitions()) {
+            MachineDefinition.Transition t = e.transition();
+            out.printf("%s%n{\"state\":%d,\"read\":%s,\"next\":%d,\"write\":%s,\"move\":\"%s\",\"count\":%d}",
+                    sep, t.state(), json(a.symbol(t.read())), t.next(), json(a.symbol(t.write())),
+                    move(t.move()), e.count());
+            sep = ",";
+        }
+        out.print("],\n\"states\":[");
+        sep = "";
+        for (StateEntry s : states()) {
+            out.printf("%s%n{\"state\":%d,\"visits\":%d,\"turns\":%d}", sep, s.state(), s.visits(), s.turns());
+            sep = ",";
+        }
+        out.print("],\n\"extent\":[");
+        for (int i = 0; i < samples; i++) {
+            out.printf("%s[%d,%d,%d]", i == 0 ? "" : ",", sampleSteps[i], sampleLow[i], sampleHigh[i]);
+        }
+        out.println("]}");
+        out.flush();
+    }
+
+    /* –– Formatierung –– */
+
+    private String render(MachineDefinition.Transition t) {
+        Alphabet a = machine.alphabet();
+        return String.format("δ(q%d, %c) = (q%d, %c, %s)", t.state(), a.symbol(t.read()),
+                t.next(), a.symbol(t.write()), move(t.move()));
+    }
+
+    private static String move(int move) { return move == TransitionTable.MOVE_R ? "R" : "L"; }
+
+    private static String csv(char c) {
+        String s = String.valueOf(c);
+        return c == ',' || c == '"' ? '"' + s.replace("\"", "\"\"") + '"' : s;
+    }
+
+    private static String json(char c) {
+        return c == '"' || c == '\\' ? "\"\\" + c + "\"" : c < 0x20 ? String.format("\"\\u%04x\"", (int) c) : "\"" + c + "\"";
+    }
+}
@@ -0,0 +1,158 @@
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Grenzen für einen Simulationslauf
+ * =================================
+ * ▸ maxSteps  – exakt: config.steps() überschreitet den Wert nie
+ * ▸ maxCells  – Bandumfang (Zellen, für die Speicher reserviert ist);
+ *               der {@link MacroSimulator} schreibt das Band erst am Ende
+ *               zurück und zählt bis dahin den reservierten Bereich plus
+ *               die darüber hinaus besuchten Zellen – eine untere Schranke,
+ *               die Grenze greift dort also eher später als bei den übrigen
+ *               Engines
+ * ▸ timeout   – Wanduhrzeit ab Start des jeweiligen run()‑Aufrufs
+ * ▸ cancel    – kooperativer Abbruch über ein geteiltes Flag
+ *
+ * Schrittgrenzen prüfen die Engines ohnehin pro Schritt. Alles andere wird
+ * nur alle {@link #CHECK_INTERVAL} Schritte über {@link Watch#check(long)}
+ * geprüft – Zellgrenze, Timeout und Abbruch greifen also mit dieser
+ * Granularität, kosten in der heißen Schleife aber nichts.
+ *
+ * Ein Lauf, der eine Grenze erreicht, endet mit {@link Outcome#LIMIT},
+ * {@link Outcome#TIMEOUT} oder {@link Outcome#CANCELLED}; die
+ * {@link Configuration} ist dann ein gültiger Zwischenstand und kann mit
+ * derselben oder einer anderen Engine fortgesetzt werden. Darauf beruhen
+ * Läufe in Scheiben ({@link #slices}): Zwischen zwei Scheiben können
+ * Checkpoint, Metriken oder Server den Stand lesen, die Grenzen gelten
+ * trotzdem für den ganzen Lauf.
+ */
+public final class RunLimits {
+    /** Schritte zwischen zwei Prüfungen von Zellen, Zeit und Abbruch. */
+    public static final int CHECK_INTERVAL = 1 << 16;
+
+    /** Keine Grenzen – Lauf bis HALT. */
+    public static final RunLimits NONE = new RunLimits(Long.MAX_VALUE, Long.MAX_VALUE, 0, null);
+
+    private final long maxSteps;
+    private final long maxCells;
+    private final long timeoutNanos;    // 0 = keiner
+    private final AtomicBoolean cancel; // null = nicht abbrechbar
+
+    private RunLimits(long maxSteps, long maxCells, long timeoutNanos, AtomicBoolean cancel) {
+        if (maxSteps < 0 || maxCells < 0 || timeoutNanos < 0) throw new IllegalArgumentException("Grenzen müssen ≥ 0 sein");
+        this.maxSteps     = maxSteps;
+        this.maxCells     = maxCells;
+        this.timeoutNanos = timeoutNanos;
+        this.cancel       = cancel;
+    }
+
+    /** Höchstens maxSteps Schritte (gezählt ab Schritt 0 der Konfiguration). */
+    public static RunLimits steps(long maxSteps) {
+        return NONE.withMaxSteps(maxSteps);
+    }
+
+    public RunLimits withMaxSteps(long n)        { return new RunLimits(n, maxCells, timeoutNanos, cancel); }
+    public RunLimits withMaxCells(long n)        { return new RunLimits(maxSteps, n, timeoutNanos, cancel); }
+    public RunLimits withTimeout(Duration d)     { return new RunLimits(maxSteps, maxCells, d.toNanos(), cancel); }
+    public RunLimits withCancel(AtomicBoolean f) { return new RunLimits(maxSteps, maxCells, timeoutNanos, f); }
+
+    public long maxSteps() { return maxSteps; }
+    public long maxCells() { return maxCells; }
+
+    /** Zeitgrenze je run()‑Aufruf; {@link Duration#ZERO} = keine. */
+    public Duration timeout() { return Duration.ofNanos(timeoutNanos); }
+
+    /** Startet die Überwachung für einen run()‑Aufruf (fixiert die Deadline). */
+    public Watch start() {
+        long deadline = timeoutNanos == 0 ? 0 : System.nanoTime() + timeoutNanos;
+        return new Watch(deadline);
+    }
+
+    /** Laufzeitüberwachung eines einzelnen run()‑Aufrufs. */
+    public final class Watch {
+        private final long deadline;
+
+        private Watch(long deadline) { this.deadline = deadline; }
+
+        /**
+         * Prüft Abbruch, Deadline und Zellgrenze.
+         * @param cells aktueller Bandumfang in Zellen
+         * @return Grund zum Anhalten oder {@code null}
+         */
+        public Outcome check(long cells) {
+            if (cancel != null && cancel.get()) return Outcome.CANCELLED;
+            if (deadline != 0 && System.nanoTime() - deadline >= 0) return Outcome.TIMEOUT;
+            if (cells > maxCells) return Outcome.LIMIT;
+            return null;
+        }
+    }
+
+    /** Lauf in Scheiben zu höchstens size Schritten; die Deadline beginnt jetzt. */
+    public Slices slices(long size) {
+        return new Slices(size, timeoutNanos == 0 ? 0 : System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * Scheiben eines Laufs: jede mit der Schrittgrenze min(maxSteps, Stand +
+     * Scheibe) und der verbleibenden Zeit bis zur gemeinsamen Deadline.
+     */
+    public final class Slices {
+        private final long size;
+        private final long deadline;    // 0 = keine
+        private boolean more;
+
+        private Slices(long size, long deadline) {
+            this.size     = size;
+            this.deadline = deadline;
+        }
+
+        /** Rechnet die nächste Scheibe. */
+        public Outcome next(Simulator engine, MachineDefinition machine, Configuration config) {
+            return next(engine, machine, config, size);
+        }
+
+        /** Rechnet die nächste Scheibe mit höchstens n Schritten. */
+        public Outcome next(Simulator engine, MachineDefinition machine, Configuration config, long n) {
+            long end = n >= maxSteps - config.steps() ? maxSteps : config.steps() + n;
+            RunLimits slice = withMaxSteps(end);
+            more = false;
+            if (deadline != 0) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) return Outcome.TIMEOUT;
+                slice = slice.withTimeout(Duration.ofNanos(left));
+            }
+            Outcome o = engine.run(machine, config, slice);
+            more = o == Outcome.LIMIT && config.steps() == end && end < maxSteps;
+            return o;
+        }
+
+        /** Endete die letzte Scheibe nur an ihrer eigenen Grenze (der Lauf geht weiter)? */
+        public boolean more() { return more; }
+    }
+
+    /* –– CLI –– */
+
+    /**
+     * Entnimmt {@code --max-steps N}, {@code --max-cells N} und
+     * {@code --timeout SEKUNDEN} aus args und liefert die Grenzen; alle
+     * übrigen Argumente bleiben in der Liste.
+     */
+    public static RunLimits fromArgs(List<String> args) {
+        RunLimits limits = NONE;
+        for (int i = 0; i < args.size(); ) {
+            String opt = args.get(i);
+            if (!opt.equals("--max-steps") && !opt.equals("--max-cells") && !opt.equals("--timeout")) { i++; continue; }
+            if (i + 1 >= args.size()) throw new IllegalArgumentException("Wert für " + opt + " fehlt");
+            String value = args.get(i + 1);
+            limits = switch (opt) {
+                case "--max-steps" -> limits.withMaxSteps(Long.parseLong(value));
+                case "--max-cells" -> limits.withMaxCells(Long.parseLong(value));
+                default            -> limits.withTimeout(Duration.ofMillis((long) (Double.parseDouble(value) * 1000)));
+            };
+            args.subList(i, i + 2).clear();
+        }
+        return limits;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Gemeinsame Schnittstelle aller Simulations‑Engines.
+ *
+ * Eine Engine führt eine {@link MachineDefinition} ab einer gegebenen
+ * {@link Configuration} aus und schreibt Zustand, Kopf, Schrittzähler und
+ * Band in diese Konfiguration zurück. Alle Engines müssen für dieselbe
+ * Eingabe exakt dieselbe Endkonfiguration liefern wie der {@link Interpreter};
+ * sie unterscheiden sich nur im Tempo.
+ */
+public interface Simulator {
+
+    /** Kurzname für Ausgaben und Benchmarks. */
+    String name();
+
+    /**
+     * Simuliert bis HALT gemäß {@link HaltingSemantics} der Maschine oder bis
+     * eine Grenze erreicht ist ({@link Outcome#LIMIT}). Schrittgrenzen gelten
+     * exakt: config.steps() überschreitet limits.maxSteps() nie.
+     */
+    Outcome run(MachineDefinition machine, Configuration config, RunLimits limits);
+
+    /** Simuliert ohne Grenzen bis HALT. */
+    default Outcome run(MachineDefinition machine, Configuration config) {
+        return run(machine, config, RunLimits.NONE);
+    }
+
+    /**
+     * Wie {@link #run} in Scheiben zu slice Schritten ({@link RunLimits#slices});
+     * onSlice läuft zwischen zwei Scheiben, nicht nach der letzten.
+     */
+    static Outcome runSliced(Simulator engine, MachineDefinition machine, Configuration config,
+                             RunLimits limits, long slice, Runnable onSlice) {
+        RunLimits.Slices slices = limits.slices(slice);
+        while (true) {
+            Outcome o = slices.next(engine, machine, config);
+            if (!slices.more()) return o;
+            onSlice.run();
+        }
+    }
+
+    /** Alle verfügbaren Engines. */
+    static java.util.List<Simulator> all() {
+        return java.util.List.of(new Interpreter(), new MacroSimulator(), new CompiledSimulator());
+    }
+
+    /** Engine nach {@link #name()}. */
+    static Simulator named(String name) {
+        for (Simulator s : all()) if (s.name().equals(name)) return s;
+        throw new IllegalArgumentException("Unbekannte Engine: " + name);
+    }
+}
@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Spekulative Block‑Engine (experimentell)
+ * ========================================
+ * Ein einzelner Lauf ist sequenziell – wo der Kopf als Nächstes ist, hängt
+ * vom vorigen Schritt ab. Zerlegt man das Band aber in Blöcke zu
+ * {@link #BLOCK} Zellen, so ist der Weg durch einen Block eine Funktion
+ *
+ *     Σ(Inhalt, q, Eintritt) = (Inhalt', q', Austritt, Schritte)
+ *
+ * und ein Lauf die Hintereinanderausführung solcher Zusammenfassungen –
+ * zusammensetzbar wie bei einem Präfix‑Scan. Während der Hauptthread
+ * Zusammenfassungen anwendet (Block kopieren statt Schritte rechnen),
+ * berechnen Worker eines {@link ForkJoinPool}s die Blöcke voraus:
+ *
+ * ▸ Vorhersage – verlässt der Kopf einen Block nach rechts in q, werden die
+ *   nächsten {@code ahead} Blöcke mit Eintritt links in q angenommen (Sweeps
+ *   behalten ihren Zustand meist bei); nach links gespiegelt.
+ * ▸ Prüfung – beim Eintritt wird der vorhergesagte Schlüssel (Inhalt beim
+ *   Einreichen, Zustand, Eintrittszelle) mit dem tatsächlichen verglichen;
+ *   nur bei Gleichheit wird das Ergebnis übernommen. Die Worker lesen nie
+ *   das Band, nur ihre Kopie.
+ * ▸ Wiederverwendung – alle Zusammenfassungen landen in einem Cache; gleiche
+ *   Blöcke (lange Sweeps über gleichförmige Bereiche) kosten danach nur
+ *   noch Nachschlagen und Kopieren.
+ * ▸ Rückfall – trifft im Fenster von {@link #WINDOW} Blockeintritten weniger
+ *   als {@link #MIN_HIT_RATE} (Cache oder bestätigte Spekulation), rechnet
+ *   der {@link Interpreter} {@link #SEQUENTIAL} Schritte am Stück; ebenso
+ *   bei Schleifen innerhalb eines Blocks und vor der Schrittgrenze.
+ *
+ * Endkonfiguration exakt wie beim {@link Interpreter}. Die Zellgrenze greift
+ * je Blockeintritt; {@link #stats()} liefert die Trefferquoten des letzten
+ * Laufs, {@code java Benchmark speculative} den Vergleich mit der
+ * einfachen Schleife.
+ */
+public final class SpeculativeSimulator implements Simulator {
+    static final int BLOCK                = 128;
+    static final int WINDOW               = 1024;           // Blockeintritte je Bewertung
+    static final double MIN_HIT_RATE      = 0.5;
+    static final long SEQUENTIAL          = 1 << 22;        // Schritte je Rückfall
+    private static final int LOOP_CAP     = 1 << 14;        // Schritte je Zusammenfassung
+    private static final int MAX_CACHE    = 1 << 16;
+    private static final int CHECK_BLOCKS = 1 << 10;
+
+    /** Eintritt in einen Block: Inhalt, Zustand, Zelle (0‥BLOCK−1). */
+    private record Key(byte[] cells, int state, int entry) {
+        @Override public boolean equals(Object o) {
+            return o instanceof Key k && state == k.state && entry == k.entry && Arrays.equals(cells, k.cells);
+        }
+        @Override public int hashCode() { return (Arrays.hashCode(cells) * 31 + state) * 31 + entry; }
+    }
+
+    /** Weg durch einen Block; head relativ zum Block (−1 bzw. BLOCK = verlassen). */
+    private record Summary(byte[] cells, int state, int head, int steps, boolean halted) { }
+
+    /** Zusammenfassung für Blöcke mit Schleife (mehr als {@link #LOOP_CAP} Schritte). */
+    private static final Summary LOOP = new Summary(null, -1, 0, 0, false);
+
+    /** Eine eingereichte Vorhersage. */
+    private record Pending(Key key, ForkJoinTask<Summary> task) { }
+
+    /** Trefferstatistik eines Laufs. */
+    public record Stats(long blocks, long cached, long speculated, long confirmed, long missed,
+                        long sequentialSteps, long steps) {
+        @Override
+        public String toString() {
+            return String.format("Blöcke %d: Cache %d, Vorhersagen %d (bestätigt %d, verworfen %d); "
+                    + "sequenziell %d von %d Schritten", blocks, cached, speculated, confirmed, missed,
+                    sequentialSteps, steps);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int ahead;
+    private volatile Stats stats = new Stats(0, 0, 0, 0, 0, 0, 0);
+
+    public SpeculativeSimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SpeculativeSimulator(ForkJoinPool pool) {
+        this.pool  = pool;
+        this.ahead = Math.max(1, pool.getParallelism());
+    }
+
+    @Override
+    public String name() { return "speculative"; }
+
+    /** Statistik des letzten Laufs. */
+    public Stats stats() { return stats; }
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        Tape tape   = config.tape();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+        RunLimits.Slices slices = limits.slices(SEQUENTIAL);
+
+        Map<Key, Summary> cache = new ConcurrentHashMap<>();
+        Map<Long, Pending> pending = new HashMap<>();
+        long blocks = 0, cached = 0, speculated = 0, confirmed = 0, missed = 0, sequential = 0;
+        long windowStart = 0, windowHits = 0, start = config.steps();
+
+        int  state = config.state();
+        int  head  = config.head();
+        long steps = config.steps();
+        Outcome outcome = null;
+        try {
+            while (state != stop) {
+                if (blocks % CHECK_BLOCKS == 0 && (outcome = watch.check(tape.cells())) != null) break;
+
+                boolean fallback = false;
+                if (blocks - windowStart >= WINDOW) {
+                    fallback    = windowHits < MIN_HIT_RATE * (blocks - windowStart);
+                    windowStart = blocks;
+                    windowHits  = 0;
+                }
+
+                long b = Math.floorDiv(head, BLOCK);
+                int base = (int) (b * BLOCK);
+                Key key = null;
+                Summary s = null;
+                if (!fallback) {
+                    byte[] cells = new byte[BLOCK];
+                    tape.read(base, cells, 0, BLOCK);
+                    key = new Key(cells, state, head - base);
+                    blocks++;
+                    Pending p = pending.remove(b);
+                    if ((s = cache.get(key)) != null) {
+                        cached++;
+                        windowHits++;
+                    } else if (p != null && p.key().equals(key)) {
+                        s = p.task().join();
+                        confirmed++;
+                        windowHits++;
+                    } else {
+                        if (p != null) missed++;
+                        s = summarize(delta, stop, key);
+                        cache.put(key, s);
+                    }
+                }
+
+                if (fallback || s == LOOP || steps + s.steps() > max) {
+                    /* Interpreter am Stück: exakt bis zur Schrittgrenze, sonst SEQUENTIAL Schritte */
+                    config.update(state, head, steps);
+                    Outcome o = fallback || s == LOOP
+                            ? slices.next(new Interpreter(), machine, config)
+                            : slices.next(new Interpreter(), machine, config, max - steps);
+                    sequential += config.steps() - steps;
+                    state = config.state();
+                    head  = config.head();
+                    steps = config.steps();
+                    if (!slices.more()) { outcome = o; break; }
+                    if (fallback) pending.clear();
+                    continue;
+                }
+
+                /* Zusammenfassung anwenden: nur den geänderten Bereich schreiben */
+                int lo = 0, hi = BLOCK - 1;
+                while (lo <= hi && s.cells()[lo] == key.cells()[lo]) lo++;
+                while (hi >= lo && s.cells()[hi] == key.cells()[hi]) hi--;
+                if (lo <= hi) tape.write(base + lo, s.cells(), lo, hi - lo + 1);
+                state  = s.state();
+                head   = base + s.head();
+                steps += s.steps();
+                if (s.halted()) break;
+
+                /* Nächste Blöcke in Laufrichtung vorausrechnen lassen */
+                if (cache.size() > MAX_CACHE) cache.clear();
+                int dir = s.head() < 0 ? -1 : 1;
+                for (int j = 2; j <= ahead + 1; j++) {
+                    long nb = b + (long) dir * j;
+                    byte[] cells = new byte[BLOCK];
+                    tape.read((int) (nb * BLOCK), cells, 0, BLOCK);
+                    Key k = new Key(cells, state, dir > 0 ? 0 : BLOCK - 1);
+                    Pending old = pending.get(nb);
+                    if (cache.containsKey(k) || old != null && old.key().equals(k)) continue;
+                    pending.put(nb, new Pending(k, pool.submit(() -> cache.computeIfAbsent(k, x -> summarize(delta, stop, x)))));
+                    speculated++;
+                }
+                if (pending.size() > 4 * ahead) {
+                    for (Iterator<Long> it = pending.keySet().iterator(); it.hasNext(); ) {
+                        if (Math.abs(it.next() - b) > ahead + 1) it.remove();
+                    }
+                }
+            }
+        } finally {
+            for (Pending p : pending.values()) p.task().cancel(false);
+        }
+        config.update(state, head, steps);
+        stats = new Stats(blocks, cached, speculated, confirmed, missed, sequential, steps - start);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    /**
+     * Weg durch einen Block ab k: Schritte wie im {@link Interpreter}, bis der
+     * Kopf den Block verlässt, die Maschine hält oder {@link #LOOP_CAP}
+     * Schritte erreicht sind ({@link #LOOP}).
+     */
+    private static Summary summarize(TransitionTable delta, int stop, Key k) {
+        byte[] c = k.cells().clone();
+        int symbols = delta.symbols();
+        int q = k.state(), p = k.entry();
+        for (int n = 0; ; ) {
+            int sym = c[p] & 0xFF;
+            int tr  = sym < symbols ? delta.get(q, sym) : TransitionTable.NONE;
+            if (tr == TransitionTable.NONE) return new Summary(c, q, p, n, true);   // HALT
+            if (n == LOOP_CAP) return LOOP;
+
+            c[p] = (byte) TransitionTable.writeSymbol(tr);
+            p   += TransitionTable.headDelta(tr);
+            q    = TransitionTable.nextState(tr);
+            n++;
+            if (q == stop) return new Summary(c, q, p, n, true);                   // HALT im Akzeptanzzustand
+            if (p < 0 || p >= BLOCK) return new Summary(c, q, p, n, false);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optimierer für die Übergangstabelle
+ * ===================================
+ * Kodierungen aus Generatoren nummerieren Zustände oft weit verstreut
+ * (0ⁱ mit großem i) und enthalten Übergänge, die nie erreicht werden. Die
+ * dichte {@link TransitionTable} hat dann eine Zeile je Nummer bis zur
+ * größten – fast alle leer. Der Optimierer baut daraus eine äquivalente
+ * Maschine in bis zu vier Schritten:
+ *
+ * ▸ Erreichbarkeit  – Breitensuche ab dem Startzustand über alle Einträge;
+ *                     bei sofortigem Halt im Akzeptanzzustand zählen dessen
+ *                     Übergänge nicht (sie werden nie ausgeführt).
+ * ▸ Minimierung     – nur auf Wunsch ({@code minimize}, --minimize):
+ *                     Moore‑Verfeinerung: Zustände mit gleichem Schreib‑
+ *                     symbol, gleicher Richtung und äquivalentem Folgezustand
+ *                     für jedes Symbol (bzw. gleichermaßen ohne Übergang)
+ *                     werden verschmolzen. Der Akzeptanzzustand bleibt allein,
+ *                     da das Ergebnis eines Laufs an ihm hängt.
+ * ▸ Nummerierung    – dicht ab 0 in Reihenfolge der Breitensuche, mit Profil
+ *                     (Besuche je Zustand, siehe {@link Profiler}) absteigend
+ *                     nach Besuchen: heiße Zeilen liegen beieinander im Cache.
+ * ▸ Bericht         – Zustände und Tabelleneinträge vorher/nachher.
+ *
+ * Band, Kopf, Schrittzahl und Ergebnis jedes Laufs bleiben unverändert.
+ * Zustandsnummern sind intern neu; ohne Minimierung ist die Abbildung
+ * eineindeutig und {@link Result#name(int)} liefert exakt den
+ * Originalzustand – auch den Endzustand eines Laufs. Mit Minimierung steht
+ * ein Zustand für seine ganze Klasse, {@code name} liefert dann nur einen
+ * Vertreter (Startzustand bzw. kleinster Name), nicht unbedingt den
+ * Zustand, in dem die Originalmaschine stünde. Nichtdeterministische
+ * Analysen ({@link NondeterministicExplorer}) brauchen alle Übergänge der
+ * Kodierung und arbeiten weiter auf der ursprünglichen Maschine.
+ */
+public final class TableOptimizer {
+
+    private TableOptimizer() {}
+
+    /** Optimierte Maschine samt Zustandsabbildung und Bericht. */
+    public record Result(MachineDefinition machine, int[] names, int[] states, Report report) {
+
+        /** Originalname des optimierten Zustands q (mit Minimierung: Vertreter der Klasse). */
+        public int name(int q) { return names[q]; }
+
+        /** Optimierter Zustand zum Originalzustand q; −1, falls entfernt. */
+        public int state(int q) { return q >= 0 && q < states.length ? states[q] : -1; }
+
+        /** Übersetzt eine Konfiguration der Originalmaschine (in place) für die optimierte. */
+        public Configuration enter(Configuration config) {
+            int q = state(config.state());
+            if (q < 0) throw new IllegalArgumentException("Zustand q" + config.state() + " ist nicht erreichbar und wurde entfernt");
+            config.update(q, config.head(), config.steps());
+            return config;
+        }
+    }
+
+    /** Größe der Tabelle vor und nach der Optimierung. */
+    public record Report(int states, int reachable, int optimized, long cells, long optimizedCells) {
+        public int unreachable() { return states - reachable; }
+        public int merged()      { return reachable - optimized; }
+
+        @Override
+        public String toString() {
+            return String.format("Optimierung: %d → %d Zustände (%d unerreichbar, %d verschmolzen), "
+                            + "Tabelle %d → %d Einträge (%.1f×)",
+                    states, optimized, unreachable(), merged(), cells, optimizedCells,
+                    (double) cells / Math.max(1, optimizedCells));
+        }
+    }
+
+    public static Result optimize(MachineDefinition machine) {
+        return optimize(machine, null);
+    }
+
+    /**
+     * @param visits Besuche je Originalzustand (z. B. {@link #visits(Profiler)});
+     *               {@code null} = Reihenfolge der Breitensuche
+     */
+    public static Result optimize(MachineDefinition machine, long[] visits) {
+        return optimize(machine, visits, false);
+    }
+
+    /**
+     * @param visits   wie bei {@link #optimize(MachineDefinition, long[])}
+     * @param minimize äquivalente Zustände verschmelzen (Zustandsnamen in
+     *                 Ausgaben sind dann nur Vertreter ihrer Klasse)
+     */
+    public static Result optimize(MachineDefinition machine, long[] visits, boolean minimize) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        int symbols = delta.symbols(), states = delta.states();
+        int start = h.startState(), accept = h.acceptState();
+
+        /* 1) Erreichbarkeit: order = Zustände in Reihenfolge der Breitensuche */
+        int[] slot = new int[states];               // Originalzustand → Position in order, −1 = nicht erreicht
+        Arrays.fill(slot, -1);
+        int[] order = new int[states];
+        int n = 0;
+        slot[start] = n;
+        order[n++] = start;
+        for (int i = 0; i < n; i++) {
+            int q = order[i];
+            if (h.haltOnAccept() && q == accept) continue;
+            for (int s = 0; s < symbols; s++) {
+                int tr = delta.get(q, s);
+                if (tr == TransitionTable.NONE) continue;
+                int next = TransitionTable.nextState(tr);
+                if (slot[next] < 0) { slot[next] = n; order[n++] = next; }
+            }
+        }
+        if (slot[accept] < 0) { slot[accept] = n; order[n++] = accept; }   // Nummer für HaltingSemantics
+
+        /* 2) Minimierung: Klassen verfeinern, bis ihre Anzahl stabil ist (sonst je Zustand eine Klasse) */
+        int[] cls = new int[n];
+        for (int i = 0; i < n; i++) cls[i] = minimize ? (order[i] == accept ? 1 : 0) : i;
+        int classes = minimize ? 0 : n;
+        for (int count = !minimize ? n : accept == start && n == 1 ? 1 : 2; count != classes; ) {
+            classes = count;
+            Map<Signature, Integer> ids = new HashMap<>();
+            int[] next = new int[n];
+            for (int i = 0; i < n; i++) {
+                Integer id = ids.putIfAbsent(signature(delta, h, order[i], cls[i], cls, slot), ids.size());
+                next[i] = id == null ? ids.size() - 1 : id;
+            }
+            cls   = next;
+            count = ids.size();
+        }
+
+        /* 3) Nummerierung: erste Fundstelle je Klasse, ggf. stabil nach Besuchen */
+        Integer[] rank = new Integer[classes];
+        int[] first = new int[classes];
+        long[] weight = new long[classes];
+        Arrays.fill(first, -1);
+        for (int i = 0; i < n; i++) {
+            int c = cls[i];
+            if (first[c] < 0) first[c] = i;
+            if (visits != null && order[i] < visits.length) weight[c] += visits[order[i]];
+        }
+        for (int c = 0; c < classes; c++) rank[c] = c;
+        Arrays.sort(rank, (a, b) -> visits != null && weight[a] != weight[b]
+                ? Long.compare(weight[b], weight[a]) : Integer.compare(first[a], first[b]));
+        int[] renumber = new int[classes];
+        for (int k = 0; k < classes; k++) renumber[rank[k]] = k;
+
+        int[] names = new int[classes];
+        Arrays.fill(names, Integer.MAX_VALUE);
+        int[] mapped = new int[states];
+        Arrays.fill(mapped, -1);
+        for (int i = 0; i < n; i++) {
+            int q = order[i], k = renumber[cls[i]];
+            mapped[q] = k;
+            names[k] = q == start || names[k] == start ? start : Math.min(names[k], q);
+        }
+
+        /* 4) Tabelle der optimierten Maschine: eine Zeile je Klasse */
+        List<MachineDefinition.Transition> transitions = new ArrayList<>();
+        for (int k = 0; k < classes; k++) {
+            int q = order[first[rank[k]]];
+            if (h.haltOnAccept() && q == accept) continue;
+            for (int s = 0; s < symbols; s++) {
+                int tr = delta.get(q, s);
+                if (tr == TransitionTable.NONE) continue;
+                transitions.add(new MachineDefinition.Transition(k, s, mapped[TransitionTable.nextState(tr)],
+                        TransitionTable.writeSymbol(tr), tr & 3));
+            }
+        }
+        HaltingSemantics halting = new HaltingSemantics(mapped[start], mapped[accept], h.haltOnAccept());
+        MachineDefinition optimized = MachineDefinition.compile(transitions, machine.alphabet(), halting,
+                MachineDefinition.Duplicates.FIRST_WINS);
+
+        Report report = new Report(states, n, classes, (long) states * symbols,
+                (long) optimized.table().states() * optimized.table().symbols());
+        return new Result(optimized, names, mapped, report);
+    }
+
+    /** Klasse des Zustands plus (Schreibsymbol, Richtung, Folgeklasse) je Symbol; −1 = kein Übergang. */
+    private static Signature signature(TransitionTable delta, HaltingSemantics h, int q, int own, int[] cls, int[] slot) {
+        int symbols = delta.symbols();
+        int[] sig = new int[1 + 2 * symbols];
+        sig[0] = own;
+        boolean halts = h.haltOnAccept() && q == h.acceptState();
+        for (int s = 0; s < symbols; s++) {
+            int tr = halts ? TransitionTable.NONE : delta.get(q, s);
+            sig[1 + 2 * s] = tr == TransitionTable.NONE ? -1 : tr & 0x3FF;             // Schreibsymbol + Richtung
+            sig[2 + 2 * s] = tr == TransitionTable.NONE ? -1 : cls[slot[TransitionTable.nextState(tr)]];
+        }
+        return new Signature(sig);
+    }
+
+    private record Signature(int[] values) {
+        @Override public boolean equals(Object o) { return o instanceof Signature s && Arrays.equals(values, s.values); }
+        @Override public int hashCode()           { return Arrays.hashCode(values); }
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Profile                                                             */
+    /* ------------------------------------------------------------------ */
+
+    /** Besuche je Zustand aus einem Profil der Originalmaschine. */
+    public static long[] visits(Profiler profile) {
+        List<Profiler.StateEntry> states = profile.states();
+        int max = -1;
+        for (Profiler.StateEntry s : states) max = Math.max(max, s.state());
+        long[] visits = new long[max + 1];
+        for (Profiler.StateEntry s : states) visits[s.state()] = s.visits();
+        return visits;
+    }
+
+    /**
+     * Besuche je Zustand aus einem CSV‑Profil ({@link Profiler#writeCsv}):
+     * Summe der Spalte count je state.
+     */
+    public static long[] visits(Path csv) throws IOException {
+        long[] visits = new long[0];
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (line == null || !line.startsWith("state,")) throw new IllegalArgumentException("Kein CSV‑Profil: " + csv);
+            int row = 1;
+            while ((line = in.readLine()) != null) {
+                row++;
+                if (line.isEmpty()) continue;
+                int a = line.indexOf(','), b = line.lastIndexOf(',');
+                try {
+                    int q = Integer.parseInt(line.substring(0, a));
+                    long count = Long.parseLong(line.substring(b + 1));
+                    if (q >= visits.length) visits = Arrays.copyOf(visits, Math.max(q + 1, 2 * visits.length));
+                    visits[q] += count;
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("CSV‑Profil " + csv + ", Zeile " + row + " unlesbar");
+                }
+            }
+        }
+        return visits;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Beidseitig unendliches Band
+ * ===========================
+ * Zellen tragen Symbolindizes (siehe {@link TransitionTable}); die
+ * Kopfposition darf negativ werden. Lesen außerhalb des belegten Bereichs
+ * liefert das Blank‑Symbol ohne zu allozieren, Schreiben außerhalb
+ * reserviert neuen Platz.
+ *
+ * Zwei Darstellungen, gewählt über die Alphabetgröße ({@link #create}):
+ *
+ * ▸ {@link PackedTape} – bis 4 Symbole 2 Bit, bis 16 Symbole 4 Bit pro Zelle
+ *                        in {@code long[]}‑Seiten; Bänder mit Milliarden
+ *                        Zellen bleiben im Speicher.
+ * ▸ {@link ByteTape}   – größere Alphabete, ein Byte pro Zelle.
+ *
+ * Symbolindizes ab der Alphabetgröße dürfen nicht geschrieben werden (die
+ * Maschine schreibt nur Spalten ihrer Tabelle, Eingaben erweitern das
+ * Alphabet vor dem Anlegen des Bandes).
+ */
+public abstract sealed class Tape permits ByteTape, PackedTape {
+
+    Tape() { }
+
+    /** Leeres Band für ein Alphabet mit symbols Zeichen. */
+    public static Tape create(int symbols, int blank) {
+        if (symbols <= 4)  return new PackedTape(2, blank);
+        if (symbols <= 16) return new PackedTape(4, blank);
+        return new ByteTape(blank);
+    }
+
+    public static Tape create(Alphabet alphabet) {
+        return create(alphabet.size(), alphabet.blank());
+    }
+
+    /**
+     * Neues Band, dessen Zellen 0‥n‑1 der Reihe nach über {@link Appender#put}
+     * kommen (Eingabe‑Pipeline, siehe {@link TapeInput}); das Alphabet muss
+     * dabei schon endgültig sein. Die Byte‑Darstellung füllt ihr Zellenarray
+     * direkt, die gepackte ganze Wörter ihrer Seiten – kein Zwischenpuffer
+     * mit einem Byte pro Zelle.
+     */
+    static Appender append(int symbols, int blank, int n) {
+        return switch (create(symbols, blank)) {
+            case ByteTape b   -> b.appender(n);
+            case PackedTape p -> p.appender();
+        };
+    }
+
+    /** Schreibt Zellen ab 0 fortlaufend; {@link #tape()} schließt ab. */
+    abstract static class Appender {
+        abstract void put(int sym);
+
+        /** Das fertige Band; danach kein {@link #put} mehr. */
+        abstract Tape tape();
+    }
+
+    public abstract int blank();
+
+    /** Symbolindex an Position pos (Blank außerhalb des belegten Bereichs). */
+    public abstract int read(int pos);
+
+    public abstract void write(int pos, int sym);
+
+    /** Kopiert die Zellen [from, from+len) nach dst (Blank außerhalb des belegten Bereichs). */
+    public abstract void read(int from, byte[] dst, int off, int len);
+
+    /** Schreibt src[off, off+len) ab Position from. */
+    public abstract void write(int from, byte[] src, int off, int len);
+
+    /** Setzt alle Zellen in [from, to] auf sym. */
+    public abstract void fill(int from, int to, int sym);
+
+    /** Kleinste bzw. größte Position, für die Speicher reserviert ist. */
+    public abstract int low();
+    public abstract int high();
+
+    /** Anzahl reservierter Zellen. */
+    public abstract long cells();
+
+    /** Unabhängige Kopie (z. B. für Schnappschüsse). */
+    public abstract Tape copy();
+
+    /** {@code true}, falls beide Bänder an jeder Position dasselbe Symbol tragen. */
+    public boolean contentEquals(Tape other) {
+        int lo = Math.min(low(), other.low()), hi = Math.max(high(), other.high());
+        for (long p = lo; p <= hi; p++) if (read((int) p) != other.read((int) p)) return false;
+        return true;
+    }
+
+    /**
+     * Rendert die Zellen [from, to] über das Alphabet (Index → Zeichen).
+     * Indizes außerhalb des Alphabets erscheinen als '?'.
+     */
+    public String render(int from, int to, Alphabet alphabet) {
+        StringBuilder sb = new StringBuilder(Math.max(0, to - from + 1));
+        for (long p = from; p <= to; p++) sb.append(alphabet.symbol(read((int) p)));
+        return sb.toString();
+    }
+}
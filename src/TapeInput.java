@@ -0,0 +1,195 @@
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Eingabe‑Pipeline: Startkonfigurationen aus großen Eingaben
+ * ==========================================================
+ * Schreibt das Startband fortlaufend über {@link Tape#append} – ohne
+ * Zwischen‑String und ohne Puffer mit einem Byte pro Zelle (gepackte Bänder
+ * bekommen ganze Wörter, Eingaben mit Milliarden Zellen passen also):
+ *
+ * ▸ dezimal → binär : Ziffern per Teile‑und‑herrsche in eine {@link BigInteger}
+ *                     (v = oben · 10ᵏ + unten, Zehnerpotenzen 10^(L·2ⁱ) durch
+ *                     Quadrieren), danach Bits linear über {@code toByteArray}
+ *                     (ein Bit pro Zelle als Zwischenstand).
+ *                     Mit Karatsuba/Toom‑Cook der BigInteger‑Multiplikation
+ *                     subquadratisch; {@code new BigInteger(String)} und
+ *                     {@code toString(2)} sind für Millionen Ziffern quadratisch.
+ * ▸ roh             : jedes Byte ist ein Bandzeichen (binäre und unäre Eingaben),
+ *                     Zuordnung über eine 128er‑Tabelle; ein erster Durchgang
+ *                     legt das Alphabet (und damit die Darstellung) fest.
+ * ▸ unär            : n gleiche Zellen per {@link Tape#fill}.
+ *
+ * Dateien werden eingeblendet (mmap) statt gelesen. Zeichen, die die Maschine
+ * nicht kennt, erweitern wie bei {@link Configuration#initial} das Alphabet.
+ */
+public final class TapeInput {
+    private static final int LEAF = 512;                 // Ziffern, ab denen geteilt wird
+
+    private TapeInput() { }
+
+    /* ------------------------------------------------------------------ */
+    /* Startkonfigurationen                                                */
+    /* ------------------------------------------------------------------ */
+
+    /** Binärdarstellung der Dezimalzahl in digits (MSB in Zelle 0; 0 → eine Zelle '0'). */
+    public static Configuration decimal(MachineDefinition machine, ByteBuffer digits) {
+        Alphabet[] a = { machine.alphabet() };
+        int zero = index(a, '0'), one = index(a, '1');
+        BigInteger v = parseDecimal(digits);
+        Tape.Appender cells = Tape.append(a[0].size(), a[0].blank(), Math.max(1, v.bitLength()));
+        bits(v, zero, one, cells);
+        return start(machine, cells.tape(), a[0]);
+    }
+
+    public static Configuration decimal(MachineDefinition machine, CharSequence digits) {
+        return decimal(machine, latin1(digits));
+    }
+
+    /** Jedes Byte ist ein Bandzeichen (Latin‑1); Nicht‑ASCII wird als UTF‑8 gelesen. */
+    public static Configuration raw(MachineDefinition machine, ByteBuffer chars) {
+        int from = chars.position(), n = chars.remaining();
+        Alphabet[] a = { machine.alphabet() };
+        int[] map = new int[128];
+        Arrays.fill(map, -1);
+        for (int i = from; i < from + n; i++) {          // 1. Durchgang: endgültiges Alphabet
+            int c = chars.get(i);
+            if (c < 0) {                                 // Mehrbytezeichen: selten, klein
+                byte[] b = new byte[n];
+                chars.get(from, b);
+                return Configuration.initial(machine, new String(b, StandardCharsets.UTF_8));
+            }
+            if (map[c] < 0) map[c] = index(a, (char) c);
+        }
+        Tape.Appender cells = Tape.append(a[0].size(), a[0].blank(), n);
+        for (int i = from; i < from + n; i++) cells.put(map[chars.get(i)]);
+        return start(machine, cells.tape(), a[0]);
+    }
+
+    /** n Zellen mit dem Zeichen c ab Zelle 0 (z. B. unäre Eingabe 1ⁿ). */
+    public static Configuration unary(MachineDefinition machine, char c, long n) {
+        if (n < 0 || n > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Unäre Eingabe mit " + n + " Zellen nicht unterstützt");
+        Alphabet[] a = { machine.alphabet() };
+        int idx = index(a, c);
+        Tape tape = Tape.create(a[0]);
+        tape.fill(0, (int) n - 1, idx);
+        return start(machine, tape, a[0]);
+    }
+
+    /**
+     * Eingabedatei (eingeblendet, umgebender Leerraum ignoriert): dezimal, falls
+     * {@link #isDecimal} zutrifft, sonst roh.
+     * @param needLargeDigit nur mit mindestens einer Ziffer 2‥9 als dezimal werten
+     *                       (Heuristik von {@code UtmEmulator})
+     */
+    public static Configuration file(MachineDefinition machine, Path file, boolean needLargeDigit) throws IOException {
+        ByteBuffer in = strip(map(file));
+        return isDecimal(in, needLargeDigit) ? decimal(machine, in) : raw(machine, in);
+    }
+
+    private static Configuration start(MachineDefinition machine, Tape tape, Alphabet alphabet) {
+        return new Configuration(tape, alphabet, machine.halting().startState(), 0, 0);
+    }
+
+    /** Alphabet‑Index von c; unbekannte Zeichen werden an a[0] angehängt. */
+    private static int index(Alphabet[] a, char c) {
+        int idx = a[0].indexOf(c);
+        if (idx >= 0) return idx;
+        a[0] = a[0].with(c);
+        return a[0].size() - 1;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Dezimal → binär                                                     */
+    /* ------------------------------------------------------------------ */
+
+    /** Nur Ziffern (und nicht leer); mit needLargeDigit zusätzlich mindestens eine 2‥9. */
+    public static boolean isDecimal(ByteBuffer b, boolean needLargeDigit) {
+        boolean large = !needLargeDigit;
+        for (int i = b.position(); i < b.limit(); i++) {
+            byte c = b.get(i);
+            if (c < '0' || c > '9') return false;
+            large |= c >= '2';
+        }
+        return b.hasRemaining() && large;
+    }
+
+    public static boolean isDecimal(CharSequence s, boolean needLargeDigit) {
+        return isDecimal(latin1(s), needLargeDigit);
+    }
+
+    /**
+     * Wert der Dezimalziffern in digits: v = oben · 10ᵏ + unten mit
+     * k = LEAF · 2ⁱ < Länge, damit jede Zehnerpotenz nur einmal entsteht.
+     */
+    public static BigInteger parseDecimal(ByteBuffer digits) {
+        if (!digits.hasRemaining()) throw new IllegalArgumentException("Leere Dezimalzahl");
+        return parse(digits, digits.position(), digits.limit(), new ArrayList<>());
+    }
+
+    private static BigInteger parse(ByteBuffer d, int from, int to, List<BigInteger> powers) {
+        int n = to - from;
+        if (n <= LEAF) {
+            byte[] b = new byte[n];
+            d.get(from, b);
+            for (int i = 0; i < n; i++) {
+                if (b[i] < '0' || b[i] > '9') throw new IllegalArgumentException("Keine Dezimalziffer an Position " + (from + i));
+            }
+            return new BigInteger(new String(b, StandardCharsets.ISO_8859_1));
+        }
+        int i = 0;
+        while ((long) LEAF << (i + 1) < n) i++;
+        int k = LEAF << i;
+        BigInteger high = parse(d, from, to - k, powers), low = parse(d, to - k, to, powers);
+        return high.multiply(power(powers, i)).add(low);
+    }
+
+    /** 10^(LEAF · 2ⁱ), zwischengespeichert. */
+    private static BigInteger power(List<BigInteger> powers, int i) {
+        if (powers.isEmpty()) powers.add(BigInteger.TEN.pow(LEAF));
+        while (powers.size() <= i) powers.add(powers.get(powers.size() - 1).pow(2));
+        return powers.get(i);
+    }
+
+    /** Binärziffern von v (MSB zuerst) als Symbolindizes zero/one nach out – linear. */
+    static void bits(BigInteger v, int zero, int one, Tape.Appender out) {
+        int length = v.bitLength();
+        if (length == 0) { out.put(zero); return; }
+        byte[] mag = v.toByteArray();                   // big endian, ggf. führendes Vorzeichenbyte
+        int skip = mag.length * 8 - length;             // führende Nullbits
+        for (int i = 0; i < length; i++) {
+            int bit = skip + i;
+            out.put((mag[bit >>> 3] & (0x80 >>> (bit & 7))) != 0 ? one : zero);
+        }
+    }
+
+    /* –– Puffer –– */
+
+    /** Blendet eine Datei ein (höchstens 2 GiB). */
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Eingabedatei größer als 2 GiB: " + file);
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+
+    /** Sicht ohne führenden und abschließenden Leerraum. */
+    public static ByteBuffer strip(ByteBuffer b) {
+        int from = b.position(), to = b.limit();
+        while (from < to && b.get(from) <= ' ') from++;
+        while (to > from && b.get(to - 1) <= ' ') to--;
+        return b.duplicate().position(from).limit(to);
+    }
+
+    private static ByteBuffer latin1(CharSequence s) {
+        return ByteBuffer.wrap(s.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
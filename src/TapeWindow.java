@@ -0,0 +1,71 @@
+/**
+ * Bandausschnitt head ± radius als Ring
+ * =====================================
+ * Statt bei jeder Ausgabe 2·radius + 1 Zellen neu zu lesen, wandert ein Ring
+ * aus Zeichen mit dem Kopf mit. Bei {@link #update} werden nur Zellen neu
+ * gelesen, die
+ *
+ * ▸ neu ins Fenster geschoben wurden, oder
+ * ▸ seit dem letzten Stand beschrieben sein können – nach n Schritten ab
+ *   Kopf h höchstens [h − n, h + n] (der Kopf wandert eine Zelle je Schritt,
+ *   vgl. {@link Checkpoint}).
+ *
+ * Im Step‑Modus (n = 1) sind das höchstens drei Zellen je Ausgabe; nach
+ * einer langen Scheibe wird das Fenster einfach ganz gelesen.
+ */
+public final class TapeWindow {
+    private final int radius;
+    private final char[] ring;
+    private int start;                  // Ringindex der Zelle center − radius
+    private int center;
+    private long steps = -1;            // < 0: noch nichts gelesen
+    private Alphabet alphabet;
+
+    public TapeWindow(int radius) {
+        this.radius = radius;
+        this.ring   = new char[2 * radius + 1];
+    }
+
+    public int radius() { return radius; }
+
+    /** Bringt das Fenster auf den Stand von config (Kopf, Schritte, Band). */
+    public void update(Configuration config) {
+        int width = ring.length, head = config.head();
+        long n = config.steps() - steps;
+        if (steps < 0 || n < 0 || n >= width || config.alphabet() != alphabet
+                || Math.abs((long) head - center) >= width) {
+            alphabet = config.alphabet();
+            read(config, head - radius, head + radius, head);
+        } else {
+            long oldLo = (long) center - radius, oldHi = (long) center + radius;
+            long dirtyLo = center - n, dirtyHi = center + n;
+            start = Math.floorMod(start + (head - center), width);
+            center = head;
+            for (long p = (long) head - radius; p <= (long) head + radius; p++) {
+                if (p < oldLo || p > oldHi || (p >= dirtyLo && p <= dirtyHi)) {
+                    ring[slot(p)] = alphabet.symbol(config.tape().read((int) p));
+                }
+            }
+        }
+        steps = config.steps();
+    }
+
+    /** Der Ausschnitt als Zeichenkette (Zelle head − radius zuerst). */
+    public String render() {
+        char[] out = new char[ring.length];
+        int tail = ring.length - start;
+        System.arraycopy(ring, start, out, 0, tail);
+        System.arraycopy(ring, 0, out, tail, start);
+        return new String(out);
+    }
+
+    private void read(Configuration config, long from, long to, int head) {
+        center = head;
+        start  = 0;
+        for (long p = from; p <= to; p++) ring[(int) (p - from)] = alphabet.symbol(config.tape().read((int) p));
+    }
+
+    private int slot(long p) {
+        return (int) ((start + (p - (center - radius))) % ring.length);
+    }
+}
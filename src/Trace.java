@@ -0,0 +1,312 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ablaufprotokoll (Trace) großer Läufe
+ * ====================================
+ * Eine Engine, die wie der {@link Interpreter} rechnet und dabei ausgewählte
+ * Konfigurationen protokolliert – ohne pro Schritt zu formatieren oder zu
+ * schreiben:
+ *
+ * ▸ Die Simulationsschleife kopiert Schrittzähler, Zustand, Kopf und das
+ *   Bandfenster (±{@link #RADIUS}) als festen Record in einen Ringpuffer.
+ * ▸ Ein Hintergrund‑Thread leert den Ring, formatiert und schreibt in großen
+ *   Blöcken über einen Channel. Ist der Ring voll, wartet die Schleife
+ *   (kein Record geht verloren).
+ * ▸ Stichproben: jeder N‑te Schritt ({@code --trace-every N}) und/oder jeder
+ *   Zustandswechsel ({@code --trace-on-state}); die Endkonfiguration wird
+ *   immer protokolliert.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Formate
+ * ────────────────────────────────────────────────────────────────────────────
+ * text   : Zustand=q3  Band=___01…  Kopf=-2  Schritte=17     (eine Zeile je Record)
+ * binary : Kopf "TMTR" | Version | Radius | Blank | n | n×char,
+ *          dann je Record  Schritte (long) | Zustand | Kopf | (2·Radius+1) Symbolindizes
+ */
+public final class Trace implements Simulator, AutoCloseable {
+    public static final int RADIUS = 15;
+    private static final int WIDTH   = 2 * RADIUS + 1;
+    private static final int SLOTS   = 1 << 14;             // Records im Ring
+    private static final int MAGIC   = 0x544D5452;          // "TMTR"
+    private static final int VERSION = 1;
+
+    public enum Format { TEXT, BINARY }
+
+    /** Kommandozeilenoptionen; {@code every == 0} ohne Zustandswechsel heißt: jeder Schritt. */
+    public record Options(String target, Format format, long every, boolean onStateChange) { }
+
+    private static final WritableByteChannel STDOUT = Channels.newChannel(System.out);
+
+    private final WritableByteChannel out;
+    private final Format format;
+    private final long every;               // 0 = keine periodischen Stichproben
+    private final boolean onStateChange;
+    private final byte[][] glyphs;          // Symbolindex → UTF‑8
+
+    /* Ring: ein Produzent (Simulation), ein Konsument (Schreiber) */
+    private final long[] ringSteps = new long[SLOTS];
+    private final long[] ringPos   = new long[SLOTS];       // Zustand << 32 | Kopf
+    private final byte[] ringCells = new byte[SLOTS * WIDTH];
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed  = new AtomicLong();
+    private long tail;                      // nur Produzent
+    private long next = -1;                 // nächste periodische Stichprobe (über run()‑Aufrufe hinweg)
+    private int  last = -1;                 // zuletzt protokollierter Zustand
+    private long traced = -1;               // Schritt des letzten Records
+    private long seen;                      // zuletzt gesehener consumed‑Wert (Produzent)
+    private volatile boolean closing;
+    private volatile IOException failure;
+    private final Thread writer;
+
+    public Trace(WritableByteChannel out, Alphabet alphabet, Format format, long every, boolean onStateChange) {
+        if (every < 0) throw new IllegalArgumentException("Trace‑Intervall muss ≥ 0 sein");
+        this.out           = out;
+        this.format        = format;
+        this.every         = every == 0 && !onStateChange ? 1 : every;
+        this.onStateChange = onStateChange;
+        this.glyphs        = new byte[TransitionTable.MAX_SYMBOLS][];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = String.valueOf(alphabet.symbol(i)).getBytes(StandardCharsets.UTF_8);
+        }
+        ByteBuffer header = null;
+        if (format == Format.BINARY) {
+            char[] symbols = alphabet.chars();
+            header = ByteBuffer.allocate(20 + 2 * symbols.length)
+                    .putInt(MAGIC).putInt(VERSION).putInt(RADIUS).putInt(alphabet.blank()).putInt(symbols.length);
+            for (char c : symbols) header.putChar(c);
+            header.flip();
+        }
+        ByteBuffer first = header;
+        this.writer = new Thread(() -> drain(first), "trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Öffnet das Ziel aus den Optionen ("-" = Standardausgabe, wird nicht geschlossen). */
+    public static Trace open(Options options, Alphabet alphabet) throws IOException {
+        WritableByteChannel ch = options.target().equals("-")
+                ? STDOUT
+                : FileChannel.open(Path.of(options.target()), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new Trace(ch, alphabet, options.format(), options.every(), options.onStateChange());
+    }
+
+    @Override
+    public String name() { return "trace"; }
+
+    /* ------------------------------------------------------------------ */
+    /* Simulationsschleife                                                */
+    /* ------------------------------------------------------------------ */
+
+    @Override
+    public Outcome run(MachineDefinition machine, Configuration config, RunLimits limits) {
+        TransitionTable delta = machine.table();
+        HaltingSemantics h    = machine.halting();
+        Tape tape   = config.tape();
+        int symbols = delta.symbols();
+        int stop    = h.haltOnAccept() ? h.acceptState() : -1;
+        long max    = limits.maxSteps();
+        RunLimits.Watch watch = limits.start();
+
+        int  state = config.state();
+        int  head  = config.head();
+        long steps = config.steps();
+        long next   = every == 0 ? Long.MAX_VALUE : this.next < 0 ? steps : this.next;
+        int  last   = this.last;
+        long traced = this.traced;
+        int  untilCheck = 1;                                  // Grenzen sofort, dann alle CHECK_INTERVAL Schritte
+
+        Outcome outcome = null;
+        while (true) {
+            if (steps == next || (onStateChange && state != last)) {
+                emit(tape, steps, state, head);
+                traced = steps;
+                last   = state;
+                if (steps == next) next = steps + every;
+            }
+            if (state == stop) break;                          // HALT im Akzeptanzzustand
+            int sym = tape.read(head);
+            int tr  = sym < symbols ? delta.get(state, sym) : TransitionTable.NONE;
+            if (tr == TransitionTable.NONE) break;             // HALT
+            if (steps >= max) { outcome = Outcome.LIMIT; break; }
+            if (--untilCheck == 0) {
+                if ((outcome = watch.check(tape.cells())) != null) break;
+                untilCheck = RunLimits.CHECK_INTERVAL;
+            }
+
+            tape.write(head, TransitionTable.writeSymbol(tr));
+            head  += TransitionTable.headDelta(tr);
+            state  = TransitionTable.nextState(tr);
+            steps++;
+        }
+        if (traced != steps) {                                 // Endkonfiguration
+            emit(tape, steps, state, head);
+            traced = steps;
+        }
+        this.next   = next;
+        this.last   = last;
+        this.traced = traced;
+        config.update(state, head, steps);
+        return outcome != null ? outcome : h.outcome(state);
+    }
+
+    /** Legt einen Record in den Ring; wartet nur, wenn der Ring voll ist. */
+    private void emit(Tape tape, long steps, int state, int head) {
+        if (tail - seen >= SLOTS) {
+            seen = consumed.get();
+            while (tail - seen >= SLOTS) {
+                if (failure != null) throw new UncheckedIOException(failure);
+                LockSupport.parkNanos(50_000);
+                seen = consumed.get();
+            }
+        }
+        int slot = (int) (tail & (SLOTS - 1));
+        ringSteps[slot] = steps;
+        ringPos[slot]   = (long) state << 32 | (head & 0xFFFFFFFFL);
+        tape.read(head - RADIUS, ringCells, slot * WIDTH, WIDTH);
+        published.setRelease(++tail);
+    }
+
+    /** Wartet, bis alle Records geschrieben sind, und schließt das Ziel. */
+    @Override
+    public void close() throws IOException {
+        closing = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (out == STDOUT) System.out.flush();
+        else out.close();
+        if (failure != null) throw failure;
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Schreib‑Thread                                                      */
+    /* ------------------------------------------------------------------ */
+
+    private void drain(ByteBuffer header) {
+        ByteBuffer buf = ByteBuffer.allocate(1 << 18);
+        try {
+            if (header != null) buf.put(header);
+            long done = 0;
+            while (true) {
+                long avail = published.getAcquire();
+                if (avail == done) {
+                    if (closing && published.getAcquire() == done) break;
+                    flush(buf);
+                    LockSupport.parkNanos(200_000);
+                    continue;
+                }
+                for (; done < avail; done++) {
+                    if (buf.remaining() < 256 + 4 * WIDTH) flush(buf);
+                    int slot = (int) (done & (SLOTS - 1));
+                    if (format == Format.BINARY) binary(buf, slot);
+                    else text(buf, slot);
+                }
+                consumed.setRelease(done);
+            }
+            flush(buf);
+        } catch (IOException e) {
+            failure = e;
+            consumed.set(Long.MAX_VALUE / 2);    // Produzent nicht blockieren
+        }
+    }
+
+    private void flush(ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    private void binary(ByteBuffer buf, int slot) {
+        buf.putLong(ringSteps[slot]).putLong(ringPos[slot]).put(ringCells, slot * WIDTH, WIDTH);
+    }
+
+    /* Wie UniversalTMEmulatorAufgabe1.printConfig, aber ohne String‑Formatierung */
+    private static final byte[] STATE = "Zustand=q".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TAPE  = "  Band=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEAD  = "  Kopf=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STEPS = "  Schritte=".getBytes(StandardCharsets.US_ASCII);
+
+    private void text(ByteBuffer buf, int slot) {
+        byte[] a = buf.array();
+        int p = buf.position();
+        long pos = ringPos[slot];
+        p = put(a, p, STATE);
+        p = number(a, p, (int) (pos >>> 32));
+        p = put(a, p, TAPE);
+        for (int i = slot * WIDTH, end = i + WIDTH; i < end; i++) {
+            byte[] g = glyphs[ringCells[i] & 0xFF];
+            if (g.length == 1) a[p++] = g[0];
+            else p = put(a, p, g);
+        }
+        p = put(a, p, HEAD);
+        p = number(a, p, (int) pos);
+        p = put(a, p, STEPS);
+        p = number(a, p, ringSteps[slot]);
+        a[p++] = '\n';
+        buf.position(p);
+    }
+
+    private static int put(byte[] a, int p, byte[] src) {
+        System.arraycopy(src, 0, a, p, src.length);
+        return p + src.length;
+    }
+
+    /** Dezimaldarstellung von v ab a[p]; liefert die neue Position. */
+    private static int number(byte[] a, int p, long v) {
+        if (v < 0) {
+            if (v == Long.MIN_VALUE) return put(a, p, Long.toString(v).getBytes(StandardCharsets.US_ASCII));
+            a[p++] = '-';
+            v = -v;
+        }
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) digits++;
+        for (int i = p + digits - 1; i >= p; i--) {
+            a[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return p + digits;
+    }
+
+    /* –– CLI –– */
+
+    /**
+     * Entnimmt {@code --trace ZIEL}, {@code --trace-every N},
+     * {@code --trace-on-state} und {@code --trace-format text|binary} aus args.
+     * @return Optionen oder {@code null}, falls kein {@code --trace} angegeben ist
+     */
+    public static Options fromArgs(List<String> args) {
+        String target = null;
+        Format format = Format.TEXT;
+        long every = 0;
+        boolean onState = false;
+        for (int i = 0; i < args.size(); ) {
+            String opt = args.get(i);
+            if (opt.equals("--trace-on-state")) { onState = true; args.remove(i); continue; }
+            if (!opt.equals("--trace") && !opt.equals("--trace-every") && !opt.equals("--trace-format")) { i++; continue; }
+            if (i + 1 >= args.size()) throw new IllegalArgumentException("Wert für " + opt + " fehlt");
+            String value = args.get(i + 1);
+            switch (opt) {
+                case "--trace"       -> target = value;
+                case "--trace-every" -> every = Long.parseLong(value);
+                default              -> format = Format.valueOf(value.toUpperCase());
+            }
+            args.subList(i, i + 2).clear();
+        }
+        return target == null ? null : new Options(target, format, every, onState);
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Kompilierte Übergangsfunktion δ
+ * ===============================
+ * Flache, dichte Tabelle über alle Paare (Zustand, Symbolindex). Jeder Eintrag
+ * ist ein einzelnes {@code int}, in dem Folgezustand, Schreibsymbol und
+ * Kopfbewegung gepackt sind:
+ *
+ *     Bits 10‑31 : Folgezustand qₖ
+ *     Bits  2‑9  : Schreibsymbol (Index ins Alphabet der Maschine)
+ *     Bits  0‑1  : Bewegung (1 = L, 2 = R)
+ *
+ * Ein Eintrag {@link #NONE} (= 0) bedeutet „kein Übergang“ → HALT. Da jede
+ * gültige Bewegung ≠ 0 ist, kann ein echter Übergang nie 0 ergeben.
+ *
+ * Die Schleifen der Emulatoren lesen pro Schritt genau ein Array‑Element
+ * und dekodieren es mit Shifts – keine Strings, kein Hashing, kein Boxing.
+ */
+public final class TransitionTable {
+    /* Konstanten ---------------------------------------------------------- */
+    public static final int NONE        = 0;
+    public static final int MOVE_L      = 1;
+    public static final int MOVE_R      = 2;
+    public static final int MAX_SYMBOLS = 1 << 8;    // 8 Bit Schreibsymbol
+    public static final int MAX_STATES  = 1 << 22;   // 22 Bit Folgezustand
+
+    private final int[] cells;     // cells[state * symbols + sym]
+    private final int   states;
+    private final int   symbols;
+
+    private TransitionTable(int[] cells, int states, int symbols) {
+        this.cells   = cells;
+        this.states  = states;
+        this.symbols = symbols;
+    }
+
+    /** Tabelle aus bereits gepackten Einträgen (z. B. aus dem {@link MachineCache}), ohne Prüfung. */
+    static TransitionTable of(int[] cells, int states, int symbols) {
+        return new TransitionTable(cells, states, symbols);
+    }
+
+    /** Gepackte Einträge ohne Kopie – nur lesen. */
+    int[] cells() { return cells; }
+
+    /** Eintrag für (Zustand, Symbolindex); {@link #NONE} falls undefiniert. */
+    public int get(int state, int sym) {
+        return cells[state * symbols + sym];
+    }
+
+    public int states()  { return states; }
+    public int symbols() { return symbols; }
+
+    /** 64‑Bit‑Fingerabdruck (FNV‑1a über alle Einträge) – erkennt abweichende Maschinen. */
+    public long hash() {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ states)  * 0x100000001b3L;
+        h = (h ^ symbols) * 0x100000001b3L;
+        for (int e : cells) h = (h ^ e) * 0x100000001b3L;
+        return h;
+    }
+
+    /* –– Packen / Entpacken –– */
+
+    public static int pack(int nextState, int writeSym, int move) {
+        return nextState << 10 | writeSym << 2 | move;
+    }
+
+    public static int nextState(int entry) { return entry >>> 10; }
+
+    public static int writeSymbol(int entry) { return (entry >>> 2) & 0xFF; }
+
+    /** Kopfversatz −1 (L) bzw. +1 (R), verzweigungsfrei aus den Bits 0‑1. */
+    public static int headDelta(int entry) { return ((entry & 3) << 1) - 3; }
+
+    /* ------------------------------------------------------------------ */
+    /* Builder                                                            */
+    /* ------------------------------------------------------------------ */
+
+    /**
+     * Sammelt Übergänge in beliebiger Zustandsnummerierung und erzeugt daraus
+     * die dichte Tabelle. Die Zeilenzahl ergibt sich aus dem größten
+     * vorkommenden Zustand (Quelle <i>und</i> Ziel), so dass jede erreichbare
+     * Zustandsnummer ohne Bereichsprüfung nachgeschlagen werden kann.
+     */
+    public static final class Builder {
+        private int symbols;
+        private int[] cells = new int[0];
+        private int states;
+
+        public Builder(int symbols) {
+            if (symbols < 1 || symbols > MAX_SYMBOLS) {
+                throw new IllegalArgumentException("Alphabetgröße " + symbols + " nicht unterstützt (1‑" + MAX_SYMBOLS + ")");
+            }
+            this.symbols = symbols;
+        }
+
+        /** Stellt sicher, dass Zustand q eine (ggf. leere) Tabellenzeile besitzt. */
+        public Builder reserve(int q) {
+            if (q < 0 || q >= MAX_STATES) {
+                throw new IllegalArgumentException("Zustand q" + q + " außerhalb des Bereichs (max. " + (MAX_STATES - 1) + ")");
+            }
+            if (q >= states) {
+                states = q + 1;
+                if ((long) states * symbols > cells.length) {
+                    long want = Math.max((long) states * symbols, 2L * cells.length);
+                    if (want > Integer.MAX_VALUE - 8) {
+                        throw new IllegalArgumentException("Übergangstabelle zu groß (" + states + " Zustände × " + symbols + " Symbole)");
+                    }
+                    cells = java.util.Arrays.copyOf(cells, (int) want);
+                }
+            }
+            return this;
+        }
+
+        public int symbols() { return symbols; }
+
+        /** Verbreitert jede Zeile auf n Symbole (neue Spalten ohne Übergang). */
+        public Builder widen(int n) {
+            if (n <= symbols) return this;
+            if (n > MAX_SYMBOLS) {
+                throw new IllegalArgumentException("Alphabetgröße " + n + " nicht unterstützt (1‑" + MAX_SYMBOLS + ")");
+            }
+            if ((long) states * n > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Übergangstabelle zu groß (" + states + " Zustände × " + n + " Symbole)");
+            }
+            int[] next = new int[states * n];
+            for (int q = 0; q < states; q++) System.arraycopy(cells, q * symbols, next, q * n, symbols);
+            cells   = next;
+            symbols = n;
+            return this;
+        }
+
+        /** Setzt δ(from, read) – ein bereits vorhandener Eintrag wird überschrieben. */
+        public Builder put(int from, int read, int to, int write, int move) {
+            int i = slot(from, read, to, write, move);   // kann cells vergrößern
+            cells[i] = pack(to, write, move);
+            return this;
+        }
+
+        /** Setzt δ(from, read) nur, falls noch kein Übergang existiert (erster gewinnt). */
+        public Builder putIfAbsent(int from, int read, int to, int write, int move) {
+            int i = slot(from, read, to, write, move);
+            if (cells[i] == NONE) cells[i] = pack(to, write, move);
+            return this;
+        }
+
+        private int slot(int from, int read, int to, int write, int move) {
+            if (read < 0 || read >= symbols || write < 0 || write >= symbols) {
+                throw new IllegalArgumentException("Symbolindex außerhalb des Alphabets (Größe " + symbols + ")");
+            }
+            if (move != MOVE_L && move != MOVE_R) {
+                throw new IllegalArgumentException("Ungültige Bewegung " + move);
+            }
+            reserve(from);
+            reserve(to);
+            return from * symbols + read;
+        }
+
+        public TransitionTable build() {
+            return new TransitionTable(java.util.Arrays.copyOf(cells, states * symbols), states, symbols);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.List;
+
+/**
+ * Umkehrung von {@link UnaryParser}: Übergänge → Unärkodierung.
+ *
+ * Erzeugt 0ⁱ 1 0ʲ 1 0ᵏ 1 0ˡ 1 0ᵐ je Übergang, getrennt durch die Einsen
+ * des jeweiligen {@link Dialect}s. Symbole werden als Alphabet‑Index
+ * erwartet (Kodierungslänge = Index + 1). k‑Band‑Maschinen im Format von
+ * {@link UnaryParser#multiTape()}.
+ */
+public final class UnaryEncoder {
+    private UnaryEncoder() {}
+
+    public static String encode(List<MachineDefinition.Transition> transitions, Dialect dialect) {
+        StringBuilder sb = new StringBuilder();
+        for (int t = 0; t < transitions.size(); t++) {
+            if (t > 0) sb.repeat('1', dialect.separator);
+            append(sb, transitions.get(t));
+        }
+        return sb.toString();
+    }
+
+    public static String encode(MultiTapeMachine machine, Dialect dialect) {
+        StringBuilder sb = new StringBuilder();
+        sb.repeat('0', machine.tapes());
+        for (MultiTapeMachine.Transition t : machine.transitions()) {
+            sb.repeat('1', dialect.separator);
+            sb.repeat('0', t.state());
+            for (int r : t.read()) sb.append('1').repeat('0', r + 1);
+            sb.append('1').repeat('0', t.next());
+            for (int i = 0; i < machine.tapes(); i++) {
+                sb.append('1').repeat('0', t.write()[i] + 1);
+                sb.append('1').repeat('0', t.move()[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, MachineDefinition.Transition t) {
+        sb.repeat('0', t.state()).append('1');
+        sb.repeat('0', t.read() + 1).append('1');
+        sb.repeat('0', t.next()).append('1');
+        sb.repeat('0', t.write() + 1).append('1');
+        sb.repeat('0', t.move());
+    }
+}
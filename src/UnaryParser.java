@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming‑Parser für die Unärkodierung der Übergangsfunktion.
+ *
+ * Jeder Übergang besteht aus fünf Blöcken 0ⁱ 1 0ʲ 1 0ᵏ 1 0ˡ 1 0ᵐ
+ * (qᵢ, Xⱼ, qₖ, Xˡ, Dₘ); Übergänge werden je nach {@link Dialect} durch
+ * 11 oder 111 getrennt. Die Quelle wird genau einmal Byte für Byte über
+ * einen festen 64‑KiB‑Puffer gelesen – ohne String‑Kopie, split oder Regex.
+ * Der Speicherbedarf hängt nur von der Zahl der Übergänge ab, nicht von der
+ * Länge der Kodierung; Fehler werden mit Byte‑Position gemeldet.
+ *
+ * Optional endet der Programmteil an einem Eingabetrenner 111 (Dateiformat
+ * von {@code UtmEmulator}); der Rest steht dann über {@link #remaining()}
+ * zur Verfügung. k‑Band‑Maschinen haben eine erweiterte Kodierung, siehe
+ * {@link #multiTape()}.
+ */
+public final class UnaryParser {
+    private static final int BUFFER = 1 << 16;
+
+    private final ReadableByteChannel in;
+    private final Dialect dialect;
+    private final boolean lenient;
+    private final byte[] buf = new byte[BUFFER];
+    private final ByteBuffer wrapper = ByteBuffer.wrap(buf);
+    private int idx, len;      // gelesener Pufferbereich [idx, len)
+    private long pos;          // Byte‑Position von peek() in der Quelle
+    private boolean eof;
+    private boolean inputFollows;
+
+    /**
+     * @param lenient alle Zeichen außer 0 und 1 überlesen (Zeilenumbrüche,
+     *                Leerzeichen, Kommentare) statt sie als Fehler zu melden
+     */
+    public UnaryParser(ReadableByteChannel in, Dialect dialect, boolean lenient) {
+        this.in      = in;
+        this.dialect = dialect;
+        this.lenient = lenient;
+    }
+
+    /** Parst eine vollständige Kodierung (ohne Eingabeteil) aus einer Zeichenkette. */
+    public static MachineDefinition parse(CharSequence code, Dialect dialect) {
+        return parse(code, dialect, false);
+    }
+
+    public static MachineDefinition parse(CharSequence code, Dialect dialect, boolean lenient) {
+        return new UnaryParser(channel(code), dialect, lenient).machine(false);
+    }
+
+    /** Parst eine vollständige Kodierung aus einer Datei. */
+    public static MachineDefinition parse(Path file, Dialect dialect, boolean lenient) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new UnaryParser(ch, dialect, lenient).machine(false);
+        }
+    }
+
+    /** Parst eine k‑Band‑Kodierung (siehe {@link #multiTape()}) aus einer Zeichenkette. */
+    public static MultiTapeMachine parseMultiTape(CharSequence code, Dialect dialect, boolean lenient) {
+        return new UnaryParser(channel(code), dialect, lenient).multiTape();
+    }
+
+    /** Kanal über die Zeichen von s (ein Byte je Zeichen, Latin‑1). */
+    public static ReadableByteChannel channel(CharSequence s) {
+        byte[] bytes = s.toString().getBytes(StandardCharsets.ISO_8859_1);
+        return java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes));
+    }
+
+    /** Kanal über die restlichen Bytes von buf (z. B. eine eingeblendete Datei); buf bleibt unverändert. */
+    public static ReadableByteChannel channel(ByteBuffer buf) {
+        ByteBuffer src = buf.duplicate();
+        return new ReadableByteChannel() {
+            private boolean open = true;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!src.hasRemaining()) return -1;
+                int n = Math.min(dst.remaining(), src.remaining());
+                dst.put(dst.position(), src, src.position(), n).position(dst.position() + n);
+                src.position(src.position() + n);
+                return n;
+            }
+
+            @Override public boolean isOpen() { return open; }
+            @Override public void close()     { open = false; }
+        };
+    }
+
+    /* ------------------------------------------------------------------ */
+    /* Programmteil                                                       */
+    /* ------------------------------------------------------------------ */
+
+    /** Überliest führenden Leerraum und optional ein einzelnes Zeichen c. */
+    public UnaryParser skipPrefix(char c) {
+        while (peek() == ' ' || peek() == '\n' || peek() == '\r' || peek() == '\t') advance();
+        if (peek() == c) advance();
+        return this;
+    }
+
+    /**
+     * Liest Übergänge bis zum Quellenende bzw. – mit {@code untilInput} –
+     * bis zum Eingabetrenner 111 und kompiliert die Maschine.
+     */
+    public MachineDefinition machine(boolean untilInput) {
+        MachineDefinition.Builder b = new MachineDefinition.Builder(dialect.symbols.length(), dialect.halting, dialect.duplicates);
+        for (boolean first = true; !atEnd(); first = false) {
+            int i = state("qᵢ");       one();
+            if (first && peek() == '1') {                        // 0ᵏ + Trenner: Bandzahl
+                throw error("Kodierung beginnt mit einer Bandzahl 0^" + i + " (k‑Band‑Maschine); "
+                        + "k‑Band‑Kodierungen lädt nur MultiTapeSimulator bzw. UtmEmulator --tapes");
+            }
+            int j = symbol("Xⱼ");      one();
+            int k = state("qₖ");       one();
+            int l = symbol("Xˡ");      one();
+            int m = move(false);
+            b.add(new MachineDefinition.Transition(i, j - 1, k, l - 1, m));
+
+            if (atEnd()) break;
+            separator();
+            if (untilInput && dialect.separator < 3 && peek() == '1') { // 11 + 1 = Eingabetrenner 111
+                advance();
+                inputFollows = true;
+                break;
+            }
+        }
+        return b.build(dialect.alphabet(b.symbols()));
+    }
+
+    /**
+     * Liest eine k‑Band‑Maschine bis zum Quellenende. Vor den Übergängen
+     * steht die Bandzahl, jeder Übergang hat 2 + 3k Blöcke:
+     *
+     *     0ᵏ <Trenner> Übergang <Trenner> Übergang …
+     *     Übergang = 0^q 1 (0^aₜ 1)ᵏ 0^q' (1 0^bₜ 1 0^dₜ)ᵏ      t = 1‥k
+     *
+     * Bewegungen 1 = L, 2 = R, 3 = S (bleibt stehen); ab 4 in nicht strikten
+     * Dialekten R. Zustände, Symbole, Trenner und Haltekonvention wie im
+     * Dialekt.
+     */
+    public MultiTapeMachine multiTape() {
+        int k = zeros();
+        if (k < 1 || k > MultiTapeMachine.MAX_TAPES) {
+            throw error("Bandzahl 0^" + k + " ungültig (1‑" + MultiTapeMachine.MAX_TAPES + ")");
+        }
+        if (!atEnd()) separator();
+        MultiTapeMachine.Builder b = new MultiTapeMachine.Builder(k, dialect.halting, dialect.duplicates);
+        while (!atEnd()) {
+            int q = state("q");
+            int[] read = new int[k], write = new int[k], move = new int[k];
+            for (int t = 0; t < k; t++) { one(); read[t] = symbol("a" + (t + 1)) - 1; }
+            one();
+            int next = state("q'");
+            for (int t = 0; t < k; t++) {
+                one(); write[t] = symbol("b" + (t + 1)) - 1;
+                one(); move[t]  = move(true);
+            }
+            b.add(new MultiTapeMachine.Transition(q, read, next, write, move));
+
+            if (atEnd()) break;
+            separator();
+        }
+        return b.build(dialect.alphabet(b.symbols()));
+    }
+
+    /** {@code true}, falls {@link #machine(boolean)} an einem Eingabetrenner 111 endete. */
+    public boolean inputFollows() { return inputFollows; }
+
+    /** Alle restlichen Zeichen der Quelle (Eingabeteil). */
+    public String remaining() {
+        StringBuilder sb = new StringBuilder();
+        for (int c; (c = rawPeek()) >= 0; advance()) sb.append((char) c);
+        return sb.toString();
+    }
+
+    /* –– Blöcke –– */
+
+    private int zeros() {
+        int c = 0;
+        while (true) {
+            int start = idx;
+            while (idx < len && buf[idx] == '0') idx++;    // schneller Pfad im Puffer
+            c   += idx - start;
+            pos += idx - start;
+            if (peek() != '0') return c;                    // nachladen bzw. überlesen
+        }
+    }
+
+    private void one() {
+        if (peek() != '1') throw error("'1' erwartet");
+        advance();
+    }
+
+    private int state(String what) {
+        int c = zeros();
+        if (c == 0 && !dialect.zeroStates) throw error("Zustand " + what + " fehlt");
+        return c;
+    }
+
+    private int symbol(String what) {
+        int c = zeros();
+        if (c < 1 || c > dialect.maxSymbolCode()) throw error("Unbekannte Symbolkodierung " + what + " = 0^" + c);
+        return c;
+    }
+
+    /** @param stay D3 = S zulassen (k‑Band‑Kodierung) */
+    private int move(boolean stay) {
+        int m = zeros();
+        if (m == 1) return TransitionTable.MOVE_L;
+        if (m == 3 && stay) return MultiTapeMachine.MOVE_S;
+        if (m == 2 || (m > 2 && !dialect.strictMoves)) return TransitionTable.MOVE_R;
+        throw error("Bewegungsrichtung D" + m + " ungültig (nur 1=L, 2=R" + (stay ? ", 3=S" : "") + " erlaubt)");
+    }
+
+    private void separator() {
+        for (int n = 0; n < dialect.separator; n++) {
+            if (peek() != '1') throw error("Trenner aus " + dialect.separator + " Einsen erwartet");
+            advance();
+        }
+    }
+
+    private boolean atEnd() {
+        int c = peek();
+        return c < 0 || (!lenient && Character.isWhitespace(c) && trailingWhitespaceOnly());
+    }
+
+    /* –– Puffer –– */
+
+    /** Nächstes relevantes Zeichen (im lenient‑Modus nur 0/1), −1 am Ende. */
+    private int peek() {
+        int c = rawPeek();
+        if (lenient) {
+            while (c >= 0 && c != '0' && c != '1') { advance(); c = rawPeek(); }
+        }
+        return c;
+    }
+
+    private int rawPeek() {
+        if (idx == len && !fill()) return -1;
+        return buf[idx] & 0xFF;
+    }
+
+    private void advance() {
+        idx++;
+        pos++;
+    }
+
+    private boolean fill() {
+        if (eof) return false;
+        try {
+            wrapper.clear();
+            int r;
+            do r = in.read(wrapper); while (r == 0);
+            idx = 0;
+            len = Math.max(r, 0);
+            if (r < 0) eof = true;
+            return r > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Nur noch Leerraum bis zum Quellenende? (verbraucht ihn) */
+    private boolean trailingWhitespaceOnly() {
+        for (int c; (c = rawPeek()) >= 0; advance()) {
+            if (!Character.isWhitespace(c)) throw error("Unerwartetes Zeichen '" + (char) c + "'");
+        }
+        return true;
+    }
+
+    private IllegalArgumentException error(String msg) {
+        return new IllegalArgumentException(msg + " an Position " + pos);
+    }
+}
@@ -1,3 +1,5 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 
@@ -6,119 +8,59 @@ public class UniversalTMEmulator {
     // --- 1) Hilfs-Types aus Aufgabe 1 ---
     private enum Dir {L, R}
 
-    private static class Trans {
-        final int nextState;
-        final char write;
-        final Dir dir;
-
-        Trans(int ns, char w, Dir d) {
-            nextState = ns;
-            write = w;
-            dir = d;
-        }
-    }
+    // Tquad-Konvention: ⊔, 1, X, Y; Regeln durch 111 getrennt; Start q0, Akzeptanz q5
+    private static final Dialect DIALECT = Dialect.TQUAD;
 
     // --- 2) Parser: nimmt den langen Binär-String und baut die Übergangstabelle ---
-    private static Map<Integer, Map<Character, Trans>> parseTransitions(String code) {
-        Map<Integer, Map<Character, Trans>> table = new HashMap<>();
-        // Jede Regel ist durch "111" voneinander getrennt
-        String[] rules = code.split("111");
-        for (String rule : rules) {
-            // Teile mit den einzelnen '1'-Trennungen
-            // Achtung: das letzte Feld (Richtung) endet nicht mit '1'
-            String[] parts = rule.split("1");
-            if (parts.length != 5) {
-                throw new RuntimeException("Invalid transition encoding: " + rule);
-            }
-            int from = parts[0].length();          // n Nullen → Zustand n
-            char read = zerosToSymbol(parts[1].length());
-            int to = parts[2].length();
-            char write = zerosToSymbol(parts[3].length());
-            Dir dir = parts[4].length() == 1 ? Dir.L : Dir.R;
-
-            table
-                    .computeIfAbsent(from, k -> new HashMap<>())
-                    .put(read, new Trans(to, write, dir));
-        }
-        return table;
-    }
-
-    // Hilf: wandelt Anzahl von Nullen in das Band-Symbol um
-    private static char zerosToSymbol(int zeros) {
-        switch (zeros) {
-            case 1:
-                return '⊔';   // Blank
-            case 2:
-                return '1';
-            case 3:
-                return 'X';
-            case 4:
-                return 'Y';
-            default:
-                throw new RuntimeException("Unknown symbol encoding of length " + zeros);
-        }
+    private static MachineDefinition parseTransitions(String code) {
+        return UnaryParser.parse(code, DIALECT);
     }
 
     // --- 3) Emulator: führt die TM auf unärer Eingabe aus ---
     private static void simulate(
-            Map<Integer, Map<Character, Trans>> trans,
+            MachineDefinition machine,
             boolean stepMode,
-            String input
+            long n,
+            boolean profile
     ) {
-        // Tape als unendliches Array über HashMap
-        Map<Integer, Character> tape = new HashMap<>();
-        for (int i = 0; i < input.length(); i++) {
-            tape.put(i, input.charAt(i));
-        }
-        int head = 0, state = 0;
-        long steps = 0;
-        final int ACCEPT = 5;  // q_accept ist 5 bei unserem Tquad-Entwurf
+        // unäre Eingabe 1^n direkt aufs Band (ohne String, auch für n im zweistelligen Millionenbereich)
+        Configuration config = TapeInput.unary(machine, '1', n);
 
         // Lauf-Schleife
-        while (true) {
-            char c = tape.getOrDefault(head, '⊔');
-            Trans tr = Optional.ofNullable(trans.get(state))
-                    .map(m -> m.get(c))
-                    .orElse(null);
-            if (tr == null) break;  // keine Regel → halt
-
-            // ausführen
-            steps++;
-            tape.put(head, tr.write);
-            head += (tr.dir == Dir.R ? 1 : -1);
-            state = tr.nextState;
-
-            if (stepMode) {
-                report(state, tape, head, steps, ACCEPT);
+        if (stepMode) {
+            while (Interpreter.step(machine, config)) {
+                report(machine, config);
             }
+        } else if (profile) {
+            Profiler profiler = new Profiler();
+            profiler.run(machine, config);
+            System.out.print(profiler.report());
+        } else {
+            new Interpreter().run(machine, config);
         }
 
         // End-Ausgabe
-        report(state, tape, head, steps, ACCEPT);
+        report(machine, config);
     }
 
     // Hilf: druckt Aufgabe 1-Ausgabe (a–e)
-    private static void report(
-            int state,
-            Map<Integer, Character> tape,
-            int head,
-            long steps,
-            int acceptState
-    ) {
+    private static void report(MachineDefinition machine, Configuration config) {
         // Bandsegment ±15
-        StringBuilder seg = new StringBuilder();
-        for (int i = head - 15; i <= head + 15; i++) {
-            seg.append(tape.getOrDefault(i, '⊔'));
-        }
-        String result = (state == acceptState ? "AKZEPTIERT" : "ABGELEHNT");
+        String seg = config.window(15);
+        Outcome outcome = machine.halting().outcome(config.state());
+        String result = (outcome == Outcome.ACCEPTED ? "AKZEPTIERT" : "ABGELEHNT");
         System.out.printf(
                 "Ergebnis: %s  Zustand=q%d  Band=%s  Kopf=%d  Schritte=%d%n",
-                result, state, seg, head, steps
+                result, config.state(), seg, config.head(), config.steps()
         );
     }
 
     // --- 4) main: baut unseren Tquad automatisch auf und emuliert ---
-    public static void main(String[] args) {
+    //     --batch <von..bis|datei> [Optionen] → paralleler Lauf über viele Eingaben (siehe BatchRunner)
+    //     --profile                            → Schritt-Profil der Läufe im Lauf-Modus (siehe Profiler)
+    //     --binary <datei>                     → Tquad kompakt binär speichern (siehe BinaryFormat)
+    //     n₁ n₂ …                              → eigene Eingaben statt 2, 10, 11, 25
+    public static void main(String[] args) throws Exception {
         // 4.1) Richte die Specs „von Hand“ ein
         List<Spec> specs = Arrays.asList(
                 // q0
@@ -157,22 +99,37 @@ public class UniversalTMEmulator {
         }
         String tmCode = code.toString();
 
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            String[] batch = new String[args.length + 1];
+            batch[0] = DIALECT.name();
+            batch[1] = tmCode;
+            System.arraycopy(args, 1, batch, 2, args.length - 1);
+            BatchRunner.main(batch);
+            return;
+        }
+
+        if (args.length >= 2 && args[0].equals("--binary")) {
+            byte[] bin = BinaryFormat.encode(parseTransitions(tmCode).transitions(), DIALECT, null);
+            Files.write(Path.of(args[1]), bin);
+            System.out.printf("Tquad: %d Zeichen unär → %d Byte binär (%s)%n", tmCode.length(), bin.length, args[1]);
+            return;
+        }
+
+        boolean profile = Arrays.asList(args).contains("--profile");
+        long[] inputs = Arrays.stream(args).filter(a -> a.matches("\\d+")).mapToLong(Long::parseLong).toArray();
+        if (inputs.length == 0) inputs = new long[] {2, 10, 11, 25};   // die vier zu quadrierenden Zahlen
         System.out.println("Tquad TM-Code:");
         System.out.println(tmCode);
 
         // 4.3) Parser
-        Map<Integer, Map<Character, Trans>> trans = parseTransitions(tmCode);
+        MachineDefinition trans = parseTransitions(tmCode);
 
-        // die vier zu quadrierenden Zahlen
-        int[] inputs = {2, 10, 11, 25};
-        for (int n : inputs) {
-            // unäre Kodierung erzeugen: '1' wiederholt n-mal
-            String unaryInput = repeat('1', n);
+        for (long n : inputs) {
             // für kleine n im Step-Modus, sonst im Lauf-Modus
             boolean stepMode = (n <= 2);
             System.out.printf("%n=== Quadrat von %d im %s-Modus ===%n",
                     n, stepMode ? "Step" : "Lauf");
-            simulate(trans, stepMode, unaryInput);
+            simulate(trans, stepMode, n, profile);
 
         }
     }
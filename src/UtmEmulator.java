@@ -1,8 +1,14 @@
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntUnaryOperator;
+import javax.management.JMException;
 
 /**
  * Universal 1‑Band‑Turing‑Maschine — Emulator
@@ -15,13 +21,16 @@ import java.util.regex.Pattern;
  * # Eingabe
  * ────────────────────────────────────────────────────────────────────────────
  * ▸ <transitions>111<input>         … als komplette Zeichenreihe **oder**
- * ▸ input.txt (gleiche Struktur)    … Standard‑Datei.
+ * ▸ input.txt (gleiche Struktur)    … Standard‑Datei, **oder**
+ * ▸ <datei>                         … andere Datei, unär oder kompakt binär
+ *                                     ({@link BinaryFormat}, samt Eingabe).
  *
  * <input> darf
  *   • bereits binär (0/1) **oder**
  *   • dezimal (Ziffern 0‑9) sein.
  * Dezimale Eingaben werden **automatisch** nach Binär konvertiert, sobald
- * mindestens eine Dezimalziffer ›2‹–›9‹ vorkommt (Heuristik aus der Übung).
+ * mindestens eine Dezimalziffer ›2‹–›9‹ vorkommt (Heuristik aus der Übung) –
+ * in beliebiger Größe, siehe {@link TapeInput}.
  *
  * ────────────────────────────────────────────────────────────────────────────
  * # Ausführung‑Modi
@@ -30,6 +39,8 @@ import java.util.regex.Pattern;
  *     »Step‑Modus? (j/n):«
  * • **j** → Step‑Modus  (Pause 300 ms & Status nach jedem Schritt)
  * • **n** → Lauf‑Modus  (alle Schritte ohne Halt; Abschluss‑Summary)
+ * Mit --step bzw. --run entfällt die Frage (Skripte); für viele Läufe ohne
+ * JVM‑Start je Lauf siehe {@link EmulatorServer}.
  *
  * ────────────────────────────────────────────────────────────────────────────
  * # Ausgabe (Pflichtenheft a‑e)
@@ -42,186 +53,411 @@ import java.util.regex.Pattern;
  *
  * Grafische Spielereien (f) sind *nicht* implementiert, können aber über das
  * Datenmodell leicht ergänzt werden.
+ *
+ * ────────────────────────────────────────────────────────────────────────────
+ * # Optionen (vor oder nach der Kodierung)
+ * ────────────────────────────────────────────────────────────────────────────
+ * ▸ --max-steps N / --max-cells N / --timeout s   … Grenzen, siehe {@link RunLimits}
+ * ▸ --checkpoint datei [--checkpoint-every s]    … periodische Sicherung
+ *                                                   (Standard alle 10 s); nur im
+ *                                                   Lauf‑Modus (schließt ihn ein)
+ * ▸ --resume                                      … setzt den Lauf aus der
+ *                                                   Checkpoint‑Datei fort; die
+ *                                                   Maschine muss übereinstimmen
+ * ▸ --trace datei|- [--trace-every N] [--trace-on-state] [--trace-format text|binary]
+ *                                                 … Ablaufprotokoll im Lauf‑Modus
+ *                                                   (schließt ihn ein; schnell, siehe
+ *                                                   {@link Trace})
+ * ▸ --detect-cycles                               … erkennt Endlosschleifen (auch
+ *                                                   verschobene) und endet dann mit
+ *                                                   NON_HALTING samt Länge, Beginn und
+ *                                                   Drift, siehe {@link CycleDetector};
+ *                                                   nur im Lauf‑Modus (schließt ihn ein),
+ *                                                   nicht mit --checkpoint oder --metrics
+ * ▸ --profile [--profile-dump datei.csv|.json]    … zählt Schritte je Übergang und
+ *                                                   Zustand, Kopfwenden und Band‑
+ *                                                   ausdehnung; Bericht nach dem Lauf,
+ *                                                   siehe {@link Profiler}; nur im
+ *                                                   Lauf‑Modus (schließt ihn ein)
+ * ▸ --input datei                                 … Eingabe aus eigener Datei (dezimal, binär
+ *                                                   oder unär; eingeblendet statt gelesen),
+ *                                                   ersetzt den Teil nach '111'
+ * ▸ --cache verzeichnis / --no-cache             … Cache kompilierter Maschinen
+ *                                                   (Standard ~/.cache/turing-machines,
+ *                                                   siehe {@link MachineCache})
+ * ▸ --optimize [--optimize-profile datei.csv]     … entfernt unerreichbare Zustände
+ *                                                   und nummeriert dicht (mit CSV‑Profil
+ *                                                   nach Besuchen), siehe
+ *                                                   {@link TableOptimizer}; Ausgaben
+ *                                                   nennen exakt die Originalzustände
+ * ▸ --minimize                                    … zusätzlich äquivalente Zustände
+ *                                                   verschmelzen (schließt --optimize
+ *                                                   ein); Zustandsnamen in Ausgaben
+ *                                                   sind dann Vertreter ihrer Klasse
+ * ▸ --ntm [--max-configs N] [--threads N]         … nichtdeterministisch: nutzt
+ *                                                   alle Übergänge je (q, sym),
+ *                                                   Breitensuche nach dem kürzesten
+ *                                                   akzeptierenden Pfad
+ * ▸ --tapes <kodierung|datei> [eingabe] [--check] … k‑Band‑Maschine (Kodierung mit
+ *                                                   Bandzahl, siehe {@link UnaryParser#multiTape})
+ *                                                   über {@link MultiTapeSimulator}: Endstand,
+ *                                                   alle Bänder und Köpfe; Grenzen wie oben
+ * ▸ --metrics port                                … Laufzeitmetriken (Schritte/s,
+ *                                                   Zustand, Kopf, Band, Speicher,
+ *                                                   Checkpoint‑Rückstand) als MBean
+ *                                                   und unter http://127.0.0.1:port/metrics
+ *                                                   (0 = freier Port), siehe {@link Metrics}
+ * Strg‑C bricht einen Lauf ab und gibt (und sichert) den Zwischenstand aus.
  * ---------------------------------------------------------------------------
  */
 public class UtmEmulator {
     /* Konstanten ---------------------------------------------------------- */
-    private static final int START_STATE    = 1;
-    private static final int ACCEPT_STATE   = 2;    // akzeptierend (läuft weiter!)
     private static final int WINDOW         = 15;   // ±15 Zellen Band‑Fenster
     private static final int STEP_DELAY_MS  = 300;  // Verzögerung im Step‑Modus
+    private static final int CHECKPOINT_S   = 10;   // Standard‑Checkpoint‑Intervall
+    private static final long MAX_CONFIGS   = 10_000_000; // NTM‑Suche: Standardgrenze
+    private static final int PATH_SHOWN     = 40;   // NTM: angezeigte Pfadschritte
 
-    /* Transition‑Record --------------------------------------------------- */
-    private record Transition(int nextState, char writeSym, int moveDir) {}
-
-    /* Delta‑Funktion: key="q,sym" → (alle Übergänge in Einfügereihenfolge) */
-    private static Map<String, List<Transition>> delta;
+    /* Kodierung & Haltekonvention: Start q1, Akzeptanz q2 (läuft weiter!) */
+    private static final Dialect DIALECT = Dialect.LECTURE;
 
     /* --------------------------------------------------------------------- */
     public static void main(String[] args) {
         /* ------------------------------------------------------------
-         * 1) Quell‑Kodierung besorgen
+         * 1) Quell‑Kodierung öffnen
          * ------------------------------------------------------------ */
-        String encoded;
-        if (args.length > 0) {
-            // Erste CLI‑Zeichenkette als Kodierung interpretieren
-            encoded = String.join(" ", args).strip();
-        } else {
-            // Fallback: input.txt lesen (leer → Fehlermeldung)
+        List<String> rest = new ArrayList<>(List.of(args));
+        if (rest.remove("--tapes")) {
+            rest.addAll(List.of("--dialect", DIALECT.name()));
             try {
-                encoded = Files.readString(Path.of("input.txt")).strip();
+                MultiTapeSimulator.main(rest.toArray(String[]::new));
             } catch (IOException e) {
-                System.err.println("FEHLER: input.txt konnte nicht gelesen werden: " + e.getMessage());
-                return;
+                System.err.println("FEHLER: " + e.getMessage());
             }
+            return;
         }
-
-        if(encoded.startsWith("1")){
-            encoded = encoded.substring(1);
+        RunLimits limits;
+        Path checkpoint;
+        Duration every;
+        boolean resume;
+        Trace.Options trace;
+        boolean ntm;
+        boolean cycles;
+        Path profile;
+        boolean profiling;
+        boolean optimize, minimize;
+        Path hotness;
+        long maxConfigs;
+        int threads;
+        MachineCache cache;
+        Path input;
+        int metricsPort;
+        Boolean mode;
+        try {
+            limits = RunLimits.fromArgs(rest);      // --max-steps / --max-cells / --timeout
+            String file = takeOption(rest, "--checkpoint");
+            String secs = takeOption(rest, "--checkpoint-every");
+            checkpoint  = file == null ? null : Path.of(file);
+            every       = Duration.ofMillis((long) (1000 * (secs == null ? CHECKPOINT_S : Double.parseDouble(secs))));
+            resume      = rest.remove("--resume");
+            trace       = Trace.fromArgs(rest);
+            ntm         = rest.remove("--ntm");
+            cycles      = rest.remove("--detect-cycles");
+            String dump = takeOption(rest, "--profile-dump");
+            profile     = dump == null ? null : Path.of(dump);
+            profiling   = rest.remove("--profile") || profile != null;
+            String hot  = takeOption(rest, "--optimize-profile");
+            hotness     = hot == null ? null : Path.of(hot);
+            minimize    = rest.remove("--minimize");
+            optimize    = rest.remove("--optimize") || hotness != null || minimize;
+            String mc   = takeOption(rest, "--max-configs");
+            String th   = takeOption(rest, "--threads");
+            maxConfigs  = mc == null ? MAX_CONFIGS : Long.parseLong(mc);
+            threads     = th == null ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(th);
+            boolean step = rest.remove("--step"), runMode = rest.remove("--run");
+            mode        = step ? Boolean.TRUE : runMode ? Boolean.FALSE : null;     // sonst interaktiv fragen
+            String in   = takeOption(rest, "--input");
+            input       = in == null ? null : Path.of(in);
+            String mp   = takeOption(rest, "--metrics");
+            metricsPort = mp == null ? -1 : Integer.parseInt(mp);
+            String dir  = takeOption(rest, "--cache");
+            cache       = rest.remove("--no-cache") ? MachineCache.memoryOnly()
+                        : dir != null ? new MachineCache(Path.of(dir)) : MachineCache.standard();
+            if (secs != null && checkpoint == null) throw new IllegalArgumentException("--checkpoint-every benötigt --checkpoint <datei>");
+            if (resume && checkpoint == null) throw new IllegalArgumentException("--resume benötigt --checkpoint <datei>");
+            if (profiling && (trace != null || cycles || ntm || Boolean.TRUE.equals(mode)))
+                throw new IllegalArgumentException("--profile ist nicht mit --trace, --detect-cycles, --ntm oder --step kombinierbar");
+            if (optimize && (trace != null || profiling || ntm))
+                throw new IllegalArgumentException("--optimize ist nicht mit --trace, --profile oder --ntm kombinierbar");
+            if (checkpoint != null && Boolean.TRUE.equals(mode)) throw new IllegalArgumentException("--checkpoint ist nicht mit --step kombinierbar");
+            if (trace != null && Boolean.TRUE.equals(mode)) throw new IllegalArgumentException("--trace ist nicht mit --step kombinierbar");
+            if (metricsPort >= 0 && ntm) throw new IllegalArgumentException("--metrics ist nicht mit --ntm kombinierbar");
+            if (cycles && (checkpoint != null || metricsPort >= 0 || Boolean.TRUE.equals(mode)))
+                throw new IllegalArgumentException("--detect-cycles ist nicht mit --checkpoint, --metrics oder --step kombinierbar");
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            return;
         }
 
         /* ------------------------------------------------------------
-         * 2) Programmkodierung / Input voneinander trennen
+         * 2) Übergänge bis zum '111'‑Separator parsen (bzw. aus dem Cache
+         *    laden), Rest als Eingabe übernehmen
          * ------------------------------------------------------------ */
-        int sep = encoded.indexOf("111");
-        if (sep < 0) {
+        MachineCache.Program program;
+        try {
+            Path file = rest.size() == 1 ? Path.of(rest.get(0)) : null;
+            program = file != null && Files.isRegularFile(file)
+                    // Einzelnes Argument, das eine Datei benennt (unär oder binär)
+                    ? cache.program(file, DIALECT)
+                    : !rest.isEmpty()
+                    // Übrige CLI‑Zeichenketten als Kodierung interpretieren
+                    ? cache.program(ByteBuffer.wrap(String.join(" ", rest).getBytes(StandardCharsets.ISO_8859_1)), DIALECT)
+                    // Fallback: input.txt eingeblendet lesen (leer → Fehlermeldung)
+                    : cache.program(Path.of("input.txt"), DIALECT);
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            return;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("FEHLER: input.txt konnte nicht gelesen werden: " + e.getMessage());
+            return;
+        }
+        if (!program.inputFollows() && input == null) {
             System.err.println("FEHLER: Kein '111'‑Separator gefunden.");
             return;
         }
-
-        String transEnc = encoded.substring(0, sep);
-        String payload  = encoded.substring(sep + 3);
+        MachineDefinition machine = program.machine();
 
         /* ------------------------------------------------------------
-         * 3) Eingabe auf Binärformat normalisieren
+         * 3) Eingabe auf Binärformat normalisieren und aufs Band laden
          * ------------------------------------------------------------ */
-        payload = payload.strip();
-        payload = autoConvertDecimalToBinary(payload);
+        Configuration start;
+        try {
+            start = resume && !ntm ? null
+                  : input != null  ? TapeInput.file(machine, input, true)
+                  : initial(machine, program.input().strip());
+        } catch (IllegalArgumentException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+            return;
+        } catch (IOException e) {
+            System.err.println("FEHLER: Eingabedatei konnte nicht gelesen werden: " + e.getMessage());
+            return;
+        }
 
         /* ------------------------------------------------------------
-         * 4) Ausführungsmodus wählen (Step/Run)
+         * 4) Ausführungsmodus wählen (Step/Run/NTM)
          * ------------------------------------------------------------ */
-        boolean stepMode = askForStepMode();
+        if (ntm) {
+            try {
+                explore(machine, start, cancelOnShutdown(limits), maxConfigs, threads);
+            } catch (IllegalArgumentException | InterruptedException e) {
+                System.err.println("FEHLER: " + e.getMessage());
+            }
+            return;
+        }
+        IntUnaryOperator names = q -> q;
+        if (optimize) {
+            try {
+                TableOptimizer.Result opt = TableOptimizer.optimize(machine,
+                        hotness == null ? null : TableOptimizer.visits(hotness), minimize);
+                System.out.println(opt.report());
+                machine = opt.machine();
+                if (start != null) opt.enter(start);
+                names = opt::name;
+            } catch (IllegalArgumentException e) {
+                System.err.println("FEHLER: " + e.getMessage());
+                return;
+            } catch (IOException e) {
+                System.err.println("FEHLER: Profil konnte nicht gelesen werden: " + e.getMessage());
+                return;
+            }
+        }
+        boolean stepMode = mode != null ? mode : !cycles && !profiling && trace == null && checkpoint == null && askForStepMode();
 
         /* ------------------------------------------------------------
-         * 5) Übergänge parsen & Simulation starten
+         * 5) Simulation starten
          * ------------------------------------------------------------ */
+        Metrics metrics = null;
         try {
-            delta = parseTransitions(transEnc);
-            run(payload, stepMode);
+            Checkpoint cp = checkpoint == null ? null : new Checkpoint(checkpoint, machine, every);
+            Configuration config = resume ? cp.resume() : start;
+            Profiler profiler = profiling ? new Profiler() : null;
+            if (metricsPort >= 0) {
+                metrics = new Metrics(config, names);
+                metrics.register();
+                int port = metrics.serve(metricsPort);
+                System.err.println("Metriken: http://127.0.0.1:" + port + "/metrics, MBean " + Metrics.OBJECT_NAME);
+                if (cp != null) cp.observe(metrics);
+            }
+            run(machine, config, stepMode, cancelOnShutdown(limits), cp, trace, cycles, profiler, metrics, names);
+            if (profiler != null) {
+                System.out.print(profiler.report());
+                if (profile != null) profiler.dump(profile);
+            }
         } catch (IllegalArgumentException | InterruptedException e) {
             System.err.println("FEHLER: " + e.getMessage());
+        } catch (IOException | JMException e) {
+            System.err.println("FEHLER: " + e.getMessage());
+        } finally {
+            if (metrics != null) metrics.close();
         }
     }
 
     /* –– Hilfsroutinen –– */
 
-    /** Konvertiert automatisch Dezimal → Binär, wenn offenbar dezimal. */
-    private static String autoConvertDecimalToBinary(String s) {
-        if (s.isEmpty()) return "";
-        // Enthält s ausschließlich Ziffern 0‑9 *und* mindestens eine von 2‑9?
-        if (Pattern.matches("[0-9]+", s) && Pattern.compile("[2-9]").matcher(s).find()) {
-            return Integer.toBinaryString(Integer.parseInt(s));
-        }
-        return s; // bereits Binär (0/1) oder eindeutiger Mix
+    /**
+     * Startkonfiguration; konvertiert automatisch Dezimal → Binär, wenn offenbar
+     * dezimal (ausschließlich Ziffern 0‑9 *und* mindestens eine von 2‑9),
+     * beliebig groß und direkt ins Band (siehe {@link TapeInput}).
+     */
+    private static Configuration initial(MachineDefinition machine, String s) {
+        ByteBuffer chars = ByteBuffer.wrap(s.getBytes(StandardCharsets.ISO_8859_1));
+        return TapeInput.isDecimal(chars, true)
+                ? TapeInput.decimal(machine, chars)
+                : TapeInput.raw(machine, chars);       // bereits Binär (0/1) oder eindeutiger Mix
     }
 
-    /** Fragt interaktiv ab, ob der Step‑Modus gewählt wird. */
+    /**
+     * Entnimmt »name wert« aus args; {@code null}, falls die Option fehlt.
+     * Ein Wert, der selbst wie eine Option (--…) aussieht, gilt als fehlend.
+     */
+    static String takeOption(List<String> args, String name) {
+        int i = args.indexOf(name);
+        if (i < 0) return null;
+        if (i + 1 >= args.size() || args.get(i + 1).startsWith("--")) throw new IllegalArgumentException("Wert für " + name + " fehlt");
+        String value = args.get(i + 1);
+        args.subList(i, i + 2).clear();
+        return value;
+    }
+
+    /** Fragt interaktiv ab, ob der Step‑Modus gewählt wird (Lauf‑Modus, falls stdin leer ist). */
     private static boolean askForStepMode() {
         System.out.print("Step‑Modus? (j/n): ");
-        return new Scanner(System.in).nextLine().trim().equalsIgnoreCase("j");
+        Scanner in = new Scanner(System.in);
+        return in.hasNextLine() && in.nextLine().trim().equalsIgnoreCase("j");
+    }
+
+    /**
+     * Strg‑C bricht einen Lauf kooperativ ab: Der Shutdown‑Hook setzt das
+     * Abbruch‑Flag und wartet kurz, bis die Simulation ihren Zwischenstand
+     * ausgegeben hat.
+     */
+    private static RunLimits cancelOnShutdown(RunLimits limits) {
+        AtomicBoolean cancel = new AtomicBoolean();
+        Thread main = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            cancel.set(true);
+            try { main.join(2_000); } catch (InterruptedException ignored) { }
+        }));
+        return limits.withCancel(cancel);
     }
 
     /**
-     * Parsed die Übergangszeichenkette gemäß Vorlesungs‑Kodierung.
-     * Erlaubt exakt fünf Blöcke aus 0ᶦ, getrennt durch EINZELNE '1'.
-     * Mehrfach‑Übergänge werden mit "11" voneinander abgegrenzt.
+     * Hauptsimulation – führt solange aus, bis kein Übergang mehr anwendbar ist
+     * oder eine Grenze (Schritte, Zellen, Zeit, Strg‑C) erreicht wird. Mit
+     * Checkpoint wird der Lauf‑Modus periodisch gesichert, mit Trace protokolliert,
+     * mit Zykluserkennung bei nachweislicher Endlosschleife beendet, mit
+     * Profiler gezählt, mit Metriken in Scheiben gerechnet und abgetastet.
+     * names übersetzt Zustände für die Ausgabe (optimierte Maschine →
+     * Originalnamen).
      */
-    private static Map<String, List<Transition>> parseTransitions(String enc) {
-        Map<String, List<Transition>> map = new HashMap<>();
-        for (String t : enc.split("11")) {
-            if (t.isEmpty()) continue;
-            String[] z = t.split("1");
-            if (z.length != 5) {
-                throw new IllegalArgumentException("Ungültiges Übergangssegment: " + t);
+    private static void run(MachineDefinition machine, Configuration config, boolean stepMode,
+                            RunLimits limits, Checkpoint checkpoint, Trace.Options traceOptions,
+                            boolean cycles, Profiler profiler, Metrics metrics, IntUnaryOperator names)
+            throws InterruptedException, IOException {
+        Outcome outcome = null;
+        CycleDetector.Result cycle = null;
+        TapeWindow window = new TapeWindow(WINDOW);
+        if (stepMode) {
+            RunLimits.Watch watch = limits.start();
+            while (outcome == null) {
+                printStatus(config, names, window);
+                Thread.sleep(STEP_DELAY_MS);
+                if (!Interpreter.step(machine, config)) {
+                    outcome = machine.halting().outcome(config.state());
+                } else if (config.steps() >= limits.maxSteps() && !Interpreter.halted(machine, config)) {
+                    outcome = Outcome.LIMIT;
+                } else {
+                    outcome = watch.check(config.tape().cells());
+                }
+                if (metrics != null) metrics.sample(config);
             }
-            int i = z[0].length(); // qᵢ
-            int j = z[1].length(); // Xⱼ (Read)
-            int k = z[2].length(); // qₖ
-            int l = z[3].length(); // Xˡ (Write)
-            int m = z[4].length(); // Dₘ (Dir)
-
-            char read  = symbolFor(j);
-            char write = symbolFor(l);
-            int dir = switch (m) {
-                case 1 -> -1; // L
-                case 2 ->  1; // R
-                default -> throw new IllegalArgumentException("Bewegungsrichtung D" + m + " ungültig (nur 1=L, 2=R erlaubt)");
-            };
-            String key = i + "," + read;
-            map.computeIfAbsent(key, _ -> new ArrayList<>())
-                    .add(new Transition(k, write, dir)); // Einfügereihenfolge bewahren
+        } else if (traceOptions != null) {
+            try (Trace trace = Trace.open(traceOptions, config.alphabet())) {
+                outcome = execute(trace, machine, config, limits, checkpoint, metrics);
+            }
+        } else if (profiler != null) {
+            outcome = execute(profiler, machine, config, limits, checkpoint, metrics);
+        } else if (cycles) {                    // am Stück: Checkpoint, Metriken und Step‑Modus abgelehnt
+            cycle   = new CycleDetector().detect(machine, config, limits);
+            outcome = cycle.outcome();
+        } else {
+            outcome = execute(new Interpreter(), machine, config, limits, checkpoint, metrics);
+        }
+
+        /* Abschlussausgabe (a‑e) */
+        System.out.println((outcome.halted() ? "HALT  →  " : "ABBRUCH  →  ") + outcome);            // a
+        if (cycle != null && outcome == Outcome.NON_HALTING) {
+            System.out.println("Zyklus : Länge " + cycle.period() + " ab Schritt " + cycle.start()
+                    + (cycle.drift() == 0 ? "" : ", Kopf wandert " + cycle.drift() + " Zellen je Zyklus"));
         }
-        return map;
+        System.out.println("Zustand : q" + names.applyAsInt(config.state()));                        // b
+        System.out.println("Schritte : " + config.steps());                                          // e
+        printWindow(config, window);                                                                  // c+d
     }
 
-    /** Wandelt vorlesungskonforme Zähl‑Kodierung → tatsächliches Bandsymbol. */
-    private static char symbolFor(int n) {
-        return switch (n) {
-            case 1 -> '0';
-            case 2 -> '1';
-            case 3 -> '_';
-            default -> (char) ('A' + n - 4); // A, B, … für erweiterte Alphabete
-        };
+    /** Engine direkt, über den Checkpoint (der dann auch die Metriken speist) oder in Metrik‑Scheiben. */
+    private static Outcome execute(Simulator engine, MachineDefinition machine, Configuration config,
+                                   RunLimits limits, Checkpoint checkpoint, Metrics metrics) throws IOException {
+        if (checkpoint != null) return checkpoint.run(engine, config, limits);
+        if (metrics != null)    return metrics.run(engine, machine, config, limits);
+        return engine.run(machine, config, limits);
     }
 
-    /** Hauptsimulation – führt solange aus, bis kein Übergang mehr anwendbar ist. */
-    private static void run(String input, boolean stepMode) throws InterruptedException {
-        /* Tape initialisieren */
-        TreeMap<Integer, Character> tape = new TreeMap<>();
-        for (int i = 0; i < input.length(); i++) tape.put(i, input.charAt(i));
+    /**
+     * NTM‑Modus – Breitensuche über alle Übergänge; gibt Ergebnis, kürzesten
+     * akzeptierenden Pfad und dessen Endkonfiguration aus.
+     */
+    private static void explore(MachineDefinition machine, Configuration start, RunLimits limits,
+                                long maxConfigs, int threads) throws InterruptedException {
+        NondeterministicExplorer explorer = new NondeterministicExplorer(machine);
+        NondeterministicExplorer.Result r = explorer.explore(start, limits, maxConfigs, threads);
 
-        int head  = 0;
-        int state = START_STATE;
-        long steps = 0;
+        System.out.println("NTM  →  " + r.outcome() + "  (Tiefe " + r.depth() + ", "
+                + r.configurations() + " Konfigurationen"
+                + (explorer.nondeterministic() ? "" : ", Maschine ist deterministisch") + ")");
+        if (r.outcome() != Outcome.ACCEPTED) return;
 
-        while (true) {
-            if (stepMode) {
-                printStatus(tape, head, state, steps);
-                Thread.sleep(STEP_DELAY_MS);
+        Alphabet a = start.alphabet();
+        System.out.println("Kürzester akzeptierender Pfad:");
+        List<MachineDefinition.Transition> path = r.path();
+        for (int i = 0; i < path.size(); i++) {
+            if (i == PATH_SHOWN && path.size() > PATH_SHOWN + 1) {
+                System.out.println("  … " + (path.size() - PATH_SHOWN) + " weitere");
+                break;
             }
-            char sym = tape.getOrDefault(head, '_');
-            List<Transition> list = delta.get(state + "," + sym);
-            if (list == null || list.isEmpty()) break; // HALT
-
-            Transition tr = list.get(0); // Erster gültiger Übergang
-            tape.put(head, tr.writeSym());
-            head  += tr.moveDir();
-            state  = tr.nextState();
-            steps++;
+            MachineDefinition.Transition t = path.get(i);
+            System.out.printf("  %3d: δ(q%d, %c) = (q%d, %c, %s)%n", i + 1, t.state(), a.symbol(t.read()),
+                    t.next(), a.symbol(t.write()), t.move() == TransitionTable.MOVE_R ? "R" : "L");
         }
-
-        /* Abschlussausgabe (a‑e) */
-        System.out.println("HALT  →  " + (state == ACCEPT_STATE ? "ACCEPTED" : "REJECTED")); // a
-        System.out.println("Zustand : q" + state);                                                 // b
-        System.out.println("Schritte : " + steps);                                                  // e
-        printWindow(tape, head);                                                                    // c+d
+        System.out.println("Zustand : q" + r.last().state());
+        System.out.println("Schritte : " + r.last().steps());
+        printWindow(r.last(), new TapeWindow(WINDOW));
     }
 
     /* ------------------------------------------------------------ */
     /* Komfort‑Ausgaben                                             */
     /* ------------------------------------------------------------ */
-    private static void printStatus(TreeMap<Integer, Character> tape, int head, int st, long step) {
-        System.out.printf("Step %d | q%d%n", step, st);
-        printWindow(tape, head);
+    private static void printStatus(Configuration config, IntUnaryOperator names, TapeWindow window) {
+        System.out.printf("Step %d | q%d%n", config.steps(), names.applyAsInt(config.state()));
+        printWindow(config, window);
     }
 
-    private static void printWindow(TreeMap<Integer, Character> tape, int head) {
-        StringBuilder sb = new StringBuilder();
-        for (int p = head - WINDOW; p <= head + WINDOW; p++) sb.append(tape.getOrDefault(p, '_'));
-        System.out.println(sb);
+    /** Fenster um den Kopf; window liest nur die seit der letzten Ausgabe betroffenen Zellen neu. */
+    private static void printWindow(Configuration config, TapeWindow window) {
+        window.update(config);
+        System.out.println(window.render());
         System.out.println(" ".repeat(WINDOW) + "^");
-        System.out.println("Head   : " + head);
+        System.out.println("Head   : " + config.head());
         System.out.println("-".repeat(WINDOW * 2 + 1));
     }
 }